@@ -0,0 +1,10 @@
+package com.reliaquest.api;
+
+/**
+ * Raised when the mock server keeps rate limiting us beyond the time we are willing to wait for it.
+ */
+public class UpstreamThrottledException extends TechnicalException {
+    public UpstreamThrottledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,137 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+
+/**
+ * Push counterpart of {@link EnvelopeReader} for non-blocking clients, which get the body in chunks as it arrives
+ * rather than as a stream to block on.
+ * <p>
+ * Each chunk is fed to a non-blocking parser. The tokens of a {@code data} element are buffered until its last one
+ * has arrived, and the element is then handed to the {@link EnvelopeReader.ElementHandler}, so only one element and
+ * one chunk are ever held in memory, never the whole body.
+ */
+public final class EnvelopeDecoder {
+
+    private enum State { BEFORE, FIELDS, VALUE, DATA, DONE }
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final EnvelopeReader.ElementHandler elementHandler;
+
+    private State state = State.BEFORE;
+    private String field;
+    private TokenBuffer element;
+    private int elementDepth;
+    private int skipDepth;
+    private String status;
+    private String nextCursor;
+
+    /**
+     * @param parser non-blocking parser, as {@code createNonBlockingByteArrayParser()} of the body's format creates it
+     * @param elementHandler called as {@link EnvelopeReader#read} calls it, with a parser over the buffered element
+     */
+    public EnvelopeDecoder(JsonParser parser, EnvelopeReader.ElementHandler elementHandler) {
+        if (!(parser.getNonBlockingInputFeeder() instanceof ByteArrayFeeder byteArrayFeeder)) {
+            throw new IllegalArgumentException("Expected a non-blocking byte array parser");
+        }
+        this.parser = parser;
+        this.feeder = byteArrayFeeder;
+        this.elementHandler = elementHandler;
+    }
+
+    /**
+     * Decodes the next chunk of the body, handing over every element it completes.
+     */
+    public void feed(byte[] chunk) throws IOException {
+        feeder.feedInput(chunk, 0, chunk.length);
+        decode();
+    }
+
+    /**
+     * Decodes what is left once the body has ended.
+     *
+     * @throws JsonParseException when the body ended before the envelope did
+     */
+    public EnvelopeReader.Envelope finish() throws IOException {
+        feeder.endOfInput();
+        decode();
+        parser.close();
+        if (state != State.DONE) {
+            throw new JsonParseException(parser, "Response envelope ended early");
+        }
+        return new EnvelopeReader.Envelope(status, nextCursor);
+    }
+
+    private void decode() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (element != null) {
+                bufferElement(token);
+            } else if (skipDepth > 0) {
+                skipDepth += token.isStructStart() ? 1 : token.isStructEnd() ? -1 : 0;
+            } else {
+                decodeEnvelope(token);
+            }
+        }
+    }
+
+    private void decodeEnvelope(JsonToken token) throws IOException {
+        switch (state) {
+            case BEFORE -> {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new JsonParseException(parser, "Expected response envelope object");
+                }
+                state = State.FIELDS;
+            }
+            case FIELDS -> {
+                if (token == JsonToken.END_OBJECT) {
+                    state = State.DONE;
+                } else {
+                    field = parser.currentName();
+                    state = State.VALUE;
+                }
+            }
+            case VALUE -> {
+                state = State.FIELDS;
+                if ("data".equals(field) && token == JsonToken.START_ARRAY) {
+                    state = State.DATA;
+                } else if (token.isStructStart()) {
+                    skipDepth = 1;
+                } else if ("status".equals(field)) {
+                    status = parser.getValueAsString();
+                } else if ("next_cursor".equals(field)) {
+                    nextCursor = parser.getValueAsString();
+                }
+            }
+            case DATA -> {
+                if (token == JsonToken.END_ARRAY) {
+                    state = State.FIELDS;
+                } else {
+                    element = new TokenBuffer(parser);
+                    elementDepth = 0;
+                    bufferElement(token);
+                }
+            }
+            case DONE -> throw new JsonParseException(parser, "Unexpected content after response envelope");
+        }
+    }
+
+    private void bufferElement(JsonToken token) throws IOException {
+        element.copyCurrentEvent(parser);
+        elementDepth += token.isStructStart() ? 1 : token.isStructEnd() ? -1 : 0;
+        if (elementDepth > 0) {
+            return;
+        }
+        try (JsonParser elementParser = element.asParser()) {
+            elementParser.nextToken();
+            elementHandler.handle(elementParser);
+        }
+        element = null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Incremental reader of the mock server's {@code {"data": [...], "status": ...}} response envelope.
+ * <p>
+ * The {@code data} array is handed to an {@link ElementHandler} one element at a time while the body is still being
+ * read, so neither the raw body nor a tree of it is ever held in memory.
+ */
+public final class EnvelopeReader {
+
+    private EnvelopeReader() {
+    }
+
+    /**
+     * @param parser parser positioned before the envelope
+     * @param elementHandler called with the parser positioned on the first token of each {@code data} element; it
+     *                       must consume the whole element
+     */
+    public static Envelope read(JsonParser parser, ElementHandler elementHandler) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected response envelope object");
+        }
+        String status = null;
+        String nextCursor = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    elementHandler.handle(parser);
+                }
+            } else if ("status".equals(field)) {
+                status = parser.getValueAsString();
+            } else if ("next_cursor".equals(field)) {
+                nextCursor = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new Envelope(status, nextCursor);
+    }
+
+    @FunctionalInterface
+    public interface ElementHandler {
+        void handle(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * @param nextCursor cursor of the following page when the response was paginated, otherwise {@code null}
+     */
+    public record Envelope(String status, String nextCursor) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.reliaquest.api.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller performs the call, callers arriving while it is
+ * in flight wait for and share its result or failure. Once the flight lands, the next call starts a new one.
+ *
+ * @param <K> key identifying identical calls
+ * @param <V> result of the call
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder flights = new LongAdder();
+    private final LongAdder callers = new LongAdder();
+    private final AtomicLong maxCallersPerFlight = new AtomicLong();
+    private final LongConsumer landingListener;
+
+    public SingleFlight() {
+        this(ignored -> {
+        });
+    }
+
+    /**
+     * @param landingListener notified with the number of callers each flight served once it lands
+     */
+    public SingleFlight(LongConsumer landingListener) {
+        this.landingListener = landingListener;
+    }
+
+    public V execute(K key, Supplier<V> call) {
+        callers.increment();
+        Flight<V> flight = new Flight<>();
+        Flight<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            existing.callers.increment();
+            return existing.await();
+        }
+
+        flights.increment();
+        try {
+            V result = call.get();
+            flight.result.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Errors too, or joiners would wait for a flight that never lands.
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+            land(flight);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute}: the returned future completes with the shared result without any
+     * thread waiting for the flight to land.
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        callers.increment();
+        Flight<V> flight = new Flight<>();
+        Flight<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            existing.callers.increment();
+            return existing.result.copy();
+        }
+
+        flights.increment();
+        CompletableFuture<V> started;
+        try {
+            started = call.get();
+        } catch (Throwable e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((result, error) -> {
+            inFlight.remove(key, flight);
+            land(flight);
+            if (error != null) {
+                flight.result.completeExceptionally(
+                        error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            } else {
+                flight.result.complete(result);
+            }
+        });
+        return flight.result.copy();
+    }
+
+    /**
+     * @return callers absorbed by the flight currently in progress for the key, or zero when none is
+     */
+    public long inFlightCallers(K key) {
+        Flight<V> flight = inFlight.get(key);
+        return flight == null ? 0 : flight.callers.sum();
+    }
+
+    public Stats getStats() {
+        return new Stats(flights.sum(), callers.sum(), maxCallersPerFlight.get());
+    }
+
+    private void land(Flight<V> flight) {
+        long flightCallers = flight.callers.sum();
+        maxCallersPerFlight.accumulateAndGet(flightCallers, Math::max);
+        landingListener.accept(flightCallers);
+    }
+
+    /**
+     * @param flights upstream calls actually performed
+     * @param callers calls requested, including those that joined a flight
+     * @param maxCallersPerFlight most callers a single flight has served
+     */
+    public record Stats(long flights, long callers, long maxCallersPerFlight) {
+
+        public double callersPerFlight() {
+            return flights == 0 ? 0 : (double) callers / flights;
+        }
+    }
+
+    private static final class Flight<V> {
+
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final LongAdder callers = new LongAdder();
+
+        private Flight() {
+            callers.increment();
+        }
+
+        private V await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.TechnicalException;
+import com.reliaquest.api.UpstreamThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Client-side governor for calls to the rate limited mock server.
+ * <p>
+ * Calls draw permits from a token bucket whose rate adapts with AIMD: every success adds
+ * {@link Settings#additiveIncrease()} permits per second, every 429 multiplies the rate by
+ * {@link Settings#decreaseFactor()}, drains the bucket and starts a shared, jittered, exponentially growing
+ * cooldown, or one as long as the 429's {@code Retry-After} when it has one. Callers queue for a permit for at most
+ * {@link Settings#maxQueueWait()} and a throttled call is retried until {@link Settings#retryDeadline()} has passed,
+ * after which {@link UpstreamThrottledException} is raised.
+ * <p>
+ * {@link #executeAsync} applies the same policy to non-blocking calls, scheduling queued and retried calls on a
+ * timer instead of parking the calling thread.
+ * <p>
+ * Every upstream attempt is timed in {@code reliaquest.upstream.requests}, tagged with the operation and its
+ * outcome ({@code success}, {@code throttled}, {@code client_error}, {@code server_error} or {@code error}). Time spent
+ * queued for a permit goes to {@code reliaquest.upstream.permit.wait}, callers that gave up to
+ * {@code reliaquest.upstream.rejections}, and the current rate is gauged as {@code reliaquest.upstream.rate}.
+ */
+@Slf4j
+public class UpstreamRateGovernor {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Settings settings;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double rate;
+    private double tokens;
+    private long lastRefillNanos;
+    private long cooldownUntilNanos;
+    private int consecutiveThrottles;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queuedNanos = new LongAdder();
+
+    // Meters are registered once per tag combination, so the call path only looks them up.
+    private final ConcurrentHashMap<RequestOutcome, Timer> requestTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> permitWaitTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> rejectionCounters = new ConcurrentHashMap<>();
+
+    public UpstreamRateGovernor(Settings settings) {
+        this(settings, new SimpleMeterRegistry());
+    }
+
+    public UpstreamRateGovernor(Settings settings, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+        this.rate = settings.initialRate();
+        this.tokens = settings.burst();
+        this.lastRefillNanos = System.nanoTime();
+        this.cooldownUntilNanos = lastRefillNanos;
+        Gauge.builder("reliaquest.upstream.rate", this, governor -> governor.getStats().rate())
+                .description("Requests per second currently granted to calls to the mock server")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(String operation, Supplier<T> call) {
+        long deadline = System.nanoTime() + settings.retryDeadline().toNanos();
+        while (true) {
+            awaitPermit(operation, deadline);
+            calls.increment();
+            long start = System.nanoTime();
+            try {
+                T result = call.get();
+                record(operation, start, null);
+                onSuccess();
+                return result;
+            } catch (RuntimeException e) {
+                record(operation, start, e);
+                if (statusOf(e) != TOO_MANY_REQUESTS) {
+                    throw e;
+                }
+                throttled.increment();
+                onThrottled(operation, retryAfterNanos(e));
+            }
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute}: the permit wait and backoffs are timer delays, so no thread is held
+     * while a call is queued or cooling down.
+     */
+    public <T> CompletableFuture<T> executeAsync(String operation, Supplier<CompletableFuture<T>> call) {
+        return attemptAsync(operation, call, System.nanoTime() + settings.retryDeadline().toNanos());
+    }
+
+    public Stats getStats() {
+        lock.lock();
+        try {
+            return new Stats(rate, calls.sum(), throttled.sum(), rejected.sum(),
+                    TimeUnit.NANOSECONDS.toMillis(queuedNanos.sum()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> CompletableFuture<T> attemptAsync(String operation, Supplier<CompletableFuture<T>> call,
+                                                  long deadline) {
+        long wait;
+        try {
+            wait = permitWait(operation, deadline);
+        } catch (UpstreamThrottledException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Executor executor = wait > 0
+                ? CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS, Runnable::run)
+                : Runnable::run;
+        return CompletableFuture.runAsync(calls::increment, executor)
+                .thenCompose(ignored -> timedAsync(operation, call))
+                .handle((result, error) -> {
+                    if (error == null) {
+                        onSuccess();
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    if (statusOf(cause) != TOO_MANY_REQUESTS) {
+                        return CompletableFuture.<T>failedFuture(cause);
+                    }
+                    throttled.increment();
+                    onThrottled(operation, retryAfterNanos(cause));
+                    return attemptAsync(operation, call, deadline);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private <T> CompletableFuture<T> timedAsync(String operation, Supplier<CompletableFuture<T>> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get().whenComplete((result, error) -> record(operation, start,
+                    error instanceof CompletionException && error.getCause() != null ? error.getCause() : error));
+        } catch (RuntimeException e) {
+            record(operation, start, e);
+            throw e;
+        }
+    }
+
+    private void record(String operation, long startNanos, Throwable error) {
+        Timer timer = meter(requestTimers, new RequestOutcome(operation, outcomeOf(error)),
+                key -> Timer.builder("reliaquest.upstream.requests")
+                        .description("Calls to the mock server, retries included")
+                        .tag("operation", key.operation())
+                        .tag("outcome", key.outcome())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static <K, M> M meter(ConcurrentHashMap<K, M> meters, K key, Function<K, M> registration) {
+        M meter = meters.get(key);
+        return meter != null ? meter : meters.computeIfAbsent(key, registration);
+    }
+
+    private void awaitPermit(String operation, long deadline) {
+        long wait = permitWait(operation, deadline);
+        if (wait > 0) {
+            sleep(wait);
+        }
+    }
+
+    /**
+     * @return nanos the caller has to wait before using its permit
+     * @throws UpstreamThrottledException when the wait would exceed the queue or retry budget
+     */
+    private long permitWait(String operation, long deadline) {
+        long now = System.nanoTime();
+        long maxWait = Math.min(settings.maxQueueWait().toNanos(), deadline - now);
+        long wait = reserve(now, maxWait);
+        if (wait < 0) {
+            rejected.increment();
+            meter(rejectionCounters, operation, key -> Counter.builder("reliaquest.upstream.rejections")
+                    .description("Calls given up on because the upstream rate limit would have kept them waiting too long")
+                    .tag("operation", key)
+                    .register(meterRegistry)).increment();
+            log.warn("Giving up on {}: upstream is rate limiting us", operation);
+            throw new UpstreamThrottledException("Upstream is rate limiting requests, try again later");
+        }
+        queuedNanos.add(wait);
+        meter(permitWaitTimers, operation, key -> Timer.builder("reliaquest.upstream.permit.wait")
+                .description("Time calls to the mock server spent queued for the upstream rate limit")
+                .tag("operation", key)
+                .register(meterRegistry)).record(wait, TimeUnit.NANOSECONDS);
+        return wait;
+    }
+
+    /**
+     * Reserves a permit, letting the bucket go negative so that queued callers are spaced by the current rate.
+     *
+     * @return nanos to wait before using the permit, or -1 when that would exceed {@code maxWait}
+     */
+    private long reserve(long now, long maxWait) {
+        lock.lock();
+        try {
+            refill(now);
+            long wait = Math.max(0, cooldownUntilNanos - now);
+            if (tokens < 1) {
+                wait += (long) ((1 - tokens) / rate * NANOS_PER_SECOND);
+            }
+            if (wait > maxWait) {
+                return -1;
+            }
+            tokens -= 1;
+            return wait;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        long from = Math.max(lastRefillNanos, cooldownUntilNanos);
+        if (now > from) {
+            tokens = Math.min(settings.burst(), tokens + (now - from) / NANOS_PER_SECOND * rate);
+        }
+        lastRefillNanos = Math.max(lastRefillNanos, now);
+    }
+
+    private void onSuccess() {
+        lock.lock();
+        try {
+            consecutiveThrottles = 0;
+            rate = Math.min(settings.maxRate(), rate + settings.additiveIncrease());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param retryAfterNanos cooldown the upstream asked for, or -1 to back off exponentially
+     */
+    private void onThrottled(String operation, long retryAfterNanos) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+            rate = Math.max(settings.minRate(), rate * settings.decreaseFactor());
+            tokens = Math.min(tokens, 0);
+            long backoff = settings.baseBackoff().toNanos() << Math.min(consecutiveThrottles, 20);
+            backoff = Math.min(backoff, settings.maxBackoff().toNanos());
+            long cooldown = retryAfterNanos >= 0
+                    ? retryAfterNanos
+                    : ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1);
+            cooldownUntilNanos = Math.max(cooldownUntilNanos, now + cooldown);
+            consecutiveThrottles++;
+            log.info("Upstream throttled {}, backing off {} ms at {} requests/s",
+                    operation, TimeUnit.NANOSECONDS.toMillis(cooldown), String.format("%.2f", rate));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return HTTP status the upstream answered with, or -1 when it did not answer
+     */
+    private static int statusOf(Throwable e) {
+        if (e instanceof RestClientResponseException response) {
+            return response.getStatusCode().value();
+        }
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().value();
+        }
+        return -1;
+    }
+
+    /**
+     * @return nanos in the {@code Retry-After} seconds the upstream answered with, or -1 when it gave none
+     */
+    private static long retryAfterNanos(Throwable e) {
+        HttpHeaders headers = null;
+        if (e instanceof RestClientResponseException response) {
+            headers = response.getResponseHeaders();
+        } else if (e instanceof WebClientResponseException response) {
+            headers = response.getHeaders();
+        }
+        String retryAfter = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException ignored) {
+            // An HTTP date rather than seconds; the mock server never sends one.
+            return -1;
+        }
+    }
+
+    private static String outcomeOf(Throwable e) {
+        if (e == null) {
+            return "success";
+        }
+        int status = statusOf(e);
+        if (status == TOO_MANY_REQUESTS) {
+            return "throttled";
+        }
+        if (status >= 500) {
+            return "server_error";
+        }
+        return status >= 400 ? "client_error" : "error";
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TechnicalException("Interrupted while waiting for upstream rate limit", e);
+        }
+    }
+
+    private record RequestOutcome(String operation, String outcome) {
+    }
+
+    /**
+     * @param initialRate permits per second granted before anything is learned about the upstream limit
+     * @param minRate floor the rate never decreases below
+     * @param maxRate ceiling the rate never increases above
+     * @param burst permits that may accumulate while idle
+     * @param additiveIncrease permits per second added after every successful call
+     * @param decreaseFactor factor the rate is multiplied by after a 429
+     * @param maxQueueWait longest a single caller waits for a permit
+     * @param retryDeadline longest a call keeps being retried after 429s
+     * @param baseBackoff cooldown after the first 429, doubled for every consecutive one
+     * @param maxBackoff upper bound of the cooldown
+     */
+    public record Settings(double initialRate, double minRate, double maxRate, double burst, double additiveIncrease,
+                           double decreaseFactor, Duration maxQueueWait, Duration retryDeadline, Duration baseBackoff,
+                           Duration maxBackoff) {
+    }
+
+    /**
+     * @param rate currently granted permits per second
+     * @param calls upstream calls made, including retries
+     * @param throttled calls answered with 429
+     * @param rejected callers that gave up waiting
+     * @param queuedMillis total time callers spent queued for a permit
+     */
+    public record Stats(double rate, long calls, long throttled, long rejected, long queuedMillis) {
+    }
+}
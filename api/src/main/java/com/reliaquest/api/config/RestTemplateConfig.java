@@ -1,15 +1,83 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.client.UpstreamRateGovernor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class RestTemplateConfig {
 
+    /**
+     * Pooled client for the mock server. Connections are kept alive and reused between requests, every phase of
+     * a call is bounded by a timeout, and responses are requested with {@code Accept-Encoding: gzip, deflate}
+     * and decompressed transparently by the client.
+     */
+    @Bean
+    public CloseableHttpClient httpClient(@Value("${reliaquest.client.max-connections:50}") int maxConnections,
+                                          @Value("${reliaquest.client.max-connections-per-route:50}") int maxConnectionsPerRoute,
+                                          @Value("${reliaquest.client.connect-timeout:2s}") Duration connectTimeout,
+                                          @Value("${reliaquest.client.read-timeout:10s}") Duration readTimeout,
+                                          @Value("${reliaquest.client.pool-acquire-timeout:2s}") Duration poolAcquireTimeout,
+                                          @Value("${reliaquest.client.idle-eviction:30s}") Duration idleEviction) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeout.toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEviction.toMillis()))
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory clientHttpRequestFactory(CloseableHttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Bean
+    public RestTemplate restTemplate(ClientHttpRequestFactory clientHttpRequestFactory) {
+        return new RestTemplate(clientHttpRequestFactory);
+    }
+
     @Bean
-    public RestTemplate restTemplate(){
-        return new RestTemplate();
+    public UpstreamRateGovernor upstreamRateGovernor(@Value("${reliaquest.governor.initial-rate:2}") double initialRate,
+                                                     @Value("${reliaquest.governor.min-rate:0.05}") double minRate,
+                                                     @Value("${reliaquest.governor.max-rate:50}") double maxRate,
+                                                     @Value("${reliaquest.governor.burst:5}") double burst,
+                                                     @Value("${reliaquest.governor.additive-increase:0.1}") double additiveIncrease,
+                                                     @Value("${reliaquest.governor.decrease-factor:0.5}") double decreaseFactor,
+                                                     @Value("${reliaquest.governor.max-queue-wait:2s}") Duration maxQueueWait,
+                                                     @Value("${reliaquest.governor.retry-deadline:10s}") Duration retryDeadline,
+                                                     @Value("${reliaquest.governor.base-backoff:250ms}") Duration baseBackoff,
+                                                     @Value("${reliaquest.governor.max-backoff:30s}") Duration maxBackoff,
+                                                     MeterRegistry meterRegistry) {
+        return new UpstreamRateGovernor(new UpstreamRateGovernor.Settings(initialRate, minRate, maxRate, burst,
+                additiveIncrease, decreaseFactor, maxQueueWait, retryDeadline, baseBackoff, maxBackoff), meterRegistry);
     }
 
 }
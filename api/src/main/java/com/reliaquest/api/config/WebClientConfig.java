@@ -0,0 +1,59 @@
+package com.reliaquest.api.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "reliaquest.client.mode", havingValue = "reactive")
+public class WebClientConfig {
+
+    /**
+     * Connection pool of the non-blocking client. Requests in flight only cost a connection, not a thread, so the
+     * pool is sized independently of the blocking one; callers beyond it queue for a connection without holding
+     * a thread, for at most {@code reliaquest.client.pool-acquire-timeout}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider webClientConnectionProvider(@Value("${reliaquest.client.reactive-max-connections:500}") int maxConnections,
+                                                          @Value("${reliaquest.client.pool-acquire-timeout:2s}") Duration poolAcquireTimeout,
+                                                          @Value("${reliaquest.client.idle-eviction:30s}") Duration idleEviction) {
+        return ConnectionProvider.builder("reliaquest-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(poolAcquireTimeout)
+                .maxIdleTime(idleEviction)
+                .evictInBackground(idleEviction)
+                .build();
+    }
+
+    /**
+     * Reactor Netty backed client for the mock server, with the same timeouts and compression as the blocking one.
+     * The roster is decoded as it streams in; other responses are small and decoded whole, up to
+     * {@code reliaquest.client.max-response-size}.
+     */
+    @Bean
+    public WebClient webClient(WebClient.Builder builder,
+                               ConnectionProvider webClientConnectionProvider,
+                               @Value("${reliaquest.client.connect-timeout:2s}") Duration connectTimeout,
+                               @Value("${reliaquest.client.read-timeout:10s}") Duration readTimeout,
+                               @Value("${reliaquest.client.max-response-size:16MB}") DataSize maxResponseSize) {
+        HttpClient httpClient = HttpClient.create(webClientConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout)
+                .compress(true);
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxResponseSize.toBytes()))
+                .build();
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.EmployeeRequestDto;
+import com.reliaquest.api.service.AsyncEmployeeService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Serves the {@link IEmployeeController} contract asynchronously when {@code reliaquest.client.mode} is
+ * {@code reactive}, replacing {@link EmployeeController}.
+ * <p>
+ * Routes, bodies and status codes are those of the contract; only the handler return types are wrapped in a
+ * {@link CompletableFuture}, which is why this controller cannot implement the interface itself. The servlet
+ * thread is released as soon as the future is returned and the response is written once it completes.
+ */
+@RestController
+@Slf4j
+@AllArgsConstructor
+@ConditionalOnProperty(name = "reliaquest.client.mode", havingValue = "reactive")
+public class AsyncEmployeeController {
+
+    private final AsyncEmployeeService employeeService;
+
+    @GetMapping()
+    public CompletableFuture<ResponseEntity<List<EmployeeDto>>> getAllEmployees() {
+        log.info("Fetching all employees");
+        return respond(employeeService.getAllEmployees(), "Error while fetching all employees");
+    }
+
+    @GetMapping("/search/{searchString}")
+    public CompletableFuture<ResponseEntity<List<EmployeeDto>>> getEmployeesByNameSearch(
+            @PathVariable String searchString) {
+        log.info("Fetching employees by searchString: {} ", searchString);
+        return respond(employeeService.getEmployeesByNameSearch(searchString),
+                "Error while fetching employees with name: " + searchString);
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<EmployeeDto>> getEmployeeById(@PathVariable String id) {
+        log.info("Fetching employee by id: {} ", id);
+        return respond(employeeService.getEmployeeById(id), "Error while fetching employee with id: " + id);
+    }
+
+    @GetMapping("/highestSalary")
+    public CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        log.info("Fetching highest salary of employees");
+        return respond(employeeService.getHighestSalary(), "Error while fetching highest salary of employees");
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        log.info("Fetching top ten highest earning employee names");
+        return respond(employeeService.getNamesOfHighestEarningEmployees(10),
+                "Error while fetching top ten highest earning employee names");
+    }
+
+    @GetMapping("/salaryRange")
+    public CompletableFuture<ResponseEntity<List<EmployeeDto>>> getEmployeesBySalaryRange(@RequestParam int min,
+                                                                                          @RequestParam int max) {
+        log.info("Fetching employees with salary between {} and {}", min, max);
+        return respond(employeeService.getEmployeesBySalaryRange(min, max),
+                "Error while fetching employees with salary between " + min + " and " + max);
+    }
+
+    @PostMapping()
+    public CompletableFuture<ResponseEntity<EmployeeDto>> createEmployee(@RequestBody EmployeeRequestDto employeeInput) {
+        log.info("Creating employee: {} ", employeeInput);
+        return respond(employeeService.createEmployee(employeeInput),
+                "Error while creating employee: " + employeeInput);
+    }
+
+    @DeleteMapping("/{id}")
+    public CompletableFuture<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        log.info("Deleting employee by id: {} ", id);
+        return respond(employeeService.deleteEmployee(id), "Error while deleting employee with id: " + id);
+    }
+
+    /**
+     * Maps the outcome the same way {@link EmployeeController} does, once it is known.
+     */
+    private static <T> CompletableFuture<ResponseEntity<T>> respond(CompletableFuture<T> result, String failure) {
+        return result.handle((body, e) -> {
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                log.error(failure, cause);
+                throw new ResponseStatusException(EmployeeController.statusOf(cause), cause.getMessage());
+            }
+            return ResponseEntity.ok(body);
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.BatchResultDto;
+import com.reliaquest.api.model.EmployeeBatchDeleteRequestDto;
+import com.reliaquest.api.model.EmployeeBatchRequestDto;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.service.EmployeeService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Bulk counterparts of {@link IEmployeeController#createEmployee} and {@link IEmployeeController#deleteEmployeeById},
+ * kept out of the fixed contract and served in every {@code reliaquest.client.mode}.
+ * <p>
+ * Each request is forwarded to the mock server in a handful of batch calls rather than one call per employee. The
+ * response holds one result per item in request order, so a batch with some invalid or unknown items still succeeds
+ * for the others.
+ */
+@RestController
+@Slf4j
+@AllArgsConstructor
+public class EmployeeBatchController {
+
+    private final EmployeeService employeeService;
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchResultDto<EmployeeDto>>> createEmployees(
+            @RequestBody EmployeeBatchRequestDto batchInput) {
+        int size = batchInput.getEmployees() == null ? 0 : batchInput.getEmployees().size();
+        log.info("Creating {} employees", size);
+        List<BatchResultDto<EmployeeDto>> results;
+        try {
+            results = employeeService.createEmployees(batchInput.getEmployees());
+        } catch (Exception e) {
+            log.error("Error while creating {} employees", size, e);
+            throw new ResponseStatusException(EmployeeController.statusOf(e), e.getMessage());
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchResultDto<String>>> deleteEmployeesById(
+            @RequestBody EmployeeBatchDeleteRequestDto batchInput) {
+        int size = batchInput.getIds() == null ? 0 : batchInput.getIds().size();
+        log.info("Deleting {} employees by id", size);
+        List<BatchResultDto<String>> results;
+        try {
+            results = employeeService.deleteEmployees(batchInput.getIds());
+        } catch (Exception e) {
+            log.error("Error while deleting {} employees", size, e);
+            throw new ResponseStatusException(EmployeeController.statusOf(e), e.getMessage());
+        }
+        return ResponseEntity.ok(results);
+    }
+}
@@ -1,12 +1,16 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.UpstreamThrottledException;
 import com.reliaquest.api.model.EmployeeDto;
 import com.reliaquest.api.model.EmployeeRequestDto;
 import com.reliaquest.api.service.EmployeeService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -15,6 +19,7 @@ import java.util.List;
 @RestController
 @Slf4j
 @AllArgsConstructor
+@ConditionalOnProperty(name = "reliaquest.client.mode", havingValue = "blocking", matchIfMissing = true)
 public class EmployeeController implements IEmployeeController<EmployeeDto, EmployeeRequestDto> {
 
     private final EmployeeService employeeService;
@@ -27,7 +32,7 @@ public class EmployeeController implements IEmployeeController<EmployeeDto, Empl
             employees = employeeService.getAllEmployees();
         } catch (Exception e) {
             log.error("Error while fetching all employees", e);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+            throw new ResponseStatusException(statusOf(e), e.getMessage());
         }
         return ResponseEntity.ok(employees);
     }
@@ -40,7 +45,7 @@ public class EmployeeController implements IEmployeeController<EmployeeDto, Empl
             employees = employeeService.getEmployeesByNameSearch(searchString);
         } catch (Exception e) {
             log.error("Error while fetching employees with name: {}", searchString, e);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+            throw new ResponseStatusException(statusOf(e), e.getMessage());
         }
         return ResponseEntity.ok(employees);
     }
@@ -53,7 +58,7 @@ public class EmployeeController implements IEmployeeController<EmployeeDto, Empl
             employee = employeeService.getEmployeeById(id);
         } catch (Exception e) {
             log.error("Error while fetching employee with id: {}", id, e);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+            throw new ResponseStatusException(statusOf(e), e.getMessage());
         }
         return ResponseEntity.ok(employee);
     }
@@ -66,7 +71,7 @@ public class EmployeeController implements IEmployeeController<EmployeeDto, Empl
             highestSalary = employeeService.getHighestSalary();
         } catch (Exception e) {
             log.error("Error while fetching highest salary of employees", e);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+            throw new ResponseStatusException(statusOf(e), e.getMessage());
         }
         return ResponseEntity.ok(highestSalary);
     }
@@ -79,11 +84,24 @@ public class EmployeeController implements IEmployeeController<EmployeeDto, Empl
             employeeNames = employeeService.getNamesOfHighestEarningEmployees(10);
         } catch (Exception e) {
             log.error("Error while fetching top ten highest earning employee names", e);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+            throw new ResponseStatusException(statusOf(e), e.getMessage());
         }
         return ResponseEntity.ok(employeeNames);
     }
 
+    @GetMapping("/salaryRange")
+    public ResponseEntity<List<EmployeeDto>> getEmployeesBySalaryRange(@RequestParam int min, @RequestParam int max) {
+        log.info("Fetching employees with salary between {} and {}", min, max);
+        List<EmployeeDto> employees;
+        try {
+            employees = employeeService.getEmployeesBySalaryRange(min, max);
+        } catch (Exception e) {
+            log.error("Error while fetching employees with salary between {} and {}", min, max, e);
+            throw new ResponseStatusException(statusOf(e), e.getMessage());
+        }
+        return ResponseEntity.ok(employees);
+    }
+
     @Override
     public ResponseEntity<EmployeeDto> createEmployee(EmployeeRequestDto employeeInput) {
         log.info("Creating employee: {} ", employeeInput);
@@ -92,7 +110,7 @@ public class EmployeeController implements IEmployeeController<EmployeeDto, Empl
             employee = employeeService.createEmployee(employeeInput);
         } catch (Exception e) {
             log.error("Error while creating employee: {}", employeeInput, e);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+            throw new ResponseStatusException(statusOf(e), e.getMessage());
         }
         return ResponseEntity.ok(employee);
     }
@@ -105,8 +123,17 @@ public class EmployeeController implements IEmployeeController<EmployeeDto, Empl
             response = employeeService.deleteEmployee(id);
         } catch (Exception e) {
             log.error("Error while deleting employee with id: {}", id, e);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+            throw new ResponseStatusException(statusOf(e), e.getMessage());
         }
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Exhausting our patience with a rate limiting upstream is a temporary condition, anything else is a failure.
+     */
+    static HttpStatus statusOf(Throwable e) {
+        return e instanceof UpstreamThrottledException
+                ? HttpStatus.SERVICE_UNAVAILABLE
+                : HttpStatus.INTERNAL_SERVER_ERROR;
+    }
 }
@@ -0,0 +1,22 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch: {@code data} when it was applied, otherwise the reason in {@code error}.
+ * {@code index} is the position of the item in the request.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchResultDto<T> {
+
+    private int index;
+    private T data;
+    private String error;
+
+}
@@ -5,12 +5,14 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-public class EmployeeDeleteRequestDto {
+public class EmployeeBatchDeleteRequestDto {
 
-    private String name;
+    private List<String> ids;
 
 }
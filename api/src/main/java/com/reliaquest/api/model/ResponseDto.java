@@ -1,5 +1,6 @@
 package com.reliaquest.api.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,5 +14,7 @@ public class ResponseDto<T> {
 
     private String status;
     private T data;
+    @JsonProperty("next_cursor")
+    private String nextCursor;
 
 }
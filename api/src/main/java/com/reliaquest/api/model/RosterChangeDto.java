@@ -0,0 +1,28 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One add or remove reported by the upstream change feed. {@code employee} is only set on adds.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RosterChangeDto {
+
+    private Type type;
+    private UUID id;
+    private EmployeeDto employee;
+
+    public enum Type {
+        ADDED,
+        REMOVED
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Changes made to the upstream roster since the version {@code since}, oldest first. When {@code resync} is set the
+ * upstream no longer knows them all and the whole roster has to be read again. {@code version} is where the roster is
+ * after the changes.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RosterChangesDto {
+
+    private String since;
+    private String version;
+    private boolean resync;
+    private List<RosterChangeDto> changes;
+
+}
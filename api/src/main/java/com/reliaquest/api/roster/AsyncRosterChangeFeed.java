@@ -0,0 +1,24 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.model.RosterChangesDto;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link RosterChangeFeed}, implemented by
+ * {@link com.reliaquest.api.service.AsyncRestService}s.
+ */
+public interface AsyncRosterChangeFeed {
+
+    /**
+     * @param version version of the roster the caller holds, which makes the read conditional, or {@code null}
+     * @return future of the roster, completed with {@code null} when the upstream answered that it is still at
+     *         {@code version}
+     */
+    CompletableFuture<RosterChangeFeed.VersionedRoster> getVersionedRosterAsync(String version);
+
+    /**
+     * @param version version of a roster read before, or of earlier changes
+     */
+    CompletableFuture<RosterChangesDto> getChangesSinceAsync(String version);
+}
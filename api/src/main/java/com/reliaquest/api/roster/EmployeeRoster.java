@@ -0,0 +1,297 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.model.EmployeeDto;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+/**
+ * In-memory replica of the upstream employee roster.
+ * <p>
+ * Employees are stored column-wise in {@link RosterColumns}, in upstream order, and only materialized as
+ * {@link EmployeeDto}s for the rows a query returns. Deleted rows are tombstoned and compacted once they outnumber
+ * the live ones, so row numbers stay stable between compactions. Reads are guarded by a read lock and the
+ * {@link #employees()} view is reused until the next mutation.
+ * <p>
+ * An {@link IdIndex}, a {@link SalaryIndex} and a trigram {@link NameIndex} over the rows are updated along with
+ * every add and remove, so id, salary and name queries never scan or sort the roster.
+ */
+public class EmployeeRoster {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long loadedAtNanos;
+    private final SalaryIndex salaryIndex = new SalaryIndex();
+    private final NameIndex nameIndex = new NameIndex();
+
+    private RosterColumns columns;
+    private IdIndex rowById;
+    private BitSet removed = new BitSet();
+    private int size;
+    private volatile List<EmployeeDto> view;
+
+    private EmployeeRoster(List<EmployeeDto> employees, long loadedAtNanos) {
+        this.loadedAtNanos = loadedAtNanos;
+        this.columns = new RosterColumns(employees.size());
+        this.rowById = new IdIndex(employees.size());
+        for (EmployeeDto employee : employees) {
+            index(columns.append(employee));
+            size++;
+        }
+        indexSalaries();
+    }
+
+    public static EmployeeRoster of(List<EmployeeDto> employees) {
+        return new EmployeeRoster(employees == null ? List.of() : employees, System.nanoTime());
+    }
+
+    public long ageNanos() {
+        return System.nanoTime() - loadedAtNanos;
+    }
+
+    /**
+     * Restarts {@link #ageNanos()}, for when the roster has been brought up to date in place.
+     */
+    public void markFresh() {
+        loadedAtNanos = System.nanoTime();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return an immutable snapshot of the live employees, shared between callers until the roster changes; each
+     * element is built from the columns as it is read
+     */
+    public List<EmployeeDto> employees() {
+        List<EmployeeDto> current = view;
+        if (current != null) {
+            return current;
+        }
+        lock.readLock().lock();
+        try {
+            int[] liveRows = null;
+            if (!removed.isEmpty()) {
+                liveRows = new int[size];
+                int index = 0;
+                for (int row = removed.nextClearBit(0); row < columns.size(); row = removed.nextClearBit(row + 1)) {
+                    liveRows[index++] = row;
+                }
+            }
+            current = columns.snapshot().view(liveRows);
+            view = current;
+            return current;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<EmployeeDto> findById(UUID id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            int row = rowOf(id);
+            return row == IdIndex.ABSENT ? Optional.empty() : Optional.of(columns.employee(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public OptionalInt highestSalary() {
+        lock.readLock().lock();
+        try {
+            return salaryIndex.highest();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return up to {@code limit} employees with the highest salaries, highest first and ties in roster order
+     */
+    public List<EmployeeDto> topEarners(int limit) {
+        lock.readLock().lock();
+        try {
+            List<EmployeeDto> earners = new ArrayList<>(Math.max(0, Math.min(limit, size)));
+            salaryIndex.forEachHighest(limit, row -> earners.add(columns.employee(row)));
+            return earners;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same order as {@link #topEarners}, read straight from the name column without building the employees.
+     */
+    public List<String> topEarnerNames(int limit) {
+        lock.readLock().lock();
+        try {
+            List<String> names = new ArrayList<>(Math.max(0, Math.min(limit, size)));
+            salaryIndex.forEachHighest(limit, row -> names.add(columns.name(row)));
+            return names;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return employees earning between {@code min} and {@code max} inclusive, lowest salary first
+     */
+    public List<EmployeeDto> salaryBetween(int min, int max) {
+        lock.readLock().lock();
+        try {
+            List<EmployeeDto> employees = new ArrayList<>();
+            salaryIndex.forEachBetween(min, max, row -> employees.add(columns.employee(row)));
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return employees whose name contains {@code fragment} ignoring case, in roster order
+     */
+    public List<EmployeeDto> searchByName(String fragment) {
+        String lowerCaseFragment = fragment.toLowerCase();
+        lock.readLock().lock();
+        try {
+            List<EmployeeDto> employees = new ArrayList<>();
+            IntConsumer verify = row -> {
+                if (columns.nameContains(row, lowerCaseFragment)) {
+                    employees.add(columns.employee(row));
+                }
+            };
+            if (!nameIndex.forEachCandidate(lowerCaseFragment, verify)) {
+                for (int row = removed.nextClearBit(0); row < columns.size(); row = removed.nextClearBit(row + 1)) {
+                    verify.accept(row);
+                }
+            }
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(EmployeeDto employee) {
+        lock.writeLock().lock();
+        try {
+            if (employee.getId() != null && rowOf(employee.getId()) != IdIndex.ABSENT) {
+                return;
+            }
+            append(employee);
+            view = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<EmployeeDto> removeById(UUID id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        lock.writeLock().lock();
+        try {
+            int row = rowOf(id);
+            if (row == IdIndex.ABSENT) {
+                return Optional.empty();
+            }
+            EmployeeDto employee = columns.employee(row);
+            removeRow(row);
+            return Optional.of(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the first employee whose name matches ignoring case, mirroring the mock server's delete by name.
+     */
+    public Optional<EmployeeDto> removeFirstByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        lock.writeLock().lock();
+        try {
+            for (int row = removed.nextClearBit(0); row < columns.size(); row = removed.nextClearBit(row + 1)) {
+                if (columns.nameEqualsIgnoreCase(row, name)) {
+                    EmployeeDto employee = columns.employee(row);
+                    removeRow(row);
+                    return Optional.of(employee);
+                }
+            }
+            return Optional.empty();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int rowOf(UUID id) {
+        return rowById.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    private void append(EmployeeDto employee) {
+        int row = columns.append(employee);
+        index(row);
+        if (columns.hasSalary(row)) {
+            salaryIndex.add(columns.salary(row), row);
+        }
+        size++;
+    }
+
+    /**
+     * Indexes the row by id and name. Salaries are indexed separately, with {@link #indexSalaries()} when every row
+     * is indexed at once.
+     */
+    private void index(int row) {
+        if (columns.hasId(row)) {
+            rowById.put(columns.idHigh(row), columns.idLow(row), row);
+        }
+        nameIndex.add(row, columns.name(row));
+    }
+
+    private void indexSalaries() {
+        salaryIndex.rebuild(columns.size(), columns::hasSalary, columns::salary);
+    }
+
+    private void removeRow(int row) {
+        removed.set(row);
+        if (columns.hasId(row)) {
+            rowById.remove(columns.idHigh(row), columns.idLow(row));
+        }
+        if (columns.hasSalary(row)) {
+            salaryIndex.remove(columns.salary(row), row);
+        }
+        nameIndex.remove(row, columns.name(row));
+        size--;
+        view = null;
+        if (columns.size() - size > size) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        BitSet compacted = removed;
+        columns = columns.retain(row -> !compacted.get(row), size);
+        removed = new BitSet();
+        rowById = new IdIndex(size);
+        nameIndex.clear();
+        for (int row = 0; row < columns.size(); row++) {
+            index(row);
+        }
+        indexSalaries();
+    }
+}
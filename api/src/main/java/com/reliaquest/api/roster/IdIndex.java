@@ -0,0 +1,117 @@
+package com.reliaquest.api.roster;
+
+import java.util.Arrays;
+
+/**
+ * Map from employee id to roster row, with the id held as its two {@code long} halves so neither {@link java.util.UUID}
+ * objects nor boxed rows are kept per employee.
+ * <p>
+ * Open addressing with linear probing, kept at most half full. Removal shifts the following entries of the probe
+ * run back instead of leaving tombstones, so lookups never slow down as rows come and go. Not thread-safe;
+ * {@link EmployeeRoster} guards it with its lock.
+ */
+class IdIndex {
+
+    static final int ABSENT = -1;
+
+    private long[] highs;
+    private long[] lows;
+    private int[] rows;
+    private int mask;
+    private int size;
+
+    IdIndex(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1);
+    }
+
+    /**
+     * @return the row of the id, or {@link #ABSENT}
+     */
+    int get(long high, long low) {
+        int slot = find(high, low);
+        return slot < 0 ? ABSENT : rows[slot];
+    }
+
+    void put(long high, long low, int row) {
+        int slot = find(high, low);
+        if (slot >= 0) {
+            rows[slot] = row;
+            return;
+        }
+        if ((size + 1) * 2 > rows.length) {
+            resize();
+        }
+        insert(high, low, row);
+        size++;
+    }
+
+    /**
+     * @return the row the id was mapped to, or {@link #ABSENT}
+     */
+    int remove(long high, long low) {
+        int gap = find(high, low);
+        if (gap < 0) {
+            return ABSENT;
+        }
+        int row = rows[gap];
+        for (int next = (gap + 1) & mask; rows[next] != ABSENT; next = (next + 1) & mask) {
+            int home = home(highs[next], lows[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                highs[gap] = highs[next];
+                lows[gap] = lows[next];
+                rows[gap] = rows[next];
+                gap = next;
+            }
+        }
+        rows[gap] = ABSENT;
+        size--;
+        return row;
+    }
+
+    private int find(long high, long low) {
+        for (int slot = home(high, low); rows[slot] != ABSENT; slot = (slot + 1) & mask) {
+            if (highs[slot] == high && lows[slot] == low) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(long high, long low, int row) {
+        int slot = home(high, low);
+        while (rows[slot] != ABSENT) {
+            slot = (slot + 1) & mask;
+        }
+        highs[slot] = high;
+        lows[slot] = low;
+        rows[slot] = row;
+    }
+
+    private void resize() {
+        long[] oldHighs = highs;
+        long[] oldLows = lows;
+        int[] oldRows = rows;
+        allocate(oldRows.length * 2);
+        for (int slot = 0; slot < oldRows.length; slot++) {
+            if (oldRows[slot] != ABSENT) {
+                insert(oldHighs[slot], oldLows[slot], oldRows[slot]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        highs = new long[capacity];
+        lows = new long[capacity];
+        rows = new int[capacity];
+        Arrays.fill(rows, ABSENT);
+        mask = capacity - 1;
+    }
+
+    private int home(long high, long low) {
+        long hash = high * 31 + low;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+}
@@ -0,0 +1,25 @@
+package com.reliaquest.api.roster;
+
+import java.util.OptionalInt;
+
+/**
+ * Highest salary of the roster, empty when no employee has one.
+ */
+public class MaxSalaryAggregator implements RosterAggregator<OptionalInt> {
+
+    private boolean seen;
+    private int highest;
+
+    @Override
+    public void accept(RosterRow row) {
+        if (row.hasSalary() && (!seen || row.salary() > highest)) {
+            highest = row.salary();
+            seen = true;
+        }
+    }
+
+    @Override
+    public OptionalInt result() {
+        return seen ? OptionalInt.of(highest) : OptionalInt.empty();
+    }
+}
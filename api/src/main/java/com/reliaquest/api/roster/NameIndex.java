@@ -0,0 +1,126 @@
+package com.reliaquest.api.roster;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Trigram inverted index over lower-cased employee names, maintained incrementally as rows are added and removed.
+ * <p>
+ * A substring query is answered by intersecting the posting lists of its trigrams, smallest first. The surviving
+ * candidates only share the fragment's trigrams, so the caller verifies each against the name itself, which keeps
+ * the exact semantics of a case-insensitive substring match; the names are not kept here. Rows are appended in
+ * increasing order, so posting lists stay sorted without any sorting. Not thread-safe; {@link EmployeeRoster}
+ * guards it with its lock.
+ */
+class NameIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    void add(int row, String name) {
+        String lowerCaseName = name == null ? "" : name.toLowerCase();
+        for (int i = 0; i + GRAM_LENGTH <= lowerCaseName.length(); i++) {
+            postings.computeIfAbsent(gram(lowerCaseName, i), ignored -> new Postings()).add(row);
+        }
+    }
+
+    /**
+     * @param name the name the row was added with
+     */
+    void remove(int row, String name) {
+        String lowerCaseName = name == null ? "" : name.toLowerCase();
+        for (int i = 0; i + GRAM_LENGTH <= lowerCaseName.length(); i++) {
+            long gram = gram(lowerCaseName, i);
+            Postings rows = postings.get(gram);
+            if (rows != null && rows.remove(row) && rows.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    void clear() {
+        postings.clear();
+    }
+
+    /**
+     * Visits, in row order, the rows whose name has every trigram of {@code lowerCaseFragment}.
+     *
+     * @return {@code false} when the fragment is shorter than a trigram, so the caller has to scan every row itself
+     */
+    boolean forEachCandidate(String lowerCaseFragment, IntConsumer rowConsumer) {
+        if (lowerCaseFragment.length() < GRAM_LENGTH) {
+            return false;
+        }
+
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= lowerCaseFragment.length(); i++) {
+            grams.add(gram(lowerCaseFragment, i));
+        }
+        Postings[] lists = new Postings[grams.size()];
+        int listCount = 0;
+        for (long gram : grams) {
+            Postings rows = postings.get(gram);
+            if (rows == null) {
+                return true;
+            }
+            lists[listCount++] = rows;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(rows -> rows.size));
+
+        Postings smallest = lists[0];
+        candidates:
+        for (int i = 0; i < smallest.size; i++) {
+            int row = smallest.rows[i];
+            for (int list = 1; list < lists.length; list++) {
+                if (!lists[list].contains(row)) {
+                    continue candidates;
+                }
+            }
+            rowConsumer.accept(row);
+        }
+        return true;
+    }
+
+    private static long gram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    /**
+     * Sorted, growable list of rows.
+     */
+    private static final class Postings {
+
+        private int[] rows = new int[4];
+        private int size;
+
+        private void add(int row) {
+            if (size > 0 && rows[size - 1] == row) {
+                return;
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        private boolean remove(int row) {
+            int index = Arrays.binarySearch(rows, 0, size, row);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(rows, index + 1, rows, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        private boolean contains(int row) {
+            return Arrays.binarySearch(rows, 0, size, row) >= 0;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.model.EmployeeDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Employees whose name contains a fragment ignoring case, in roster order, the same as
+ * {@link EmployeeRoster#searchByName}. Names are matched in place in the row's buffer and only matching employees
+ * are materialized.
+ */
+public class NameSearchAggregator implements RosterAggregator<List<EmployeeDto>> {
+
+    private final String lowerCaseFragment;
+    private final List<EmployeeDto> matches = new ArrayList<>();
+
+    public NameSearchAggregator(String fragment) {
+        this.lowerCaseFragment = fragment.toLowerCase();
+    }
+
+    @Override
+    public void accept(RosterRow row) {
+        CharSequence name = row.name();
+        if (name != null && containsIgnoreCase(name)) {
+            matches.add(row.toEmployee());
+        }
+    }
+
+    @Override
+    public List<EmployeeDto> result() {
+        return matches;
+    }
+
+    private boolean containsIgnoreCase(CharSequence name) {
+        int last = name.length() - lowerCaseFragment.length();
+        candidates:
+        for (int start = 0; start <= last; start++) {
+            for (int i = 0; i < lowerCaseFragment.length(); i++) {
+                if (Character.toLowerCase(name.charAt(start + i)) != lowerCaseFragment.charAt(i)) {
+                    continue candidates;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.api.roster;
+
+/**
+ * Single-pass query over a roster streamed from the upstream, fed one {@link RosterRow} at a time in roster order.
+ * Implementations keep only the state their result needs. Not thread-safe; an aggregator serves one pass.
+ *
+ * @param <R> result of the query
+ */
+public interface RosterAggregator<R> {
+
+    void accept(RosterRow row);
+
+    R result();
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.api.roster;
+
+/**
+ * Point-in-time counters of the roster cache.
+ *
+ * @param hits requests served from a fresh roster
+ * @param staleHits requests served from a stale roster while a background refresh was triggered
+ * @param misses requests that had to wait for the roster to be fetched
+ * @param refreshes completed background refreshes
+ * @param refreshFailures background refreshes that failed
+ * @param rosterSize number of employees currently cached
+ */
+public record RosterCacheStats(long hits, long staleHits, long misses, long refreshes, long refreshFailures,
+                               int rosterSize) {
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.RosterChangesDto;
+
+import java.util.List;
+
+/**
+ * Implemented by {@link com.reliaquest.api.service.RestService}s that can tell which version of the roster they read
+ * and what changed upstream since, so a replica can be brought up to date by applying the changes alone.
+ */
+public interface RosterChangeFeed {
+
+    /**
+     * @param version version of the roster the caller holds, which makes the read conditional, or {@code null}
+     * @return the roster, or {@code null} when the upstream answered that it is still at {@code version}
+     */
+    VersionedRoster getVersionedRoster(String version);
+
+    /**
+     * @param version version of a roster read before, or of earlier changes
+     */
+    RosterChangesDto getChangesSince(String version);
+
+    /**
+     * @param version version of the roster, or {@code null} when the upstream did not tell
+     */
+    record VersionedRoster(String version, List<EmployeeDto> employees) {
+    }
+}
@@ -0,0 +1,380 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.model.EmployeeDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+/**
+ * Struct-of-arrays storage of the roster rows.
+ * <p>
+ * Ids are held as pairs of {@code long}s, salaries and ages as {@code int}s, names and emails as UTF-8 packed back
+ * to back into a single byte array, and titles, which repeat across the roster, as codes into a dictionary. Which
+ * values are absent is recorded in a byte of flags per row. An {@link EmployeeDto} is only materialized when a
+ * caller asks for a row.
+ * <p>
+ * Rows are append-only and a written row is never overwritten, as growing a column copies it into a new array. A
+ * {@link #snapshot()} can therefore share the arrays with the live columns and stays valid while more rows are
+ * appended. Not thread-safe; {@link EmployeeRoster} guards it with its lock.
+ */
+final class RosterColumns {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final byte HAS_ID = 1;
+    private static final byte HAS_NAME = 1 << 1;
+    private static final byte HAS_SALARY = 1 << 2;
+    private static final byte HAS_AGE = 1 << 3;
+    private static final byte HAS_TITLE = 1 << 4;
+    private static final byte HAS_EMAIL = 1 << 5;
+
+    private final Map<String, Integer> titleCodes;
+    private final StringColumn names;
+    private final StringColumn emails;
+    private String[] titleDictionary;
+    private int titleCount;
+    private byte[] flags;
+    private long[] idHigh;
+    private long[] idLow;
+    private int[] salaries;
+    private int[] ages;
+    private int[] titles;
+    private int size;
+
+    RosterColumns(int capacity) {
+        this(capacity, new HashMap<>(), new String[MIN_CAPACITY], 0);
+    }
+
+    private RosterColumns(int capacity, Map<String, Integer> titleCodes, String[] titleDictionary, int titleCount) {
+        int rows = Math.max(capacity, MIN_CAPACITY);
+        this.titleCodes = titleCodes;
+        this.titleDictionary = titleDictionary;
+        this.titleCount = titleCount;
+        this.names = new StringColumn(rows);
+        this.emails = new StringColumn(rows);
+        this.flags = new byte[rows];
+        this.idHigh = new long[rows];
+        this.idLow = new long[rows];
+        this.salaries = new int[rows];
+        this.ages = new int[rows];
+        this.titles = new int[rows];
+    }
+
+    private RosterColumns(RosterColumns source) {
+        this.titleCodes = source.titleCodes;
+        this.titleDictionary = source.titleDictionary;
+        this.titleCount = source.titleCount;
+        this.names = source.names.snapshot();
+        this.emails = source.emails.snapshot();
+        this.flags = source.flags;
+        this.idHigh = source.idHigh;
+        this.idLow = source.idLow;
+        this.salaries = source.salaries;
+        this.ages = source.ages;
+        this.titles = source.titles;
+        this.size = source.size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the row the employee was stored at
+     */
+    int append(EmployeeDto employee) {
+        int row = nextRow();
+        byte rowFlags = 0;
+        if (employee.getId() != null) {
+            rowFlags |= HAS_ID;
+            idHigh[row] = employee.getId().getMostSignificantBits();
+            idLow[row] = employee.getId().getLeastSignificantBits();
+        }
+        if (employee.getEmployeeName() != null) {
+            rowFlags |= HAS_NAME;
+        }
+        if (employee.getEmployeeSalary() != null) {
+            rowFlags |= HAS_SALARY;
+            salaries[row] = employee.getEmployeeSalary();
+        }
+        if (employee.getEmployeeAge() != null) {
+            rowFlags |= HAS_AGE;
+            ages[row] = employee.getEmployeeAge();
+        }
+        if (employee.getEmployeeTitle() != null) {
+            rowFlags |= HAS_TITLE;
+            titles[row] = titleCode(employee.getEmployeeTitle());
+        }
+        if (employee.getEmployeeEmail() != null) {
+            rowFlags |= HAS_EMAIL;
+        }
+        names.append(employee.getEmployeeName());
+        emails.append(employee.getEmployeeEmail());
+        flags[row] = rowFlags;
+        size++;
+        return row;
+    }
+
+    /**
+     * @return new columns holding the rows accepted by {@code retained}, in order, sharing this title dictionary
+     */
+    RosterColumns retain(IntPredicate retained, int expectedRows) {
+        RosterColumns copy = new RosterColumns(expectedRows, titleCodes, titleDictionary, titleCount);
+        for (int row = 0; row < size; row++) {
+            if (!retained.test(row)) {
+                continue;
+            }
+            int target = copy.nextRow();
+            copy.flags[target] = flags[row];
+            copy.idHigh[target] = idHigh[row];
+            copy.idLow[target] = idLow[row];
+            copy.salaries[target] = salaries[row];
+            copy.ages[target] = ages[row];
+            copy.titles[target] = titles[row];
+            copy.names.appendFrom(names, row);
+            copy.emails.appendFrom(emails, row);
+            copy.size++;
+        }
+        return copy;
+    }
+
+    /**
+     * @return columns frozen at the current rows, unaffected by later appends to these ones
+     */
+    RosterColumns snapshot() {
+        return new RosterColumns(this);
+    }
+
+    /**
+     * @param rows rows to expose in order, or {@code null} for every row of these columns
+     * @return an immutable list materializing each employee from the columns as it is read
+     */
+    List<EmployeeDto> view(int[] rows) {
+        return new RowView(this, rows);
+    }
+
+    boolean hasId(int row) {
+        return (flags[row] & HAS_ID) != 0;
+    }
+
+    long idHigh(int row) {
+        return idHigh[row];
+    }
+
+    long idLow(int row) {
+        return idLow[row];
+    }
+
+    boolean hasSalary(int row) {
+        return (flags[row] & HAS_SALARY) != 0;
+    }
+
+    int salary(int row) {
+        return salaries[row];
+    }
+
+    String name(int row) {
+        return (flags[row] & HAS_NAME) != 0 ? names.get(row) : null;
+    }
+
+    /**
+     * Same as {@code name(row).toLowerCase().contains(lowerCaseFragment)}, but without decoding ASCII names.
+     */
+    boolean nameContains(int row, String lowerCaseFragment) {
+        return names.containsIgnoreCase(row, lowerCaseFragment);
+    }
+
+    /**
+     * Same as {@code name.equalsIgnoreCase(name(row))}, but without decoding ASCII names.
+     */
+    boolean nameEqualsIgnoreCase(int row, String name) {
+        return (flags[row] & HAS_NAME) != 0 && names.equalsIgnoreCase(row, name);
+    }
+
+    EmployeeDto employee(int row) {
+        byte rowFlags = flags[row];
+        return EmployeeDto.builder()
+                .id((rowFlags & HAS_ID) != 0 ? new UUID(idHigh[row], idLow[row]) : null)
+                .employeeName((rowFlags & HAS_NAME) != 0 ? names.get(row) : null)
+                .employeeSalary((rowFlags & HAS_SALARY) != 0 ? salaries[row] : null)
+                .employeeAge((rowFlags & HAS_AGE) != 0 ? ages[row] : null)
+                .employeeTitle((rowFlags & HAS_TITLE) != 0 ? titleDictionary[titles[row]] : null)
+                .employeeEmail((rowFlags & HAS_EMAIL) != 0 ? emails.get(row) : null)
+                .build();
+    }
+
+    private int nextRow() {
+        if (size == flags.length) {
+            int capacity = size * 2;
+            flags = Arrays.copyOf(flags, capacity);
+            idHigh = Arrays.copyOf(idHigh, capacity);
+            idLow = Arrays.copyOf(idLow, capacity);
+            salaries = Arrays.copyOf(salaries, capacity);
+            ages = Arrays.copyOf(ages, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+        }
+        return size;
+    }
+
+    private int titleCode(String title) {
+        Integer code = titleCodes.get(title);
+        if (code != null) {
+            return code;
+        }
+        if (titleCount == titleDictionary.length) {
+            titleDictionary = Arrays.copyOf(titleDictionary, titleCount * 2);
+        }
+        titleDictionary[titleCount] = title;
+        titleCodes.put(title, titleCount);
+        return titleCount++;
+    }
+
+    /**
+     * Strings encoded as UTF-8 and packed back to back, with the end offset of each one. A {@code null} is stored
+     * as an empty string; {@link RosterColumns} tells the two apart with its flags.
+     */
+    private static final class StringColumn {
+
+        private static final int BYTES_PER_ROW = 16;
+
+        private byte[] bytes;
+        private int[] ends;
+        private int length;
+        private int size;
+
+        private StringColumn(int capacity) {
+            this.bytes = new byte[capacity * BYTES_PER_ROW];
+            this.ends = new int[capacity];
+        }
+
+        private StringColumn(StringColumn source) {
+            this.bytes = source.bytes;
+            this.ends = source.ends;
+            this.length = source.length;
+            this.size = source.size;
+        }
+
+        private StringColumn snapshot() {
+            return new StringColumn(this);
+        }
+
+        private void append(String value) {
+            if (value == null || value.isEmpty()) {
+                appendBytes(bytes, 0, 0);
+            } else {
+                byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                appendBytes(encoded, 0, encoded.length);
+            }
+        }
+
+        private void appendFrom(StringColumn source, int row) {
+            int start = source.start(row);
+            appendBytes(source.bytes, start, source.ends[row] - start);
+        }
+
+        private void appendBytes(byte[] source, int offset, int count) {
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + count));
+            }
+            if (size == ends.length) {
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            System.arraycopy(source, offset, bytes, length, count);
+            length += count;
+            ends[size++] = length;
+        }
+
+        private String get(int row) {
+            int start = start(row);
+            return new String(bytes, start, ends[row] - start, StandardCharsets.UTF_8);
+        }
+
+        private boolean containsIgnoreCase(int row, String lowerCaseFragment) {
+            int start = start(row);
+            int end = ends[row];
+            if (!isAscii(start, end)) {
+                return get(row).toLowerCase().contains(lowerCaseFragment);
+            }
+            int fragmentLength = lowerCaseFragment.length();
+            candidates:
+            for (int from = start; from <= end - fragmentLength; from++) {
+                for (int i = 0; i < fragmentLength; i++) {
+                    if (toLowerCase(bytes[from + i]) != lowerCaseFragment.charAt(i)) {
+                        continue candidates;
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+
+        private boolean equalsIgnoreCase(int row, String value) {
+            int start = start(row);
+            int end = ends[row];
+            if (!isAscii(start, end)) {
+                return value.equalsIgnoreCase(get(row));
+            }
+            if (end - start != value.length()) {
+                return false;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                if (toLowerCase(bytes[start + i]) != Character.toLowerCase(value.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isAscii(int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (bytes[i] < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int start(int row) {
+            return row == 0 ? 0 : ends[row - 1];
+        }
+
+        private static char toLowerCase(byte ascii) {
+            return ascii >= 'A' && ascii <= 'Z' ? (char) (ascii + ('a' - 'A')) : (char) ascii;
+        }
+    }
+
+    /**
+     * Read-only list over a frozen set of columns, building each element on access.
+     */
+    private static final class RowView extends AbstractList<EmployeeDto> implements RandomAccess {
+
+        private final RosterColumns columns;
+        private final int[] rows;
+
+        private RowView(RosterColumns columns, int[] rows) {
+            this.columns = columns;
+            this.rows = rows;
+        }
+
+        @Override
+        public EmployeeDto get(int index) {
+            Objects.checkIndex(index, size());
+            if (rows == null) {
+                return columns.employee(index);
+            }
+            return columns.employee(rows[index]);
+        }
+
+        @Override
+        public int size() {
+            return rows == null ? columns.size : rows.length;
+        }
+    }
+}
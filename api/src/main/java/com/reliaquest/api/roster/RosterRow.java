@@ -0,0 +1,108 @@
+package com.reliaquest.api.roster;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.reliaquest.api.model.EmployeeDto;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Reusable view of one employee of a streamed roster, read straight off the parser.
+ * <p>
+ * Text fields are copied into buffers owned by the row, so reading an employee allocates nothing once the buffers
+ * have grown to the longest value; fields outside the employee schema are skipped unread. Aggregators read what they
+ * need through the accessors and call {@link #toEmployee()} only for the employees they keep. The row is overwritten
+ * by the next employee, so neither it nor the {@link CharSequence}s it hands out may be retained.
+ */
+public final class RosterRow {
+
+    private final StringBuilder id = new StringBuilder(36);
+    private final StringBuilder name = new StringBuilder(32);
+    private final StringBuilder title = new StringBuilder(32);
+    private final StringBuilder email = new StringBuilder(32);
+    private boolean hasId;
+    private boolean hasName;
+    private boolean hasTitle;
+    private boolean hasEmail;
+    private boolean hasSalary;
+    private boolean hasAge;
+    private int salary;
+    private int age;
+
+    /**
+     * Reads the employee the parser is positioned on, consuming it entirely.
+     */
+    public void read(JsonParser parser) throws IOException {
+        hasId = hasName = hasTitle = hasEmail = hasSalary = hasAge = false;
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> hasId = copyText(parser, value, id);
+                case "employee_name" -> hasName = copyText(parser, value, name);
+                case "employee_title" -> hasTitle = copyText(parser, value, title);
+                case "employee_email" -> hasEmail = copyText(parser, value, email);
+                case "employee_salary" -> {
+                    hasSalary = value.isScalarValue() && value != JsonToken.VALUE_NULL;
+                    salary = hasSalary ? parser.getValueAsInt() : 0;
+                }
+                case "employee_age" -> {
+                    hasAge = value.isScalarValue() && value != JsonToken.VALUE_NULL;
+                    age = hasAge ? parser.getValueAsInt() : 0;
+                }
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * @return the name, valid until the next employee is read, or {@code null} when it has none
+     */
+    public CharSequence name() {
+        return hasName ? name : null;
+    }
+
+    public boolean hasSalary() {
+        return hasSalary;
+    }
+
+    public int salary() {
+        return salary;
+    }
+
+    /**
+     * @return a detached copy of the employee
+     */
+    public EmployeeDto toEmployee() {
+        return EmployeeDto.builder()
+                .id(hasId ? UUID.fromString(id.toString()) : null)
+                .employeeName(hasName ? name.toString() : null)
+                .employeeSalary(hasSalary ? salary : null)
+                .employeeAge(hasAge ? age : null)
+                .employeeTitle(hasTitle ? title.toString() : null)
+                .employeeEmail(hasEmail ? email.toString() : null)
+                .build();
+    }
+
+    private static boolean copyText(JsonParser parser, JsonToken value, StringBuilder target) throws IOException {
+        target.setLength(0);
+        if (value == JsonToken.VALUE_NULL) {
+            return false;
+        }
+        if (value == JsonToken.VALUE_STRING) {
+            target.append(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            return true;
+        }
+        if (value.isScalarValue()) {
+            target.append(parser.getText());
+            return true;
+        }
+        parser.skipChildren();
+        return false;
+    }
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.roster;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implemented by {@link com.reliaquest.api.service.RestService}s that keep a local roster and can answer queries
+ * from its indexes instead of handing out the full employee list.
+ */
+public interface RosterSource {
+
+    EmployeeRoster getRoster();
+
+    /**
+     * Completes with the roster once it is available. Sources that can load it without blocking the calling thread
+     * should override this; by default the roster is obtained synchronously.
+     */
+    default CompletableFuture<EmployeeRoster> getRosterAsync() {
+        return CompletableFuture.completedFuture(getRoster());
+    }
+}
@@ -0,0 +1,103 @@
+package com.reliaquest.api.roster;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Roster rows ordered by salary, as a sorted array of primitive keys.
+ * <p>
+ * Each key packs the salary into the high 32 bits and the inverted row number into the low ones, so equal salaries
+ * are ordered by row and walking the array from the top yields ties in roster order. A whole roster is indexed with
+ * {@link #rebuild}, which sorts the keys once; single adds and removes then shift the keys after theirs, which is a
+ * memory move rather than a node allocation per entry. Not thread-safe; {@link EmployeeRoster} guards it with its
+ * lock.
+ */
+class SalaryIndex {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys = new long[MIN_CAPACITY];
+    private int size;
+
+    /**
+     * Replaces the entries with the rows in {@code [0, rows)} that have a salary.
+     */
+    void rebuild(int rows, IntPredicate hasSalary, IntUnaryOperator salary) {
+        if (keys.length < rows || keys.length > 2 * Math.max(rows, MIN_CAPACITY)) {
+            keys = new long[Math.max(rows, MIN_CAPACITY)];
+        }
+        size = 0;
+        for (int row = 0; row < rows; row++) {
+            if (hasSalary.test(row)) {
+                keys[size++] = key(salary.applyAsInt(row), row);
+            }
+        }
+        Arrays.sort(keys, 0, size);
+    }
+
+    void add(int salary, int row) {
+        long key = key(salary, row);
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index >= 0) {
+            return;
+        }
+        int insertion = -index - 1;
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        System.arraycopy(keys, insertion, keys, insertion + 1, size - insertion);
+        keys[insertion] = key;
+        size++;
+    }
+
+    void remove(int salary, int row) {
+        int index = Arrays.binarySearch(keys, 0, size, key(salary, row));
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        size--;
+    }
+
+    OptionalInt highest() {
+        return size == 0 ? OptionalInt.empty() : OptionalInt.of(salary(keys[size - 1]));
+    }
+
+    /**
+     * Visits the rows of the {@code limit} highest salaries, highest first.
+     */
+    void forEachHighest(int limit, IntConsumer rowConsumer) {
+        for (int index = size - 1; index >= 0 && size - 1 - index < limit; index--) {
+            rowConsumer.accept(row(keys[index]));
+        }
+    }
+
+    /**
+     * Visits the rows with a salary within {@code [min, max]}, lowest salary first.
+     */
+    void forEachBetween(int min, int max, IntConsumer rowConsumer) {
+        if (min > max) {
+            return;
+        }
+        long last = key(max, 0);
+        int index = Arrays.binarySearch(keys, 0, size, key(min, Integer.MAX_VALUE));
+        for (index = index < 0 ? -index - 1 : index; index < size && keys[index] <= last; index++) {
+            rowConsumer.accept(row(keys[index]));
+        }
+    }
+
+    private static long key(int salary, int row) {
+        return ((long) salary << 32) | (Integer.MAX_VALUE - row);
+    }
+
+    private static int salary(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int row(long key) {
+        return Integer.MAX_VALUE - (int) key;
+    }
+}
@@ -0,0 +1,13 @@
+package com.reliaquest.api.roster;
+
+/**
+ * Implemented by {@link com.reliaquest.api.service.RestService}s that can answer roster queries by streaming the
+ * upstream roster through a {@link RosterAggregator}, without materializing the employees.
+ */
+public interface StreamingRosterSource {
+
+    /**
+     * @return the aggregator's result after it has seen every employee of a freshly fetched roster
+     */
+    <R> R aggregate(RosterAggregator<R> aggregator);
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.api.roster;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Names of the {@code limit} highest earners, highest first and ties in roster order, the same as
+ * {@link EmployeeRoster#topEarners}.
+ * <p>
+ * A min-heap bounded to {@code limit} holds the current top earners. As employees arrive in roster order, a later
+ * employee only displaces the weakest one by earning strictly more, so a name is copied out of the row only when its
+ * employee enters the heap.
+ */
+public class TopEarnersAggregator implements RosterAggregator<List<String>> {
+
+    private static final Comparator<Earner> WEAKEST_FIRST =
+            Comparator.comparingInt(Earner::salary).thenComparing(Comparator.comparingLong(Earner::position).reversed());
+
+    private final int limit;
+    private final PriorityQueue<Earner> heap;
+    private long position;
+
+    public TopEarnersAggregator(int limit) {
+        this.limit = Math.max(0, limit);
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(this.limit, 1024)), WEAKEST_FIRST);
+    }
+
+    @Override
+    public void accept(RosterRow employee) {
+        long current = position++;
+        if (limit == 0 || !employee.hasSalary()) {
+            return;
+        }
+        if (heap.size() == limit) {
+            if (employee.salary() <= heap.peek().salary()) {
+                return;
+            }
+            heap.poll();
+        }
+        CharSequence name = employee.name();
+        heap.add(new Earner(employee.salary(), current, name == null ? null : name.toString()));
+    }
+
+    @Override
+    public List<String> result() {
+        List<Earner> earners = new ArrayList<>(heap);
+        earners.sort(WEAKEST_FIRST.reversed());
+        List<String> names = new ArrayList<>(earners.size());
+        earners.forEach(earner -> names.add(earner.name()));
+        return names;
+    }
+
+    private record Earner(int salary, long position, String name) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.EmployeeRequestDto;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService}, backing the api when {@code reliaquest.client.mode} is
+ * {@code reactive}.
+ */
+public interface AsyncEmployeeService {
+
+    CompletableFuture<List<EmployeeDto>> getAllEmployees();
+
+    CompletableFuture<List<EmployeeDto>> getEmployeesByNameSearch(String searchString);
+
+    CompletableFuture<EmployeeDto> getEmployeeById(String id);
+
+    CompletableFuture<Integer> getHighestSalary();
+
+    CompletableFuture<List<String>> getNamesOfHighestEarningEmployees(int numberOfEmployees);
+
+    CompletableFuture<List<EmployeeDto>> getEmployeesBySalaryRange(int minSalary, int maxSalary);
+
+    CompletableFuture<EmployeeDto> createEmployee(EmployeeRequestDto employeeDto);
+
+    CompletableFuture<String> deleteEmployee(String id);
+}
@@ -0,0 +1,26 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.EmployeeRequestDto;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link RestService}: every call returns as soon as the request is issued and the
+ * future completes once the mock server has answered.
+ */
+public interface AsyncRestService {
+
+    CompletableFuture<List<EmployeeDto>> getAllEmployeesAsync();
+
+    CompletableFuture<EmployeeDto> getEmployeeByIdAsync(String id);
+
+    CompletableFuture<EmployeeDto> createEmployeeAsync(EmployeeRequestDto employeeDto);
+
+    /**
+     * @return future of the deleted employee's name, completed with {@code null} when no employee has that id
+     */
+    CompletableFuture<String> deleteEmployeeByIdAsync(String id);
+
+}
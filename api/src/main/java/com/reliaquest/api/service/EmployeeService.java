@@ -1,5 +1,6 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.model.BatchResultDto;
 import com.reliaquest.api.model.EmployeeDto;
 import com.reliaquest.api.model.EmployeeRequestDto;
 
@@ -17,7 +18,13 @@ public interface EmployeeService {
 
     List<String> getNamesOfHighestEarningEmployees(int numberOfEmployees);
 
+    List<EmployeeDto> getEmployeesBySalaryRange(int minSalary, int maxSalary);
+
     EmployeeDto createEmployee(EmployeeRequestDto employeeDto);
 
     String deleteEmployee(String id);
+
+    List<BatchResultDto<EmployeeDto>> createEmployees(List<EmployeeRequestDto> employees);
+
+    List<BatchResultDto<String>> deleteEmployees(List<String> ids);
 }
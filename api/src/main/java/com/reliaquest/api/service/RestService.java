@@ -1,5 +1,6 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.model.BatchResultDto;
 import com.reliaquest.api.model.EmployeeDto;
 import com.reliaquest.api.model.EmployeeRequestDto;
 
@@ -13,6 +14,19 @@ public interface RestService {
 
     EmployeeDto createEmployee(EmployeeRequestDto employeeDto);
 
-    Boolean deleteEmployee(String name);
+    /**
+     * @return name of the deleted employee, or {@code null} when no employee has that id
+     */
+    String deleteEmployeeById(String id);
+
+    /**
+     * @return one result per employee, in request order, holding the created employee or why it was not created
+     */
+    List<BatchResultDto<EmployeeDto>> createEmployees(List<EmployeeRequestDto> employees);
+
+    /**
+     * @return one result per id, in request order, holding the deleted employee's name or why nothing was deleted
+     */
+    List<BatchResultDto<String>> deleteEmployeesById(List<String> ids);
 
 }
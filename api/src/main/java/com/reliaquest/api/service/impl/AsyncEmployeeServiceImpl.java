@@ -0,0 +1,98 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.TechnicalException;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.EmployeeRequestDto;
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.roster.RosterSource;
+import com.reliaquest.api.service.AsyncEmployeeService;
+import com.reliaquest.api.service.AsyncRestService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Same behaviour as {@link EmployeeServiceImpl}, composed on futures so that no thread waits for the upstream.
+ */
+@Service
+@Slf4j
+@AllArgsConstructor
+@ConditionalOnProperty(name = "reliaquest.client.mode", havingValue = "reactive")
+public class AsyncEmployeeServiceImpl implements AsyncEmployeeService {
+
+    private final AsyncRestService restService;
+
+    @Override
+    public CompletableFuture<List<EmployeeDto>> getAllEmployees() {
+        return restService.getAllEmployeesAsync();
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeDto>> getEmployeesByNameSearch(String searchString) {
+        if (searchString == null || searchString.isEmpty()) {
+            log.error("Search string is empty");
+            return getAllEmployees();
+        }
+        return roster().thenApply(roster -> roster.searchByName(searchString));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeDto> getEmployeeById(String id) {
+        if (id == null || id.isEmpty()) {
+            log.error("Employee id is empty");
+            return CompletableFuture.completedFuture(new EmployeeDto());
+        }
+        return restService.getEmployeeByIdAsync(id);
+    }
+
+    @Override
+    public CompletableFuture<Integer> getHighestSalary() {
+        return roster().thenApply(roster -> roster.highestSalary().orElse(0));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getNamesOfHighestEarningEmployees(int numberOfEmployees) {
+        return roster().thenApply(roster -> roster.topEarnerNames(numberOfEmployees));
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeDto>> getEmployeesBySalaryRange(int minSalary, int maxSalary) {
+        if (minSalary > maxSalary) {
+            log.error("Invalid salary range: {} - {}", minSalary, maxSalary);
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return roster().thenApply(roster -> roster.salaryBetween(minSalary, maxSalary));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeDto> createEmployee(EmployeeRequestDto employeeDto) {
+        return restService.createEmployeeAsync(employeeDto);
+    }
+
+    @Override
+    public CompletableFuture<String> deleteEmployee(String id) {
+        if (!StringUtils.hasLength(id)) {
+            log.error("Employee id is empty");
+            return CompletableFuture.failedFuture(new TechnicalException("Employee id is empty"));
+        }
+        return restService.deleteEmployeeByIdAsync(id).thenApply(name -> {
+            if (name == null) {
+                log.error("Employee not found with id: {}", id);
+                throw new TechnicalException("Employee not found with id: " + id);
+            }
+            return name;
+        });
+    }
+
+    private CompletableFuture<EmployeeRoster> roster() {
+        if (restService instanceof RosterSource rosterSource) {
+            return rosterSource.getRosterAsync();
+        }
+        return restService.getAllEmployeesAsync().thenApply(EmployeeRoster::of);
+    }
+}
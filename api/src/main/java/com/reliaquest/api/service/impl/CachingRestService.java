@@ -0,0 +1,489 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.client.SingleFlight;
+import com.reliaquest.api.model.BatchResultDto;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.EmployeeRequestDto;
+import com.reliaquest.api.model.RosterChangeDto;
+import com.reliaquest.api.model.RosterChangesDto;
+import com.reliaquest.api.roster.AsyncRosterChangeFeed;
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.roster.RosterCacheStats;
+import com.reliaquest.api.roster.RosterChangeFeed;
+import com.reliaquest.api.roster.RosterSource;
+import com.reliaquest.api.service.AsyncRestService;
+import com.reliaquest.api.service.RestService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serves reads from an in-memory {@link EmployeeRoster} so that one upstream fetch answers many api requests.
+ * <p>
+ * A roster younger than {@code reliaquest.cache.ttl} is served as is. Up to {@code reliaquest.cache.max-stale}
+ * it is still served, but a single background refresh is started. Beyond that, or before the first fetch,
+ * callers wait for the roster to be loaded.
+ * <p>
+ * The same cache also fronts the non-blocking {@link AsyncRestService} when one is configured: asynchronous
+ * callers get cached rosters as completed futures, and loads and background refreshes go through the non-blocking
+ * client, so no thread is held while the upstream answers.
+ * <p>
+ * When the delegate is a {@link RosterChangeFeed}, the cached roster is a replica that loads and refreshes bring up
+ * to date by applying the changes made upstream since its version, so they cost as much as the churn rather than
+ * the roster. The whole roster is only read again when the upstream no longer has every change. These loads and
+ * refreshes go through the non-blocking client when it is an {@link AsyncRosterChangeFeed}, and otherwise run on the
+ * refresh thread, as the feed is blocking.
+ * <p>
+ * With {@code reliaquest.cache.enabled: false} every read goes upstream, and aggregate queries stream the roster
+ * instead of holding it.
+ */
+@Slf4j
+@Primary
+@Service
+@ConditionalOnProperty(name = "reliaquest.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingRestService implements RestService, AsyncRestService, RosterSource {
+
+    private final RestService delegate;
+    private final AsyncRestService asyncDelegate;
+    private final RosterChangeFeed changeFeed;
+    private final AsyncRosterChangeFeed asyncChangeFeed;
+    private final long ttlNanos;
+    private final long maxStaleNanos;
+
+    private final AtomicReference<EmployeeRoster> roster = new AtomicReference<>();
+    private volatile String rosterVersion;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final SingleFlight<String, EmployeeRoster> asyncLoad = new SingleFlight<>();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "roster-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    public CachingRestService(RestService delegate, Duration ttl, Duration maxStale) {
+        this(delegate, (AsyncRestService) null, ttl, maxStale);
+    }
+
+    @Autowired
+    public CachingRestService(@Qualifier("restServiceImpl") RestService delegate,
+                              @Qualifier("webClientRestService") ObjectProvider<AsyncRestService> asyncDelegate,
+                              @Value("${reliaquest.cache.ttl:5s}") Duration ttl,
+                              @Value("${reliaquest.cache.max-stale:5m}") Duration maxStale) {
+        this(delegate, asyncDelegate.getIfAvailable(), ttl, maxStale);
+    }
+
+    /**
+     * @param asyncDelegate non-blocking client, or {@code null} to run asynchronous loads on a background thread
+     */
+    public CachingRestService(RestService delegate, AsyncRestService asyncDelegate, Duration ttl, Duration maxStale) {
+        this.delegate = delegate;
+        this.asyncDelegate = asyncDelegate;
+        this.changeFeed = delegate instanceof RosterChangeFeed feed ? feed : null;
+        this.asyncChangeFeed = asyncDelegate instanceof AsyncRosterChangeFeed feed ? feed : null;
+        this.ttlNanos = ttl.toNanos();
+        this.maxStaleNanos = Math.max(ttl.toNanos(), maxStale.toNanos());
+    }
+
+    @Override
+    public List<EmployeeDto> getAllEmployees() {
+        return getRoster().employees();
+    }
+
+    @Override
+    public EmployeeRoster getRoster() {
+        EmployeeRoster cached = cachedRoster();
+        return cached != null ? cached : load();
+    }
+
+    @Override
+    public CompletableFuture<EmployeeRoster> getRosterAsync() {
+        EmployeeRoster cached = cachedRoster();
+        return cached != null ? CompletableFuture.completedFuture(cached) : loadAsync();
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeDto>> getAllEmployeesAsync() {
+        return getRosterAsync().thenApply(EmployeeRoster::employees);
+    }
+
+    @Override
+    public EmployeeDto getEmployeeById(String id) {
+        return cachedEmployee(id).orElseGet(() -> delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeDto> getEmployeeByIdAsync(String id) {
+        Optional<EmployeeDto> cached = cachedEmployee(id);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        return asyncDelegate != null
+                ? asyncDelegate.getEmployeeByIdAsync(id)
+                : completed(() -> delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public EmployeeDto createEmployee(EmployeeRequestDto employeeDto) {
+        return added(delegate.createEmployee(employeeDto));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeDto> createEmployeeAsync(EmployeeRequestDto employeeDto) {
+        CompletableFuture<EmployeeDto> created = asyncDelegate != null
+                ? asyncDelegate.createEmployeeAsync(employeeDto)
+                : completed(() -> delegate.createEmployee(employeeDto));
+        return created.thenApply(this::added);
+    }
+
+    @Override
+    public String deleteEmployeeById(String id) {
+        return removed(id, delegate.deleteEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<String> deleteEmployeeByIdAsync(String id) {
+        CompletableFuture<String> deleted = asyncDelegate != null
+                ? asyncDelegate.deleteEmployeeByIdAsync(id)
+                : completed(() -> delegate.deleteEmployeeById(id));
+        return deleted.thenApply(name -> removed(id, name));
+    }
+
+    @Override
+    public List<BatchResultDto<EmployeeDto>> createEmployees(List<EmployeeRequestDto> employees) {
+        List<BatchResultDto<EmployeeDto>> results = delegate.createEmployees(employees);
+        results.forEach(result -> added(result.getData()));
+        return results;
+    }
+
+    @Override
+    public List<BatchResultDto<String>> deleteEmployeesById(List<String> ids) {
+        List<BatchResultDto<String>> results = delegate.deleteEmployeesById(ids);
+        results.forEach(result -> removed(ids.get(result.getIndex()), result.getData()));
+        return results;
+    }
+
+    public RosterCacheStats getStats() {
+        EmployeeRoster current = roster.get();
+        return new RosterCacheStats(hits.sum(), staleHits.sum(), misses.sum(), refreshes.sum(),
+                refreshFailures.sum(), current == null ? 0 : current.size());
+    }
+
+    /**
+     * @return version of the cached roster, or {@code null} when there is none or the delegate is no change feed
+     */
+    public String getRosterVersion() {
+        return roster.get() == null ? null : rosterVersion;
+    }
+
+    /**
+     * Applies changes the upstream pushed as they happened, so that the cached roster stays fresh without polling.
+     * Changes starting at the version of the cached roster are applied and restart its age, and a resync drops it.
+     * Any other changes are ignored: the roster is then out of step with the push and catches up through the change
+     * feed once it goes stale.
+     *
+     * @return whether the changes were applied
+     */
+    public boolean applyPushed(RosterChangesDto changes) {
+        loadLock.lock();
+        try {
+            if (changes.isResync()) {
+                roster.set(null);
+                rosterVersion = null;
+                log.debug("Dropped cached roster on a pushed resync to version {}", changes.getVersion());
+                return false;
+            }
+            EmployeeRoster current = roster.get();
+            if (current == null || rosterVersion == null || !rosterVersion.equals(changes.getSince())) {
+                return false;
+            }
+            changes.getChanges().forEach(change -> apply(current, change));
+            current.markFresh();
+            rosterVersion = changes.getVersion();
+            return true;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the cached roster so that the next read goes upstream.
+     */
+    public void invalidate() {
+        roster.set(null);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * @return the cached roster if it may still be served, triggering a background refresh when it is stale
+     */
+    private EmployeeRoster cachedRoster() {
+        EmployeeRoster current = roster.get();
+        if (current == null) {
+            return null;
+        }
+        long age = current.ageNanos();
+        if (age < ttlNanos) {
+            hits.increment();
+            return current;
+        }
+        if (age < maxStaleNanos) {
+            staleHits.increment();
+            refreshAsync();
+            return current;
+        }
+        return null;
+    }
+
+    private Optional<EmployeeDto> cachedEmployee(String id) {
+        EmployeeRoster cached = cachedRoster();
+        return cached == null ? Optional.empty() : parseId(id).flatMap(cached::findById);
+    }
+
+    private EmployeeDto added(EmployeeDto created) {
+        EmployeeRoster current = roster.get();
+        if (current != null && created != null) {
+            current.add(created);
+        }
+        return created;
+    }
+
+    private String removed(String id, String deletedName) {
+        EmployeeRoster current = roster.get();
+        if (current != null && deletedName != null) {
+            parseId(id).ifPresent(current::removeById);
+        }
+        return deletedName;
+    }
+
+    private EmployeeRoster load() {
+        loadLock.lock();
+        try {
+            EmployeeRoster current = roster.get();
+            if (current != null && current.ageNanos() < ttlNanos) {
+                hits.increment();
+                return current;
+            }
+            misses.increment();
+            EmployeeRoster loaded = changeFeed != null ? sync() : EmployeeRoster.of(delegate.getAllEmployees());
+            roster.set(loaded);
+            log.debug("Loaded roster of {} employees", loaded.size());
+            return loaded;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Asynchronous callers missing the cache share a single load, and none of them waits for it on a thread.
+     */
+    private CompletableFuture<EmployeeRoster> loadAsync() {
+        return asyncLoad.executeAsync("roster", () -> {
+            EmployeeRoster current = roster.get();
+            if (current != null && current.ageNanos() < ttlNanos) {
+                hits.increment();
+                return CompletableFuture.completedFuture(current);
+            }
+            misses.increment();
+            return fetchRoster().thenApply(loaded -> {
+                roster.set(loaded);
+                log.debug("Loaded roster of {} employees", loaded.size());
+                return loaded;
+            });
+        });
+    }
+
+    private void refreshAsync() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture<EmployeeRoster> refresh;
+        try {
+            refresh = fetchRoster();
+        } catch (RuntimeException e) {
+            refreshing.set(false);
+            throw e;
+        }
+        refresh.whenComplete((refreshed, error) -> {
+            if (error == null) {
+                roster.set(refreshed);
+                refreshes.increment();
+                log.debug("Refreshed roster of {} employees", refreshed.size());
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                refreshFailures.increment();
+                log.warn("Roster refresh failed, serving stale data: {}", cause.getMessage());
+            }
+            refreshing.set(false);
+        });
+    }
+
+    /**
+     * Fetches a fresh roster without blocking the caller: through the non-blocking client when there is one,
+     * otherwise on the refresh thread. Either way it comes from the change feed when there is one.
+     */
+    private CompletableFuture<EmployeeRoster> fetchRoster() {
+        if (asyncChangeFeed != null) {
+            return syncAsync();
+        }
+        if (changeFeed != null) {
+            return CompletableFuture.supplyAsync(this::sync, refreshExecutor);
+        }
+        if (asyncDelegate != null) {
+            return asyncDelegate.getAllEmployeesAsync().thenApply(EmployeeRoster::of);
+        }
+        return CompletableFuture.supplyAsync(() -> EmployeeRoster.of(delegate.getAllEmployees()), refreshExecutor);
+    }
+
+    /**
+     * Applies the changes made upstream since the version of the cached roster to it in place, or reads the whole
+     * roster when there is none or the feed asks for a resync, keeping the cached one if the upstream answers that it
+     * is still at that version. Holds the load lock, so that changes are never applied twice or out of order, and the
+     * version always belongs to the cached roster.
+     */
+    private EmployeeRoster sync() {
+        loadLock.lock();
+        try {
+            EmployeeRoster current = roster.get();
+            String version = rosterVersion;
+            if (current != null && version != null) {
+                RosterChangesDto changes = changeFeed.getChangesSince(version);
+                if (!changes.isResync()) {
+                    return caughtUp(current, changes);
+                }
+                log.debug("Roster version {} is gone from the change feed, reloading", version);
+            }
+            return reloaded(current, version, changeFeed.getVersionedRoster(current == null ? null : version));
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Non-blocking {@link #sync()}: the changes or the roster are read without holding the load lock, and applied
+     * under it only if no other load or push has moved the cached roster on in the meantime.
+     */
+    private CompletableFuture<EmployeeRoster> syncAsync() {
+        EmployeeRoster current = roster.get();
+        String version = rosterVersion;
+        if (current == null || version == null) {
+            return reloadAsync(null, null);
+        }
+        return asyncChangeFeed.getChangesSinceAsync(version).thenCompose(changes -> {
+            if (changes.isResync()) {
+                log.debug("Roster version {} is gone from the change feed, reloading", version);
+                return reloadAsync(current, version);
+            }
+            return CompletableFuture.completedFuture(inStep(current, version, () -> caughtUp(current, changes)));
+        });
+    }
+
+    private CompletableFuture<EmployeeRoster> reloadAsync(EmployeeRoster current, String version) {
+        return asyncChangeFeed.getVersionedRosterAsync(current == null ? null : version)
+                .thenApply(fetched -> inStep(current, version, () -> reloaded(current, version, fetched)));
+    }
+
+    /**
+     * Runs {@code update} under the load lock unless another roster or version has been cached since
+     * {@code current} was read at {@code version}, in which case that newer roster is kept and returned.
+     */
+    private EmployeeRoster inStep(EmployeeRoster current, String version, Supplier<EmployeeRoster> update) {
+        loadLock.lock();
+        try {
+            EmployeeRoster cached = roster.get();
+            if (cached != null && (cached != current || !Objects.equals(version, rosterVersion))) {
+                return cached;
+            }
+            return update.get();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private EmployeeRoster caughtUp(EmployeeRoster current, RosterChangesDto changes) {
+        changes.getChanges().forEach(change -> apply(current, change));
+        current.markFresh();
+        rosterVersion = changes.getVersion();
+        log.debug("Applied {} roster changes up to version {}", changes.getChanges().size(), changes.getVersion());
+        return current;
+    }
+
+    /**
+     * @param fetched roster read upstream, or {@code null} when it is still at {@code version}
+     */
+    private EmployeeRoster reloaded(EmployeeRoster current, String version, RosterChangeFeed.VersionedRoster fetched) {
+        if (fetched == null) {
+            current.markFresh();
+            log.debug("Roster not modified since version {}", version);
+            return current;
+        }
+        EmployeeRoster loaded = EmployeeRoster.of(fetched.employees());
+        roster.set(loaded);
+        rosterVersion = fetched.version();
+        return loaded;
+    }
+
+    /**
+     * Adds skip ids the roster already has and removes skip unknown ones, so changes the cache applied itself on
+     * create and delete are not applied twice.
+     */
+    private static void apply(EmployeeRoster target, RosterChangeDto change) {
+        if (change.getType() == RosterChangeDto.Type.ADDED && change.getEmployee() != null) {
+            target.add(change.getEmployee());
+        } else if (change.getType() == RosterChangeDto.Type.REMOVED) {
+            target.removeById(change.getId());
+        }
+    }
+
+    private static <T> CompletableFuture<T> completed(Supplier<T> call) {
+        try {
+            return CompletableFuture.completedFuture(call.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static Optional<UUID> parseId(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(UUID.fromString(id));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
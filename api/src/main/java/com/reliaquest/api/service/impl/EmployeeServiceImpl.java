@@ -1,8 +1,16 @@
 package com.reliaquest.api.service.impl;
 
 import com.reliaquest.api.TechnicalException;
+import com.reliaquest.api.model.BatchResultDto;
 import com.reliaquest.api.model.EmployeeDto;
 import com.reliaquest.api.model.EmployeeRequestDto;
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.roster.MaxSalaryAggregator;
+import com.reliaquest.api.roster.NameSearchAggregator;
+import com.reliaquest.api.roster.RosterAggregator;
+import com.reliaquest.api.roster.RosterSource;
+import com.reliaquest.api.roster.StreamingRosterSource;
+import com.reliaquest.api.roster.TopEarnersAggregator;
 import com.reliaquest.api.service.EmployeeService;
 import com.reliaquest.api.service.RestService;
 import lombok.AllArgsConstructor;
@@ -11,7 +19,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
@@ -34,16 +43,7 @@ public class EmployeeServiceImpl implements EmployeeService {
             return getAllEmployees();
         }
 
-        List<EmployeeDto> employees = restService.getAllEmployees();
-        log.info("Fetched employee data");
-        String finalSearchString = searchString.toLowerCase();
-
-        return employees.stream()
-                .filter(employee -> {
-                    String employeeName = Optional.ofNullable(employee.getEmployeeName()).orElse("").toLowerCase();
-                    return employeeName.contains(finalSearchString);
-                })
-                .toList();
+        return query(roster -> roster.searchByName(searchString), () -> new NameSearchAggregator(searchString));
     }
 
     @Override
@@ -57,17 +57,22 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     @Override
     public Integer getHighestSalary() {
-        return getAllEmployees().stream().mapToInt(EmployeeDto::getEmployeeSalary).max().orElse(0);
+        return query(EmployeeRoster::highestSalary, MaxSalaryAggregator::new).orElse(0);
     }
 
     @Override
     public List<String> getNamesOfHighestEarningEmployees(int numberOfEmployees) {
-        List<EmployeeDto> employees = getAllEmployees();
-        return employees.stream()
-                .sorted((e1, e2) -> e2.getEmployeeSalary() - e1.getEmployeeSalary())
-                .limit(numberOfEmployees)
-                .map(EmployeeDto::getEmployeeName)
-                .toList();
+        return query(roster -> roster.topEarnerNames(numberOfEmployees),
+                () -> new TopEarnersAggregator(numberOfEmployees));
+    }
+
+    @Override
+    public List<EmployeeDto> getEmployeesBySalaryRange(int minSalary, int maxSalary) {
+        if (minSalary > maxSalary) {
+            log.error("Invalid salary range: {} - {}", minSalary, maxSalary);
+            return List.of();
+        }
+        return roster().salaryBetween(minSalary, maxSalary);
     }
 
     @Override
@@ -77,15 +82,58 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     @Override
     public String deleteEmployee(String id) {
-        EmployeeDto employee = getEmployeeById(id);
-        if (employee == null) {
+        if (!StringUtils.hasLength(id)) {
+            log.error("Employee id is empty");
+            throw new TechnicalException("Employee id is empty");
+        }
+        String name = restService.deleteEmployeeById(id);
+        if (name == null) {
             log.error("Employee not found with id: {}", id);
             throw new TechnicalException("Employee not found with id: " + id);
-        } else if (!StringUtils.hasLength(employee.getEmployeeName())) {
-            log.error("Employee name is empty");
-            throw new TechnicalException("Employee name is empty");
         }
-        restService.deleteEmployee(employee.getEmployeeName());
-        return employee.getEmployeeName();
+        return name;
+    }
+
+    @Override
+    public List<BatchResultDto<EmployeeDto>> createEmployees(List<EmployeeRequestDto> employees) {
+        if (employees == null || employees.isEmpty()) {
+            log.error("No employees to create");
+            return List.of();
+        }
+        return restService.createEmployees(employees);
+    }
+
+    @Override
+    public List<BatchResultDto<String>> deleteEmployees(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            log.error("No employees to delete");
+            return List.of();
+        }
+        return restService.deleteEmployeesById(ids);
+    }
+
+    /**
+     * Answers from the indexed roster kept by the cache when there is one. Otherwise the upstream roster is streamed
+     * through {@code aggregator} if the client supports it, so only the result is kept in memory, and failing that
+     * the query runs against a roster built on the spot.
+     */
+    private <R> R query(Function<EmployeeRoster, R> indexed, Supplier<RosterAggregator<R>> aggregator) {
+        if (restService instanceof RosterSource rosterSource) {
+            return indexed.apply(rosterSource.getRoster());
+        }
+        if (restService instanceof StreamingRosterSource streamingSource) {
+            return streamingSource.aggregate(aggregator.get());
+        }
+        return indexed.apply(EmployeeRoster.of(restService.getAllEmployees()));
+    }
+
+    /**
+     * Name and salary queries run against the indexed roster kept by the cache, or one built on the spot otherwise.
+     */
+    private EmployeeRoster roster() {
+        if (restService instanceof RosterSource rosterSource) {
+            return rosterSource.getRoster();
+        }
+        return EmployeeRoster.of(restService.getAllEmployees());
     }
 }
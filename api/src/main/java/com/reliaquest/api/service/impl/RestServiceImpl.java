@@ -1,70 +1,345 @@
 package com.reliaquest.api.service.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.reliaquest.api.TechnicalException;
-import com.reliaquest.api.model.EmployeeDeleteRequestDto;
+import com.reliaquest.api.UpstreamThrottledException;
+import com.reliaquest.api.client.EnvelopeReader;
+import com.reliaquest.api.client.SingleFlight;
+import com.reliaquest.api.client.UpstreamRateGovernor;
+import com.reliaquest.api.model.BatchResultDto;
+import com.reliaquest.api.model.EmployeeBatchDeleteRequestDto;
+import com.reliaquest.api.model.EmployeeBatchRequestDto;
 import com.reliaquest.api.model.EmployeeDto;
 import com.reliaquest.api.model.EmployeeRequestDto;
 import com.reliaquest.api.model.ResponseDto;
+import com.reliaquest.api.model.RosterChangesDto;
+import com.reliaquest.api.roster.RosterAggregator;
+import com.reliaquest.api.roster.RosterChangeFeed;
+import com.reliaquest.api.roster.RosterRow;
+import com.reliaquest.api.roster.StreamingRosterSource;
 import com.reliaquest.api.service.RestService;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 
 @Service
 @Slf4j
-@AllArgsConstructor
-public class RestServiceImpl implements RestService {
+public class RestServiceImpl implements RestService, StreamingRosterSource, RosterChangeFeed {
+
+    private static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
 
     private final RestTemplate restTemplate;
-    private final String RELIAQUEST_SERVER_BASE_PATH = "http://localhost:8112/api/v1/";
-    //@Value("${reliaquest.server.base-path}")
-    // private String RELIAQUEST_SERVER_BASE_PATH;
+    private final UpstreamRateGovernor governor;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader employeeReader;
+    private final SmileFactory smileFactory;
+    private final List<MediaType> rosterAccept;
+    private final String reliaquestServerBasePath;
+    private final String employeeUrl;
+    private final String employeeBatchUrl;
+    private final String employeeChangesUrl;
+    private final int rosterPageSize;
+    private final int batchSize;
+
+    private volatile String lastEtag;
+
+    private final SingleFlight<String, VersionedRoster> allEmployeesFlight = new SingleFlight<>(
+            callers -> log.debug("Get employees flight served {} callers", callers));
+    private final SingleFlight<String, EmployeeDto> employeeByIdFlight = new SingleFlight<>(
+            callers -> log.debug("Get employee flight served {} callers", callers));
+
+    public RestServiceImpl(RestTemplate restTemplate,
+                           UpstreamRateGovernor governor,
+                           ObjectMapper objectMapper,
+                           @Value("${reliaquest.server.base-path}") String reliaquestServerBasePath,
+                           @Value("${reliaquest.client.roster-page-size:0}") int rosterPageSize,
+                           @Value("${reliaquest.client.roster-format:smile}") String rosterFormat,
+                           @Value("${reliaquest.client.batch-size:1000}") int batchSize) {
+        this.restTemplate = restTemplate;
+        this.governor = governor;
+        this.objectMapper = objectMapper;
+        this.employeeReader = objectMapper.readerFor(EmployeeDto.class);
+        this.smileFactory = new SmileFactory(objectMapper);
+        this.rosterAccept = rosterAccept(rosterFormat);
+        this.reliaquestServerBasePath = reliaquestServerBasePath;
+        this.employeeUrl = UriComponentsBuilder.fromHttpUrl(reliaquestServerBasePath)
+                .pathSegment("employee")
+                .toUriString();
+        this.employeeBatchUrl = UriComponentsBuilder.fromHttpUrl(employeeUrl)
+                .pathSegment("batch")
+                .toUriString();
+        this.employeeChangesUrl = UriComponentsBuilder.fromHttpUrl(employeeUrl)
+                .pathSegment("changes")
+                .toUriString();
+        this.rosterPageSize = rosterPageSize;
+        this.batchSize = Math.max(1, batchSize);
+    }
 
+    /**
+     * Concurrent callers share a single in-flight upstream request and its deserialized result.
+     */
     @Override
     public List<EmployeeDto> getAllEmployees() {
-        ResponseEntity<ResponseDto<List<EmployeeDto>>> responseEntity;
+        return getVersionedRoster(null).employees();
+    }
+
+    /**
+     * Takes the version from the roster's {@code ETag}. Only the last {@code ETag} is kept, not the roster: the
+     * request is conditional when {@code version} is the version of that {@code ETag}, and the caller reuses its own
+     * copy on a 304. Concurrent callers with the same condition share a single in-flight upstream request.
+     */
+    @Override
+    public VersionedRoster getVersionedRoster(String version) {
+        String etag = lastEtag;
+        String ifNoneMatch = version != null && version.equals(versionOf(etag)) ? etag : null;
+        return allEmployeesFlight.execute(ifNoneMatch == null ? "" : ifNoneMatch,
+                () -> fetchAllEmployees(ifNoneMatch));
+    }
+
+    @Override
+    public RosterChangesDto getChangesSince(String version) {
+        ResponseEntity<ResponseDto<RosterChangesDto>> responseEntity;
         try {
-            responseEntity = restTemplate.exchange(
-                    RELIAQUEST_SERVER_BASE_PATH + "/employee",
+            String url = UriComponentsBuilder.fromHttpUrl(employeeChangesUrl)
+                    .queryParam("since", version)
+                    .toUriString();
+            responseEntity = governor.execute("getEmployeeChanges", () -> restTemplate.exchange(
+                    url,
                     HttpMethod.GET,
                     null,
-                    new ParameterizedTypeReference<>() {
+                    new ParameterizedTypeReference<ResponseDto<RosterChangesDto>>() {
                     }
-            );
-            log.info("Employee Api Called with status {}", Objects.requireNonNull(responseEntity.getBody()).getStatus());
+            ));
+            log.info("Employee changes Api Called with status {}",
+                    Objects.requireNonNull(responseEntity.getBody()).getStatus());
+        } catch (UpstreamThrottledException e) {
+            throw e;
         } catch (Exception e) {
             log.error(e.getMessage());
-            throw new TechnicalException("Error while calling the get employee api");
+            throw new TechnicalException("Error while calling the get employee changes api");
         }
         return responseEntity.getBody().getData();
     }
 
+    /**
+     * Concurrent callers asking for the same id share a single in-flight upstream request.
+     */
     @Override
     public EmployeeDto getEmployeeById(String id) {
+        if (id == null) {
+            return fetchEmployeeById(null);
+        }
+        return employeeByIdFlight.execute(id, () -> fetchEmployeeById(id));
+    }
+
+    public SingleFlight.Stats getAllEmployeesFlightStats() {
+        return allEmployeesFlight.getStats();
+    }
+
+    public SingleFlight.Stats getEmployeeByIdFlightStats() {
+        return employeeByIdFlight.getStats();
+    }
+
+    /**
+     * Streams a freshly fetched roster through the aggregator, one reused {@link RosterRow} per employee, so
+     * aggregate queries allocate what their result needs rather than a DTO per employee. Not coalesced with other
+     * callers, as aggregators differ.
+     */
+    @Override
+    public <R> R aggregate(RosterAggregator<R> aggregator) {
+        RosterRow row = new RosterRow();
+        streamRoster(null, parser -> {
+            row.read(parser);
+            aggregator.accept(row);
+        });
+        return aggregator.result();
+    }
+
+    private VersionedRoster fetchAllEmployees(String ifNoneMatch) {
+        List<EmployeeDto> employees = new ArrayList<>();
+        Revalidation revalidation = streamRoster(ifNoneMatch, parser -> employees.add(employeeReader.readValue(parser)));
+        if (revalidation.notModified()) {
+            log.debug("Roster not modified since {}", ifNoneMatch);
+            return null;
+        }
+        if (revalidation.etag() != null) {
+            lastEtag = revalidation.etag();
+        }
+        return new VersionedRoster(versionOf(revalidation.etag()), Collections.unmodifiableList(employees));
+    }
+
+    /**
+     * Reads the roster in one response, which the server answers with a body it encoded once per roster version, or
+     * page by page when {@code reliaquest.client.roster-page-size} is set, handing each employee to
+     * {@code elementHandler} straight off the wire without buffering the body. Throttled attempts never reach the
+     * handler, so retries do not feed it twice. With
+     * {@code reliaquest.client.roster-format: smile}, the default, the roster is asked for in Smile, binary JSON that
+     * is smaller and cheaper to parse, and read as JSON from servers that answer with it instead.
+     *
+     * @param ifNoneMatch {@code ETag} of a roster read before, which makes the first request conditional, or
+     *                    {@code null}
+     */
+    private Revalidation streamRoster(String ifNoneMatch, EnvelopeReader.ElementHandler elementHandler) {
+        try {
+            if (rosterPageSize > 0) {
+                return streamRosterPaged(ifNoneMatch, elementHandler);
+            }
+            return streamRosterWhole(ifNoneMatch, elementHandler);
+        } catch (UpstreamThrottledException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error(e.getMessage());
+            throw new TechnicalException("Error while calling the get employee api");
+        }
+    }
+
+    private Revalidation streamRosterWhole(String ifNoneMatch, EnvelopeReader.ElementHandler elementHandler) {
+        ResponseExtractor<Revalidation> extractor = response -> {
+            if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                return Revalidation.NOT_MODIFIED;
+            }
+            EnvelopeReader.Envelope envelope = readEnvelope(response, elementHandler);
+            log.info("Employee Api Called with status {}", envelope.status());
+            return new Revalidation(false, response.getHeaders().getETag());
+        };
+        return Objects.requireNonNull(governor.execute("getAllEmployees",
+                () -> restTemplate.execute(employeeUrl, HttpMethod.GET, conditional(ifNoneMatch), extractor)));
+    }
+
+    /**
+     * Only the first page is conditional, as its {@code ETag} covers the whole roster. Should the roster change
+     * between pages, the result carries no {@code ETag}, so it is never taken as the version of the first page.
+     */
+    private Revalidation streamRosterPaged(String ifNoneMatch, EnvelopeReader.ElementHandler elementHandler) {
+        String cursor = null;
+        String etag = null;
+        int pages = 0;
+        do {
+            UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(employeeUrl)
+                    .queryParam("limit", rosterPageSize);
+            if (cursor != null) {
+                builder.queryParam("cursor", cursor);
+            }
+            String url = builder.toUriString();
+            RequestCallback callback = pages == 0 ? conditional(ifNoneMatch) : this::acceptRoster;
+            String[] nextCursor = new String[1];
+            ResponseExtractor<Revalidation> extractor = response -> {
+                if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                    return Revalidation.NOT_MODIFIED;
+                }
+                nextCursor[0] = readEnvelope(response, elementHandler).nextCursor();
+                return new Revalidation(false, response.getHeaders().getETag());
+            };
+            Revalidation page = Objects.requireNonNull(governor.execute("getAllEmployees",
+                    () -> restTemplate.execute(url, HttpMethod.GET, callback, extractor)));
+            if (page.notModified()) {
+                return page;
+            }
+            etag = pages == 0 || Objects.equals(etag, page.etag()) ? page.etag() : null;
+            cursor = nextCursor[0];
+            pages++;
+        } while (cursor != null);
+        log.info("Employee Api Called for {} pages", pages);
+        return new Revalidation(false, etag);
+    }
+
+    private EnvelopeReader.Envelope readEnvelope(ClientHttpResponse response,
+                                                 EnvelopeReader.ElementHandler elementHandler) throws IOException {
+        MediaType contentType = response.getHeaders().getContentType();
+        try (JsonParser parser = isSmile(contentType)
+                ? smileFactory.createParser(response.getBody())
+                : objectMapper.createParser(response.getBody())) {
+            return EnvelopeReader.read(parser, elementHandler);
+        }
+    }
+
+    private void acceptRoster(ClientHttpRequest request) {
+        request.getHeaders().setAccept(rosterAccept);
+    }
+
+    private RequestCallback conditional(String ifNoneMatch) {
+        return request -> {
+            acceptRoster(request);
+            if (ifNoneMatch != null) {
+                request.getHeaders().setIfNoneMatch(ifNoneMatch);
+            }
+        };
+    }
+
+    /**
+     * @return the {@code Accept} of roster requests for {@code reliaquest.client.roster-format}: Smile preferred over
+     *         JSON, or JSON only
+     */
+    static List<MediaType> rosterAccept(String rosterFormat) {
+        return switch (rosterFormat) {
+            case "smile" -> List.of(APPLICATION_SMILE, new MediaType(MediaType.APPLICATION_JSON, Map.of("q", "0.9")));
+            case "json" -> List.of(MediaType.APPLICATION_JSON);
+            default -> throw new IllegalArgumentException("Unknown reliaquest.client.roster-format: " + rosterFormat);
+        };
+    }
+
+    static boolean isSmile(MediaType contentType) {
+        return contentType != null && APPLICATION_SMILE.isCompatibleWith(contentType);
+    }
+
+    /**
+     * @return the roster version in {@code etag}, without quotes, a weak prefix for a gzipped body, or the suffix the
+     *         server appends to tell the Smile and CBOR representations apart
+     */
+    static String versionOf(String etag) {
+        if (etag == null) {
+            return null;
+        }
+        String value = etag.startsWith("W/") ? etag.substring(2) : etag;
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        int format = value.indexOf('+');
+        return format < 0 ? value : value.substring(0, format);
+    }
+
+    private EmployeeDto fetchEmployeeById(String id) {
         ResponseEntity<ResponseDto<EmployeeDto>> responseEntity;
         try {
 
-            String url = UriComponentsBuilder.fromHttpUrl(RELIAQUEST_SERVER_BASE_PATH)
+            String url = UriComponentsBuilder.fromHttpUrl(reliaquestServerBasePath)
                     .pathSegment("employee", id)
                     .toUriString();
 
-            responseEntity = restTemplate.exchange(
+            responseEntity = governor.execute("getEmployeeById", () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     null,
-                    new ParameterizedTypeReference<>() {
+                    new ParameterizedTypeReference<ResponseDto<EmployeeDto>>() {
                     }
-            );
+            ));
             log.info("Employee Api Called with status {}", Objects.requireNonNull(responseEntity.getBody()).getStatus());
+        } catch (UpstreamThrottledException e) {
+            throw e;
         } catch (Exception e) {
             log.error(e.getMessage());
             throw new TechnicalException("Error while calling the get employee api");
@@ -76,14 +351,16 @@ public class RestServiceImpl implements RestService {
     public EmployeeDto createEmployee(EmployeeRequestDto employeeDto) {
         ResponseEntity<ResponseDto<EmployeeDto>> responseEntity;
         try {
-            responseEntity = restTemplate.exchange(
-                    RELIAQUEST_SERVER_BASE_PATH + "/employee",
+            responseEntity = governor.execute("createEmployee", () -> restTemplate.exchange(
+                    employeeUrl,
                     HttpMethod.POST,
                     new HttpEntity<>(employeeDto),
-                    new ParameterizedTypeReference<>() {
+                    new ParameterizedTypeReference<ResponseDto<EmployeeDto>>() {
                     }
-            );
+            ));
             log.info("Create employee with status {}", Objects.requireNonNull(responseEntity.getBody()).getStatus());
+        } catch (UpstreamThrottledException e) {
+            throw e;
         } catch (Exception e) {
             log.error(e.getMessage());
             throw new TechnicalException("Error while calling the create employee api");
@@ -91,18 +368,31 @@ public class RestServiceImpl implements RestService {
         return responseEntity.getBody().getData();
     }
 
+    /**
+     * Deletes in a single upstream call: the mock server removes exactly the employee with that id and answers with
+     * its name.
+     */
     @Override
-    public Boolean deleteEmployee(String name) {
-        ResponseEntity<ResponseDto<Boolean>> responseEntity;
+    public String deleteEmployeeById(String id) {
+        ResponseEntity<ResponseDto<String>> responseEntity;
         try {
-            responseEntity = restTemplate.exchange(
-                    RELIAQUEST_SERVER_BASE_PATH + "/employee",
+            String url = UriComponentsBuilder.fromHttpUrl(reliaquestServerBasePath)
+                    .pathSegment("employee", id)
+                    .toUriString();
+
+            responseEntity = governor.execute("deleteEmployee", () -> restTemplate.exchange(
+                    url,
                     HttpMethod.DELETE,
-                    new HttpEntity<>(EmployeeDeleteRequestDto.builder().name(name).build()),
-                    new ParameterizedTypeReference<>() {
+                    null,
+                    new ParameterizedTypeReference<ResponseDto<String>>() {
                     }
-            );
+            ));
             log.info("Delete employee with status {}", Objects.requireNonNull(responseEntity.getBody()).getStatus());
+        } catch (HttpClientErrorException.NotFound e) {
+            log.info("Employee to delete not found with id: {}", id);
+            return null;
+        } catch (UpstreamThrottledException e) {
+            throw e;
         } catch (Exception e) {
             log.error(e.getMessage());
             throw new TechnicalException("Error while calling the delete employee api");
@@ -110,5 +400,86 @@ public class RestServiceImpl implements RestService {
         return responseEntity.getBody().getData();
     }
 
+    /**
+     * Creates the employees with one upstream call per {@code reliaquest.client.batch-size} employees.
+     */
+    @Override
+    public List<BatchResultDto<EmployeeDto>> createEmployees(List<EmployeeRequestDto> employees) {
+        return inBatches(employees, batch -> exchangeBatch("createEmployees", HttpMethod.POST,
+                EmployeeBatchRequestDto.builder().employees(batch).build(),
+                new ParameterizedTypeReference<ResponseDto<List<BatchResultDto<EmployeeDto>>>>() {
+                }, "Error while calling the create employees api"));
+    }
+
+    /**
+     * Deletes the employees with one upstream call per {@code reliaquest.client.batch-size} ids.
+     */
+    @Override
+    public List<BatchResultDto<String>> deleteEmployeesById(List<String> ids) {
+        return inBatches(ids, batch -> exchangeBatch("deleteEmployees", HttpMethod.DELETE,
+                EmployeeBatchDeleteRequestDto.builder().ids(batch).build(),
+                new ParameterizedTypeReference<ResponseDto<List<BatchResultDto<String>>>>() {
+                }, "Error while calling the delete employees api"));
+    }
 
+    /**
+     * Sends {@code items} in slices of at most {@code batchSize} and renumbers the results to positions in
+     * {@code items}. A failing first slice fails the call as nothing was applied; once a slice has gone through,
+     * a failure is reported on the items that were not sent instead, so the caller still learns what was applied.
+     */
+    private <I, T> List<BatchResultDto<T>> inBatches(List<I> items,
+                                                     Function<List<I>, List<BatchResultDto<T>>> call) {
+        List<BatchResultDto<T>> results = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<BatchResultDto<T>> batch;
+            try {
+                batch = call.apply(items.subList(from, Math.min(items.size(), from + batchSize)));
+            } catch (RuntimeException e) {
+                if (from == 0) {
+                    throw e;
+                }
+                log.error("Batch failed, {} of {} items not sent", items.size() - from, items.size());
+                for (int index = from; index < items.size(); index++) {
+                    results.add(BatchResultDto.<T>builder().index(index).error(e.getMessage()).build());
+                }
+                return results;
+            }
+            for (BatchResultDto<T> result : batch) {
+                result.setIndex(result.getIndex() + from);
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    private <T> List<BatchResultDto<T>> exchangeBatch(
+            String operation, HttpMethod method, Object body,
+            ParameterizedTypeReference<ResponseDto<List<BatchResultDto<T>>>> responseType, String failure) {
+        ResponseEntity<ResponseDto<List<BatchResultDto<T>>>> responseEntity;
+        try {
+            responseEntity = governor.execute(operation, () -> restTemplate.exchange(
+                    employeeBatchUrl,
+                    method,
+                    new HttpEntity<>(body),
+                    responseType
+            ));
+            log.info("Batch employee Api Called with status {}",
+                    Objects.requireNonNull(responseEntity.getBody()).getStatus());
+        } catch (UpstreamThrottledException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error(e.getMessage());
+            throw new TechnicalException(failure);
+        }
+        List<BatchResultDto<T>> results = responseEntity.getBody().getData();
+        return results == null ? List.of() : results;
+    }
+
+    /**
+     * @param etag {@code ETag} the roster was served with, or {@code null} if the upstream sent none
+     */
+    private record Revalidation(boolean notModified, String etag) {
+
+        private static final Revalidation NOT_MODIFIED = new Revalidation(true, null);
+    }
 }
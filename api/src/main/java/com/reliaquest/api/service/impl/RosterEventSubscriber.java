@@ -0,0 +1,119 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.model.RosterChangesDto;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Long-lived subscription to the mock server's roster events, which keeps the {@link CachingRestService} replica
+ * current as employees are created and deleted upstream, without polling while the stream is up. Enabled with
+ * {@code reliaquest.cache.events.enabled: true}.
+ * <p>
+ * The stream is opened with the version of the cached roster as {@code Last-Event-ID}, so the server first replays
+ * what changed since. It is reopened, with backoff, whenever it fails, ends, or goes without any event, heartbeats
+ * included, for {@code reliaquest.cache.events.idle-timeout}. It has a connection of its own without a response
+ * timeout, and events are applied on a dedicated thread, as applying one may wait for a roster load.
+ */
+@Slf4j
+@Service
+@ConditionalOnExpression("${reliaquest.cache.enabled:true} and ${reliaquest.cache.events.enabled:false}")
+public class RosterEventSubscriber {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<RosterChangesDto>> CHANGES =
+            new ParameterizedTypeReference<ServerSentEvent<RosterChangesDto>>() {
+            };
+
+    private final CachingRestService cache;
+    private final WebClient webClient;
+    private final String eventsUrl;
+    private final Duration idleTimeout;
+    private final Duration reconnectDelay;
+    private final Duration maxReconnectDelay;
+    private final Scheduler scheduler = Schedulers.newSingle("roster-events", true);
+
+    private Disposable subscription;
+
+    public RosterEventSubscriber(CachingRestService cache,
+                                 WebClient.Builder webClientBuilder,
+                                 @Value("${reliaquest.server.base-path}") String reliaquestServerBasePath,
+                                 @Value("${reliaquest.client.connect-timeout:2s}") Duration connectTimeout,
+                                 @Value("${reliaquest.cache.events.idle-timeout:10s}") Duration idleTimeout,
+                                 @Value("${reliaquest.cache.events.reconnect-delay:1s}") Duration reconnectDelay,
+                                 @Value("${reliaquest.cache.events.max-reconnect-delay:30s}") Duration maxReconnectDelay) {
+        this.cache = cache;
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis());
+        this.webClient = webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        this.eventsUrl = UriComponentsBuilder.fromHttpUrl(reliaquestServerBasePath)
+                .pathSegment("employee", "events")
+                .toUriString();
+        this.idleTimeout = idleTimeout;
+        this.reconnectDelay = reconnectDelay;
+        this.maxReconnectDelay = maxReconnectDelay;
+    }
+
+    @PostConstruct
+    void start() {
+        subscription = Flux.defer(this::connect)
+                .timeout(idleTimeout)
+                .publishOn(scheduler)
+                .doOnNext(this::onEvent)
+                .repeatWhen(ended -> ended.delayElements(reconnectDelay))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, reconnectDelay)
+                        .maxBackoff(maxReconnectDelay)
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> log.warn("Roster event stream failed, reconnecting: {}",
+                                signal.failure().getMessage())))
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        scheduler.dispose();
+    }
+
+    private Flux<ServerSentEvent<RosterChangesDto>> connect() {
+        String version = cache.getRosterVersion();
+        log.debug("Subscribing to roster events from version {}", version);
+        return webClient.get()
+                .uri(eventsUrl)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .headers(headers -> {
+                    if (version != null) {
+                        headers.set("Last-Event-ID", version);
+                    }
+                })
+                .retrieve()
+                .bodyToFlux(CHANGES);
+    }
+
+    private void onEvent(ServerSentEvent<RosterChangesDto> event) {
+        if (event.data() != null) {
+            cache.applyPushed(event.data());
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.reliaquest.api.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.TechnicalException;
+import com.reliaquest.api.UpstreamThrottledException;
+import com.reliaquest.api.client.EnvelopeDecoder;
+import com.reliaquest.api.client.EnvelopeReader;
+import com.reliaquest.api.client.SingleFlight;
+import com.reliaquest.api.client.UpstreamRateGovernor;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.EmployeeRequestDto;
+import com.reliaquest.api.model.ResponseDto;
+import com.reliaquest.api.model.RosterChangesDto;
+import com.reliaquest.api.roster.AsyncRosterChangeFeed;
+import com.reliaquest.api.roster.RosterChangeFeed.VersionedRoster;
+import com.reliaquest.api.service.AsyncRestService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * {@link AsyncRestService} on top of the non-blocking {@link WebClient}, selected with
+ * {@code reliaquest.client.mode: reactive}.
+ * <p>
+ * Calls go through the same {@link UpstreamRateGovernor} and request coalescing as {@link RestServiceImpl}, but no
+ * thread waits for the mock server: requests are issued on the Netty event loop and the returned futures complete
+ * there once the response has been decoded. The roster is asked for in the same formats as {@link RestServiceImpl}
+ * asks for it and decoded as it streams in. It is also the non-blocking change feed of the roster cache, revalidating
+ * the roster with the {@code ETag} of the last one it read, as {@link RestServiceImpl} does.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "reliaquest.client.mode", havingValue = "reactive")
+public class WebClientRestService implements AsyncRestService, AsyncRosterChangeFeed {
+
+    private static final ParameterizedTypeReference<ResponseDto<EmployeeDto>> EMPLOYEE =
+            new ParameterizedTypeReference<ResponseDto<EmployeeDto>>() {
+            };
+    private static final ParameterizedTypeReference<ResponseDto<String>> DELETED =
+            new ParameterizedTypeReference<ResponseDto<String>>() {
+            };
+    private static final ParameterizedTypeReference<ResponseDto<RosterChangesDto>> CHANGES =
+            new ParameterizedTypeReference<ResponseDto<RosterChangesDto>>() {
+            };
+
+    private final WebClient webClient;
+    private final UpstreamRateGovernor governor;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader employeeReader;
+    private final SmileFactory smileFactory;
+    private final MediaType[] rosterAccept;
+    private final String reliaquestServerBasePath;
+    private final String employeeUrl;
+    private final String employeeChangesUrl;
+    private final int rosterPageSize;
+
+    private volatile String lastEtag;
+
+    private final SingleFlight<String, VersionedRoster> allEmployeesFlight = new SingleFlight<>(
+            callers -> log.debug("Get employees flight served {} callers", callers));
+    private final SingleFlight<String, EmployeeDto> employeeByIdFlight = new SingleFlight<>(
+            callers -> log.debug("Get employee flight served {} callers", callers));
+
+    public WebClientRestService(WebClient webClient,
+                                UpstreamRateGovernor governor,
+                                ObjectMapper objectMapper,
+                                @Value("${reliaquest.server.base-path}") String reliaquestServerBasePath,
+                                @Value("${reliaquest.client.roster-page-size:0}") int rosterPageSize,
+                                @Value("${reliaquest.client.roster-format:smile}") String rosterFormat) {
+        this.webClient = webClient;
+        this.governor = governor;
+        this.objectMapper = objectMapper;
+        this.employeeReader = objectMapper.readerFor(EmployeeDto.class);
+        this.smileFactory = new SmileFactory(objectMapper);
+        this.rosterAccept = RestServiceImpl.rosterAccept(rosterFormat).toArray(MediaType[]::new);
+        this.reliaquestServerBasePath = reliaquestServerBasePath;
+        this.employeeUrl = UriComponentsBuilder.fromHttpUrl(reliaquestServerBasePath)
+                .pathSegment("employee")
+                .toUriString();
+        this.employeeChangesUrl = UriComponentsBuilder.fromHttpUrl(employeeUrl)
+                .pathSegment("changes")
+                .toUriString();
+        this.rosterPageSize = rosterPageSize;
+    }
+
+    /**
+     * Concurrent callers share a single in-flight upstream request and its deserialized result.
+     */
+    @Override
+    public CompletableFuture<List<EmployeeDto>> getAllEmployeesAsync() {
+        return getVersionedRosterAsync(null).thenApply(VersionedRoster::employees);
+    }
+
+    /**
+     * Takes the version from the roster's {@code ETag}. As in {@link RestServiceImpl#getVersionedRoster}, only the
+     * last {@code ETag} is kept, and the request is conditional when {@code version} is its version. Concurrent
+     * callers with the same condition share a single in-flight upstream request.
+     */
+    @Override
+    public CompletableFuture<VersionedRoster> getVersionedRosterAsync(String version) {
+        String etag = lastEtag;
+        String ifNoneMatch = version != null && version.equals(RestServiceImpl.versionOf(etag)) ? etag : null;
+        return allEmployeesFlight.executeAsync(ifNoneMatch == null ? "" : ifNoneMatch,
+                () -> translate(fetchAllEmployees(ifNoneMatch), "Error while calling the get employee api"));
+    }
+
+    @Override
+    public CompletableFuture<RosterChangesDto> getChangesSinceAsync(String version) {
+        URI uri = URI.create(UriComponentsBuilder.fromHttpUrl(employeeChangesUrl)
+                .queryParam("since", version)
+                .toUriString());
+        return translate(governor.executeAsync("getEmployeeChanges",
+                        () -> exchange(HttpMethod.GET, uri, null, CHANGES))
+                .thenApply(response -> {
+                    log.info("Employee changes Api Called with status {}",
+                            Objects.requireNonNull(response).getStatus());
+                    return response.getData();
+                }), "Error while calling the get employee changes api");
+    }
+
+    /**
+     * Concurrent callers asking for the same id share a single in-flight upstream request.
+     */
+    @Override
+    public CompletableFuture<EmployeeDto> getEmployeeByIdAsync(String id) {
+        if (id == null) {
+            return fetchEmployeeById(null);
+        }
+        return employeeByIdFlight.executeAsync(id, () -> fetchEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeDto> createEmployeeAsync(EmployeeRequestDto employeeDto) {
+        return translate(governor.executeAsync("createEmployee",
+                        () -> exchange(HttpMethod.POST, URI.create(employeeUrl), employeeDto, EMPLOYEE))
+                .thenApply(response -> {
+                    log.info("Create employee with status {}", Objects.requireNonNull(response).getStatus());
+                    return response.getData();
+                }), "Error while calling the create employee api");
+    }
+
+    @Override
+    public CompletableFuture<String> deleteEmployeeByIdAsync(String id) {
+        return translate(governor.executeAsync("deleteEmployee", () -> {
+                    URI uri = URI.create(UriComponentsBuilder.fromHttpUrl(reliaquestServerBasePath)
+                            .pathSegment("employee", id)
+                            .toUriString());
+                    return exchange(HttpMethod.DELETE, uri, null, DELETED);
+                })
+                .handle((response, error) -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    if (cause instanceof WebClientResponseException.NotFound) {
+                        log.info("Employee to delete not found with id: {}", id);
+                        return CompletableFuture.<String>completedFuture(null);
+                    }
+                    if (cause != null) {
+                        return CompletableFuture.<String>failedFuture(cause);
+                    }
+                    log.info("Delete employee with status {}", Objects.requireNonNull(response).getStatus());
+                    return CompletableFuture.completedFuture(response.getData());
+                })
+                .thenCompose(Function.identity()), "Error while calling the delete employee api");
+    }
+
+    public SingleFlight.Stats getAllEmployeesFlightStats() {
+        return allEmployeesFlight.getStats();
+    }
+
+    public SingleFlight.Stats getEmployeeByIdFlightStats() {
+        return employeeByIdFlight.getStats();
+    }
+
+    /**
+     * @return future of the roster, completed with {@code null} when the upstream answers 304
+     */
+    private CompletableFuture<VersionedRoster> fetchAllEmployees(String ifNoneMatch) {
+        List<EmployeeDto> employees = new ArrayList<>();
+        EnvelopeReader.ElementHandler elementHandler = parser -> employees.add(employeeReader.readValue(parser));
+        CompletableFuture<RosterResponse> roster = rosterPageSize > 0
+                ? streamPages(null, 1, ifNoneMatch, null, elementHandler)
+                : streamRoster(URI.create(employeeUrl), ifNoneMatch, elementHandler);
+        return roster.thenApply(response -> {
+            if (response == RosterResponse.NOT_MODIFIED) {
+                log.debug("Roster not modified since {}", ifNoneMatch);
+                return null;
+            }
+            if (response.etag() != null) {
+                lastEtag = response.etag();
+            }
+            return new VersionedRoster(RestServiceImpl.versionOf(response.etag()),
+                    Collections.unmodifiableList(employees));
+        });
+    }
+
+    /**
+     * Requests the page after {@code cursor} once the previous one has been read. Only the first page is
+     * conditional, and the roster keeps the {@code ETag} only if every page carried the same, as
+     * {@link RestServiceImpl} does.
+     *
+     * @param etag {@code ETag} of the pages so far, or {@code null}
+     */
+    private CompletableFuture<RosterResponse> streamPages(String cursor, int page, String ifNoneMatch, String etag,
+                                                          EnvelopeReader.ElementHandler elementHandler) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(employeeUrl)
+                .queryParam("limit", rosterPageSize);
+        if (cursor != null) {
+            builder.queryParam("cursor", cursor);
+        }
+        URI uri = URI.create(builder.toUriString());
+        return streamRoster(uri, page == 1 ? ifNoneMatch : null, elementHandler)
+                .thenCompose(response -> {
+                    if (response == RosterResponse.NOT_MODIFIED) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    String rosterEtag = page == 1 || Objects.equals(etag, response.etag()) ? response.etag() : null;
+                    if (response.nextCursor() == null) {
+                        log.info("Employee Api Called for {} pages", page);
+                        return CompletableFuture.completedFuture(new RosterResponse(rosterEtag, null));
+                    }
+                    return streamPages(response.nextCursor(), page + 1, null, rosterEtag, elementHandler);
+                });
+    }
+
+    /**
+     * Requests the roster, or a page of it, in the format {@code reliaquest.client.roster-format} prefers, and hands
+     * each employee to {@code elementHandler} as the body streams in, so the body is never buffered whole and no
+     * in-memory size limit applies to it. Throttled and failed responses are not decoded, so retries never feed the
+     * handler twice.
+     */
+    private CompletableFuture<RosterResponse> streamRoster(URI uri, String ifNoneMatch,
+                                                           EnvelopeReader.ElementHandler elementHandler) {
+        return governor.executeAsync("getAllEmployees", () -> {
+            WebClient.RequestHeadersSpec<?> request = webClient.get()
+                    .uri(uri)
+                    .accept(rosterAccept);
+            if (ifNoneMatch != null) {
+                request = request.ifNoneMatch(ifNoneMatch);
+            }
+            return request.exchangeToMono(response -> {
+                if (response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                    return response.releaseBody().thenReturn(RosterResponse.NOT_MODIFIED);
+                }
+                if (response.statusCode().isError()) {
+                    return response.<RosterResponse>createError();
+                }
+                EnvelopeDecoder decoder = decoder(response.headers().contentType().orElse(null), elementHandler);
+                String etag = response.headers().asHttpHeaders().getETag();
+                return response.bodyToFlux(DataBuffer.class)
+                        .doOnNext(buffer -> feed(decoder, buffer))
+                        .then(Mono.fromCallable(() -> {
+                            EnvelopeReader.Envelope envelope = decoder.finish();
+                            log.debug("Employee Api Called with status {}", envelope.status());
+                            return new RosterResponse(etag, envelope.nextCursor());
+                        }));
+            }).toFuture();
+        });
+    }
+
+    private EnvelopeDecoder decoder(MediaType contentType, EnvelopeReader.ElementHandler elementHandler) {
+        try {
+            return new EnvelopeDecoder(RestServiceImpl.isSmile(contentType)
+                    ? smileFactory.createNonBlockingByteArrayParser()
+                    : objectMapper.getFactory().createNonBlockingByteArrayParser(), elementHandler);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void feed(EnvelopeDecoder decoder, DataBuffer buffer) {
+        try {
+            byte[] chunk = new byte[buffer.readableByteCount()];
+            buffer.read(chunk);
+            decoder.feed(chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private CompletableFuture<EmployeeDto> fetchEmployeeById(String id) {
+        return translate(governor.executeAsync("getEmployeeById", () -> {
+                    URI uri = URI.create(UriComponentsBuilder.fromHttpUrl(reliaquestServerBasePath)
+                            .pathSegment("employee", id)
+                            .toUriString());
+                    return exchange(HttpMethod.GET, uri, null, EMPLOYEE);
+                })
+                .thenApply(response -> {
+                    log.info("Employee Api Called with status {}", Objects.requireNonNull(response).getStatus());
+                    return response.getData();
+                }), "Error while calling the get employee api");
+    }
+
+    private <T> CompletableFuture<T> exchange(HttpMethod method, URI uri, Object body,
+                                              ParameterizedTypeReference<T> responseType) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON);
+        WebClient.RequestHeadersSpec<?> spec = body == null ? request : request.bodyValue(body);
+        return spec.retrieve().bodyToMono(responseType).toFuture();
+    }
+
+    /**
+     * @param etag {@code ETag} of the response, or {@code null} if the upstream sent none
+     * @param nextCursor cursor of the following page, or {@code null} when the roster is complete
+     */
+    private record RosterResponse(String etag, String nextCursor) {
+        static final RosterResponse NOT_MODIFIED = new RosterResponse(null, null);
+    }
+
+    /**
+     * Surfaces failures the way {@link RestServiceImpl} does: throttling as is, anything else as a
+     * {@link TechnicalException}.
+     */
+    private static <T> CompletableFuture<T> translate(CompletableFuture<T> call, String failure) {
+        return call.exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof UpstreamThrottledException throttled) {
+                throw throttled;
+            }
+            log.error(cause.getMessage());
+            throw new TechnicalException(failure, cause);
+        });
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnvelopeDecoderTest {
+
+    private static final String BODY = "{\"ignored\":{\"data\":[1]},\"data\":[{\"id\":\"a\",\"tags\":[\"x\",{\"y\":1}]},"
+            + "{\"id\":\"b\"},7,null],\"status\":\"Successfully processed request.\",\"next_cursor\":\"czo0\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private EnvelopeReader.Envelope decode(String body, int chunkSize, List<JsonNode> elements) throws IOException {
+        EnvelopeDecoder decoder = new EnvelopeDecoder(objectMapper.getFactory().createNonBlockingByteArrayParser(),
+                parser -> elements.add(objectMapper.readTree(parser)));
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        for (int from = 0; from < bytes.length; from += chunkSize) {
+            decoder.feed(Arrays.copyOfRange(bytes, from, Math.min(bytes.length, from + chunkSize)));
+        }
+        return decoder.finish();
+    }
+
+    @Test
+    void finish_decodesTheSameAsTheReaderWhereverTheChunksSplit() throws IOException {
+        List<JsonNode> expected = new ArrayList<>();
+        EnvelopeReader.Envelope envelope = EnvelopeReader.read(objectMapper.createParser(BODY),
+                parser -> expected.add(objectMapper.readTree(parser)));
+
+        for (int chunkSize = 1; chunkSize <= BODY.length(); chunkSize++) {
+            List<JsonNode> elements = new ArrayList<>();
+
+            assertEquals(envelope, decode(BODY, chunkSize, elements));
+            assertEquals(expected, elements);
+        }
+        assertEquals(4, expected.size());
+        assertEquals("czo0", envelope.nextCursor());
+    }
+
+    @Test
+    void feed_handsOverEachElementOnceItIsComplete() throws IOException {
+        List<JsonNode> elements = new ArrayList<>();
+        EnvelopeDecoder decoder = new EnvelopeDecoder(objectMapper.getFactory().createNonBlockingByteArrayParser(),
+                parser -> elements.add(objectMapper.readTree(parser)));
+
+        decoder.feed("{\"data\":[{\"id\":\"a\"},{\"id\":".getBytes(StandardCharsets.UTF_8));
+        assertEquals(1, elements.size());
+
+        decoder.feed("\"b\"}]}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(2, elements.size());
+        assertNull(decoder.finish().status());
+    }
+
+    @Test
+    void finish_rejectsATruncatedBody() {
+        assertThrows(JsonParseException.class, () -> decode(BODY.substring(0, BODY.length() - 1), 16,
+                new ArrayList<>()));
+        assertThrows(JsonParseException.class, () -> decode("[]", 16, new ArrayList<>()));
+    }
+}
@@ -0,0 +1,153 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.TechnicalException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void execute_concurrentCallersShareOneCall() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("all", () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return "roster";
+                })));
+            }
+            while (singleFlight.inFlightCallers("all") < 8) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("roster", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.getStats().flights());
+        assertEquals(8, singleFlight.getStats().callers());
+        assertEquals(8, singleFlight.getStats().maxCallersPerFlight());
+    }
+
+    @Test
+    void execute_sequentialCallsStartNewFlights() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("all", calls::incrementAndGet);
+        int result = singleFlight.execute("all", calls::incrementAndGet);
+
+        assertEquals(2, result);
+        assertEquals(2, singleFlight.getStats().flights());
+    }
+
+    @Test
+    void execute_failureRethrownAndNotCached() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+        assertThrows(TechnicalException.class, () -> singleFlight.execute("all", () -> {
+            throw new TechnicalException("upstream down");
+        }));
+
+        assertEquals(1, singleFlight.execute("all", () -> 1));
+    }
+
+    @Test
+    void execute_errorReleasesJoinedCallers() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("all", () -> {
+                await(release);
+                throw new AssertionError("test double failed");
+            }));
+            while (singleFlight.inFlightCallers("all") < 1) {
+                Thread.onSpinWait();
+            }
+            Future<String> joiner = executor.submit(() -> singleFlight.execute("all", () -> "roster"));
+            while (singleFlight.inFlightCallers("all") < 2) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class,
+                    () -> leader.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(AssertionError.class, leaderFailure.getCause());
+            ExecutionException joinerFailure = assertThrows(ExecutionException.class,
+                    () -> joiner.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(AssertionError.class, joinerFailure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void executeAsync_callersShareOneCallWithoutWaiting() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(singleFlight.executeAsync("all", () -> {
+                calls.incrementAndGet();
+                return upstream;
+            }));
+        }
+        assertEquals(8, singleFlight.inFlightCallers("all"));
+        upstream.complete("roster");
+
+        for (CompletableFuture<String> result : results) {
+            assertEquals("roster", result.join());
+        }
+        assertEquals(1, calls.get());
+        assertEquals(0, singleFlight.inFlightCallers("all"));
+        assertEquals(8, singleFlight.getStats().maxCallersPerFlight());
+    }
+
+    @Test
+    void executeAsync_failureSharedAndNotCached() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        CompletableFuture<Integer> upstream = new CompletableFuture<>();
+
+        CompletableFuture<Integer> first = singleFlight.executeAsync("all", () -> upstream);
+        CompletableFuture<Integer> second = singleFlight.executeAsync("all", () -> upstream);
+        upstream.completeExceptionally(new TechnicalException("upstream down"));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TechnicalException.class, failure.getCause());
+        assertTrue(first.isCompletedExceptionally());
+        assertEquals(1, singleFlight.executeAsync("all", () -> CompletableFuture.completedFuture(1)).join());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.UpstreamThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamRateGovernorTest {
+
+    private static UpstreamRateGovernor governor(Duration retryDeadline) {
+        return governor(retryDeadline, new SimpleMeterRegistry());
+    }
+
+    private static UpstreamRateGovernor governor(Duration retryDeadline, SimpleMeterRegistry meterRegistry) {
+        return new UpstreamRateGovernor(new UpstreamRateGovernor.Settings(100, 1, 200, 5, 1, 0.5,
+                Duration.ofMillis(500), retryDeadline, Duration.ofMillis(10), Duration.ofMillis(50)), meterRegistry);
+    }
+
+    private static HttpClientErrorException tooManyRequests() {
+        return HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests",
+                HttpHeaders.EMPTY, null, null);
+    }
+
+    @Test
+    void execute_success() {
+        UpstreamRateGovernor governor = governor(Duration.ofSeconds(1));
+
+        String result = governor.execute("test", () -> "ok");
+
+        assertEquals("ok", result);
+        assertEquals(101, governor.getStats().rate());
+    }
+
+    @Test
+    void execute_retriesAfterTooManyRequests() {
+        UpstreamRateGovernor governor = governor(Duration.ofSeconds(1));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = governor.execute("test", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw tooManyRequests();
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, governor.getStats().throttled());
+        assertTrue(governor.getStats().rate() < 100);
+    }
+
+    @Test
+    void execute_recordsMetricsByOutcome() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UpstreamRateGovernor governor = governor(Duration.ofSeconds(1), meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        governor.execute("test", () -> {
+            if (attempts.incrementAndGet() < 2) {
+                throw tooManyRequests();
+            }
+            return "ok";
+        });
+
+        assertEquals(1, meterRegistry.get("reliaquest.upstream.requests")
+                .tags("operation", "test", "outcome", "throttled").timer().count());
+        assertEquals(1, meterRegistry.get("reliaquest.upstream.requests")
+                .tags("operation", "test", "outcome", "success").timer().count());
+        assertEquals(2, meterRegistry.get("reliaquest.upstream.permit.wait").timer().count());
+        assertEquals(governor.getStats().rate(), meterRegistry.get("reliaquest.upstream.rate").gauge().value());
+    }
+
+    @Test
+    void execute_givesUpAfterDeadline() {
+        UpstreamRateGovernor governor = governor(Duration.ofMillis(200));
+
+        assertThrows(UpstreamThrottledException.class, () -> governor.execute("test", () -> {
+            throw tooManyRequests();
+        }));
+        assertEquals(1, governor.getStats().rejected());
+    }
+
+    @Test
+    void execute_honoursRetryAfter() {
+        UpstreamRateGovernor governor = governor(Duration.ofSeconds(1));
+        AtomicInteger attempts = new AtomicInteger();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "5");
+
+        assertThrows(UpstreamThrottledException.class, () -> governor.execute("test", () -> {
+            attempts.incrementAndGet();
+            throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null,
+                    null);
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void execute_otherErrorsNotRetried() {
+        UpstreamRateGovernor governor = governor(Duration.ofSeconds(1));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(HttpServerErrorException.class, () -> governor.execute("test", () -> {
+            attempts.incrementAndGet();
+            throw HttpServerErrorException.create(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",
+                    HttpHeaders.EMPTY, null, null);
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void executeAsync_retriesAfterTooManyRequests() throws Exception {
+        UpstreamRateGovernor governor = governor(Duration.ofSeconds(1));
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = governor.executeAsync("test", () -> attempts.incrementAndGet() < 3
+                ? CompletableFuture.<String>failedFuture(WebClientResponseException.create(429, "Too Many Requests",
+                        HttpHeaders.EMPTY, null, null))
+                : CompletableFuture.completedFuture("ok"));
+
+        assertEquals("ok", result.get(5, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+        assertEquals(2, governor.getStats().throttled());
+    }
+
+    @Test
+    void executeAsync_givesUpAfterDeadline() {
+        UpstreamRateGovernor governor = governor(Duration.ofMillis(200));
+
+        CompletableFuture<String> result = governor.executeAsync("test",
+                () -> CompletableFuture.failedFuture(tooManyRequests()));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(UpstreamThrottledException.class, failure.getCause());
+        assertEquals(1, governor.getStats().rejected());
+    }
+}
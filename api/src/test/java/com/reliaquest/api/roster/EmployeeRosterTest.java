@@ -0,0 +1,176 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.model.EmployeeDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeRosterTest {
+
+    private static final String ACCENTED_NAME = "Zo\u00eb \u00c6r\u00f8";
+
+    private static EmployeeDto employee(String name, int salary) {
+        return EmployeeDto.builder()
+                .id(UUID.randomUUID())
+                .employeeName(name)
+                .employeeSalary(salary)
+                .build();
+    }
+
+    @Test
+    void highestSalary_emptyRoster() {
+        EmployeeRoster roster = EmployeeRoster.of(List.of());
+
+        assertTrue(roster.highestSalary().isEmpty());
+        assertEquals(0, roster.topEarners(10).size());
+    }
+
+    @Test
+    void highestSalary_updatedOnAddAndRemove() {
+        EmployeeRoster roster = EmployeeRoster.of(List.of(employee("foo", 1000), employee("bar", 2000)));
+
+        roster.add(employee("baz", 3000));
+        assertEquals(3000, roster.highestSalary().getAsInt());
+
+        roster.removeFirstByName("baz");
+        assertEquals(2000, roster.highestSalary().getAsInt());
+    }
+
+    @Test
+    void removeById_onlyThatEmployee() {
+        EmployeeDto first = employee("foo", 1000);
+        EmployeeDto second = employee("foo", 2000);
+        EmployeeRoster roster = EmployeeRoster.of(List.of(first, second));
+
+        assertEquals(second, roster.removeById(second.getId()).orElseThrow());
+
+        assertEquals(List.of(first), roster.employees());
+        assertEquals(1000, roster.highestSalary().getAsInt());
+        assertTrue(roster.removeById(second.getId()).isEmpty());
+    }
+
+    @Test
+    void topEarners_limitedAndOrdered() {
+        EmployeeRoster roster = EmployeeRoster.of(
+                List.of(employee("foo", 1000), employee("bar", 3000), employee("baz", 2000)));
+
+        List<String> names = roster.topEarners(2).stream().map(EmployeeDto::getEmployeeName).toList();
+
+        assertEquals(List.of("bar", "baz"), names);
+    }
+
+    @Test
+    void salaryBetween_afterCompaction() {
+        List<EmployeeDto> employees = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            employees.add(employee("employee" + i, i * 1000));
+        }
+        EmployeeRoster roster = EmployeeRoster.of(employees);
+        for (int i = 0; i < 6; i++) {
+            roster.removeFirstByName("employee" + i);
+        }
+
+        List<String> names = roster.salaryBetween(0, 7000).stream().map(EmployeeDto::getEmployeeName).toList();
+
+        assertEquals(List.of("employee6", "employee7"), names);
+        assertEquals(4, roster.size());
+        assertEquals(9000, roster.highestSalary().getAsInt());
+    }
+
+    @Test
+    void findById_addedEmployee() {
+        EmployeeRoster roster = EmployeeRoster.of(List.of(employee("foo", 1000)));
+        EmployeeDto added = employee("bar", 2000);
+
+        roster.add(added);
+
+        assertEquals(added, roster.findById(added.getId()).orElseThrow());
+        assertEquals(2, roster.employees().size());
+    }
+
+    @Test
+    void searchByName_caseInsensitiveSubstring() {
+        EmployeeRoster roster = EmployeeRoster.of(
+                List.of(employee("Tiger Nixon", 1000), employee("Bill Bob", 2000), employee("Jill Nixon", 3000)));
+
+        List<String> names = roster.searchByName("NIX").stream().map(EmployeeDto::getEmployeeName).toList();
+
+        assertEquals(List.of("Tiger Nixon", "Jill Nixon"), names);
+    }
+
+    @Test
+    void searchByName_shortFragment() {
+        EmployeeRoster roster = EmployeeRoster.of(List.of(employee("Tiger Nixon", 1000), employee("Bill Bob", 2000)));
+
+        List<String> names = roster.searchByName("b").stream().map(EmployeeDto::getEmployeeName).toList();
+
+        assertEquals(List.of("Bill Bob"), names);
+    }
+
+    @Test
+    void searchByName_gramsPresentButNotContiguous() {
+        EmployeeRoster roster = EmployeeRoster.of(List.of(employee("abcd xbcy", 1000)));
+
+        assertEquals(0, roster.searchByName("abcy").size());
+    }
+
+    @Test
+    void searchByName_updatedOnAddAndRemove() {
+        EmployeeRoster roster = EmployeeRoster.of(List.of(employee("Tiger Nixon", 1000)));
+
+        roster.add(employee("Jill Nixon", 2000));
+        roster.removeFirstByName("tiger nixon");
+
+        List<String> names = roster.searchByName("nixon").stream().map(EmployeeDto::getEmployeeName).toList();
+        assertEquals(List.of("Jill Nixon"), names);
+    }
+
+    @Test
+    void employees_everyFieldRoundTrips() {
+        EmployeeDto full = new EmployeeDto(UUID.randomUUID(), ACCENTED_NAME, 1000, 30, "Engineer", "zoe@example.com");
+        EmployeeDto sparse = new EmployeeDto(null, null, null, null, null, null);
+        EmployeeDto sameTitle = new EmployeeDto(UUID.randomUUID(), "", 2000, 40, "Engineer", "");
+
+        EmployeeRoster roster = EmployeeRoster.of(List.of(full, sparse, sameTitle));
+
+        assertEquals(List.of(full, sparse, sameTitle), roster.employees());
+    }
+
+    @Test
+    void employees_viewUnaffectedByLaterChanges() {
+        EmployeeDto first = employee("foo", 1000);
+        EmployeeDto second = employee("bar", 2000);
+        EmployeeRoster roster = EmployeeRoster.of(List.of(first, second));
+        List<EmployeeDto> before = roster.employees();
+
+        roster.removeById(first.getId());
+        for (int i = 0; i < 100; i++) {
+            roster.add(employee("baz" + i, i));
+        }
+
+        assertEquals(List.of(first, second), before);
+        assertEquals(second, roster.employees().get(0));
+        assertEquals(101, roster.employees().size());
+    }
+
+    @Test
+    void topEarnerNames_sameOrderAsTopEarners() {
+        EmployeeRoster roster = EmployeeRoster.of(
+                List.of(employee("foo", 1000), employee("bar", 3000), employee("baz", 3000)));
+
+        assertEquals(List.of("bar", "baz"), roster.topEarnerNames(2));
+    }
+
+    @Test
+    void searchByName_nonAsciiName() {
+        EmployeeRoster roster = EmployeeRoster.of(List.of(employee(ACCENTED_NAME, 1000), employee("Zoe Aero", 2000)));
+
+        List<String> names = roster.searchByName("ZO\u00cb").stream().map(EmployeeDto::getEmployeeName).toList();
+
+        assertEquals(List.of(ACCENTED_NAME), names);
+    }
+}
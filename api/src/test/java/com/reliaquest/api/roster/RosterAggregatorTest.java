@@ -0,0 +1,79 @@
+package com.reliaquest.api.roster;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EnvelopeReader;
+import com.reliaquest.api.model.EmployeeDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterAggregatorTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String ROSTER = """
+            {"data": [
+              {"id": "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507", "employee_name": "Tiger Nixon",
+               "employee_salary": 3000, "employee_age": 61, "employee_title": "Chief", "employee_email": "t@company.com",
+               "employee_extra": {"nested": [1, 2]}},
+              {"id": "5255f1a5-f9f7-4be5-829a-134bde088d17", "employee_name": "Bill Bob", "employee_salary": 1000},
+              {"employee_name": "Jill Nixon", "employee_salary": 3000},
+              {"employee_name": "No Salary", "employee_salary": null},
+              null,
+              {"employee_name": "Jane Doe", "employee_salary": 2000}
+            ], "status": "Successfully processed request."}
+            """;
+
+    private static <R> R aggregate(RosterAggregator<R> aggregator) throws IOException {
+        RosterRow row = new RosterRow();
+        try (JsonParser parser = OBJECT_MAPPER.createParser(ROSTER)) {
+            EnvelopeReader.read(parser, elementParser -> {
+                row.read(elementParser);
+                aggregator.accept(row);
+            });
+        }
+        return aggregator.result();
+    }
+
+    @Test
+    void maxSalary_skipsMissingSalaries() throws IOException {
+        assertEquals(OptionalInt.of(3000), aggregate(new MaxSalaryAggregator()));
+    }
+
+    @Test
+    void maxSalary_emptyRoster() {
+        assertTrue(new MaxSalaryAggregator().result().isEmpty());
+    }
+
+    @Test
+    void topEarners_highestFirstTiesInRosterOrder() throws IOException {
+        assertEquals(List.of("Tiger Nixon", "Jill Nixon", "Jane Doe"), aggregate(new TopEarnersAggregator(3)));
+    }
+
+    @Test
+    void topEarners_limitAboveRosterSize() throws IOException {
+        assertEquals(List.of("Tiger Nixon", "Jill Nixon", "Jane Doe", "Bill Bob"),
+                aggregate(new TopEarnersAggregator(10)));
+        assertEquals(List.of(), aggregate(new TopEarnersAggregator(0)));
+    }
+
+    @Test
+    void nameSearch_caseInsensitiveMatchesMaterialized() throws IOException {
+        List<EmployeeDto> matches = aggregate(new NameSearchAggregator("NIX"));
+
+        assertEquals(List.of("Tiger Nixon", "Jill Nixon"), matches.stream().map(EmployeeDto::getEmployeeName).toList());
+        EmployeeDto tiger = matches.get(0);
+        assertEquals(UUID.fromString("4a3a170b-22cd-4ac2-aad1-9bb5b34a1507"), tiger.getId());
+        assertEquals(3000, tiger.getEmployeeSalary());
+        assertEquals(61, tiger.getEmployeeAge());
+        assertEquals("Chief", tiger.getEmployeeTitle());
+        assertEquals("t@company.com", tiger.getEmployeeEmail());
+        assertNull(matches.get(1).getId());
+    }
+}
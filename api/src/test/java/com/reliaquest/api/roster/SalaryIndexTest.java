@@ -0,0 +1,103 @@
+package com.reliaquest.api.roster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryIndexTest {
+
+    private static List<Integer> highest(SalaryIndex index, int limit) {
+        List<Integer> rows = new ArrayList<>();
+        index.forEachHighest(limit, rows::add);
+        return rows;
+    }
+
+    private static List<Integer> between(SalaryIndex index, int min, int max) {
+        List<Integer> rows = new ArrayList<>();
+        index.forEachBetween(min, max, rows::add);
+        return rows;
+    }
+
+    /**
+     * Ties are visited in roster order from the top, and so in reverse roster order from the bottom.
+     */
+    @Test
+    void rebuild_ordersBySalaryWithTiesInRowOrder() {
+        int[] salaries = {3000, 1000, 3000, 2000, 0, 1000};
+        SalaryIndex index = new SalaryIndex();
+
+        index.rebuild(salaries.length, row -> row != 4, row -> salaries[row]);
+
+        assertEquals(3000, index.highest().getAsInt());
+        assertEquals(List.of(0, 2, 3, 1, 5), highest(index, 10));
+        assertEquals(List.of(0, 2), highest(index, 2));
+        assertEquals(List.of(5, 1, 3), between(index, 1000, 2000));
+        assertEquals(List.of(), between(index, 2001, 2999));
+        assertEquals(List.of(), between(index, 2000, 1000));
+    }
+
+    @Test
+    void addAndRemove_keepTheOrder() {
+        SalaryIndex index = new SalaryIndex();
+        index.rebuild(0, row -> true, row -> 0);
+
+        assertTrue(index.highest().isEmpty());
+
+        index.add(2000, 0);
+        index.add(1000, 1);
+        index.add(2000, 2);
+        index.add(2000, 2);
+        index.remove(2000, 0);
+        index.remove(5000, 3);
+
+        assertEquals(List.of(2, 1), highest(index, 10));
+        assertEquals(List.of(1), between(index, Integer.MIN_VALUE, 1999));
+    }
+
+    /**
+     * Random adds and removes around rebuilds must leave the index agreeing with a plain sort of the live entries.
+     */
+    @Test
+    void randomAddsAndRemoves_matchASortedList() {
+        Random random = new Random(17);
+        SalaryIndex index = new SalaryIndex();
+        int[] salaries = new int[2_000];
+        boolean[] live = new boolean[salaries.length];
+        for (int round = 0; round < 5; round++) {
+            for (int row = 0; row < salaries.length; row++) {
+                salaries[row] = random.nextInt(200) * 100 - 5_000;
+                live[row] = random.nextBoolean();
+            }
+            index.rebuild(salaries.length, row -> live[row], row -> salaries[row]);
+            for (int change = 0; change < 1_000; change++) {
+                int row = random.nextInt(salaries.length);
+                if (live[row]) {
+                    index.remove(salaries[row], row);
+                } else {
+                    index.add(salaries[row], row);
+                }
+                live[row] = !live[row];
+            }
+
+            List<Integer> expected = new ArrayList<>();
+            for (int row = 0; row < salaries.length; row++) {
+                if (live[row]) {
+                    expected.add(row);
+                }
+            }
+            expected.sort(Comparator.<Integer>comparingInt(row -> -salaries[row]).thenComparingInt(row -> row));
+            assertEquals(expected, highest(index, Integer.MAX_VALUE));
+            assertEquals(salaries[expected.get(0)], index.highest().getAsInt());
+            List<Integer> inRange = new ArrayList<>(expected.stream()
+                    .filter(row -> salaries[row] >= -1_000 && salaries[row] <= 3_000)
+                    .toList());
+            inRange.sort(Comparator.<Integer>comparingInt(row -> salaries[row]).thenComparingInt(row -> -row));
+            assertEquals(inRange, between(index, -1_000, 3_000));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.TechnicalException;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.service.AsyncRestService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncEmployeeServiceImplTest {
+
+    @Mock
+    private AsyncRestService restService;
+
+    @InjectMocks
+    private AsyncEmployeeServiceImpl employeeService;
+
+    private List<EmployeeDto> employees() {
+        EmployeeDto employee1 = EmployeeDto.builder()
+                .employeeName("foo")
+                .employeeSalary(1000)
+                .build();
+        EmployeeDto employee2 = EmployeeDto.builder()
+                .employeeName("bar")
+                .employeeSalary(3000)
+                .build();
+        EmployeeDto employee3 = EmployeeDto.builder()
+                .employeeName("foobar")
+                .employeeSalary(2000)
+                .build();
+        return Arrays.asList(employee1, employee2, employee3);
+    }
+
+    @Test
+    void getHighestSalary_completesOnceRosterArrives() {
+        CompletableFuture<List<EmployeeDto>> upstream = new CompletableFuture<>();
+        when(restService.getAllEmployeesAsync()).thenReturn(upstream);
+
+        CompletableFuture<Integer> result = employeeService.getHighestSalary();
+        assertFalse(result.isDone());
+        upstream.complete(employees());
+
+        assertEquals(3000, result.join());
+    }
+
+    @Test
+    void getEmployeesByNameSearch_multipleResult() {
+        when(restService.getAllEmployeesAsync()).thenReturn(CompletableFuture.completedFuture(employees()));
+
+        List<EmployeeDto> result = employeeService.getEmployeesByNameSearch("FOO").join();
+
+        assertEquals(List.of("foo", "foobar"), result.stream().map(EmployeeDto::getEmployeeName).toList());
+    }
+
+    @Test
+    void getNamesOfHighestEarningEmployees_ordered() {
+        when(restService.getAllEmployeesAsync()).thenReturn(CompletableFuture.completedFuture(employees()));
+
+        List<String> result = employeeService.getNamesOfHighestEarningEmployees(2).join();
+
+        assertEquals(List.of("bar", "foobar"), result);
+    }
+
+    @Test
+    void getEmployeesBySalaryRange_invalidRange() {
+        List<EmployeeDto> result = employeeService.getEmployeesBySalaryRange(3000, 1000).join();
+
+        assertEquals(0, result.size());
+        verifyNoInteractions(restService);
+    }
+
+    @Test
+    void deleteEmployee_notFoundEmptyId() {
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> employeeService.deleteEmployee("").join());
+
+        assertInstanceOf(TechnicalException.class, failure.getCause());
+    }
+
+    @Test
+    void deleteEmployee_deleteSuccess() {
+        when(restService.deleteEmployeeByIdAsync("123")).thenReturn(CompletableFuture.completedFuture("foo"));
+
+        String result = employeeService.deleteEmployee("123").join();
+
+        assertEquals("foo", result);
+        verify(restService, times(1)).deleteEmployeeByIdAsync("123");
+    }
+}
@@ -0,0 +1,336 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.model.BatchResultDto;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.EmployeeRequestDto;
+import com.reliaquest.api.model.RosterChangeDto;
+import com.reliaquest.api.model.RosterChangesDto;
+import com.reliaquest.api.roster.AsyncRosterChangeFeed;
+import com.reliaquest.api.roster.RosterChangeFeed;
+import com.reliaquest.api.service.AsyncRestService;
+import com.reliaquest.api.service.RestService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingRestServiceTest {
+
+    @Mock
+    private RestService delegate;
+
+    @Mock
+    private AsyncRestService asyncDelegate;
+
+    private List<EmployeeDto> roster() {
+        EmployeeDto employee1 = EmployeeDto.builder()
+                .id(UUID.randomUUID())
+                .employeeName("foo")
+                .employeeSalary(1000)
+                .build();
+        EmployeeDto employee2 = EmployeeDto.builder()
+                .id(UUID.randomUUID())
+                .employeeName("bar")
+                .employeeSalary(2000)
+                .build();
+        return new ArrayList<>(Arrays.asList(employee1, employee2));
+    }
+
+    @Test
+    void getAllEmployees_freshRosterServedFromCache() {
+        CachingRestService cache = new CachingRestService(delegate, Duration.ofMinutes(1), Duration.ofMinutes(5));
+        when(delegate.getAllEmployees()).thenReturn(roster());
+
+        cache.getAllEmployees();
+        List<EmployeeDto> result = cache.getAllEmployees();
+
+        assertEquals(2, result.size());
+        verify(delegate, times(1)).getAllEmployees();
+        assertEquals(1, cache.getStats().misses());
+        assertEquals(1, cache.getStats().hits());
+    }
+
+    @Test
+    void getAllEmployees_staleRosterServedWhileRefreshing() {
+        CachingRestService cache = new CachingRestService(delegate, Duration.ZERO, Duration.ofMinutes(5));
+        when(delegate.getAllEmployees()).thenReturn(roster());
+
+        cache.getAllEmployees();
+        List<EmployeeDto> result = cache.getAllEmployees();
+
+        assertEquals(2, result.size());
+        verify(delegate, timeout(1000).times(2)).getAllEmployees();
+        assertEquals(1, cache.getStats().staleHits());
+    }
+
+    @Test
+    void getAllEmployees_expiredRosterReloaded() {
+        CachingRestService cache = new CachingRestService(delegate, Duration.ZERO, Duration.ZERO);
+        when(delegate.getAllEmployees()).thenReturn(roster());
+
+        cache.getAllEmployees();
+        cache.getAllEmployees();
+
+        verify(delegate, times(2)).getAllEmployees();
+        assertEquals(2, cache.getStats().misses());
+    }
+
+    @Test
+    void getEmployeeById_servedFromCache() {
+        CachingRestService cache = new CachingRestService(delegate, Duration.ofMinutes(1), Duration.ofMinutes(5));
+        List<EmployeeDto> employees = roster();
+        when(delegate.getAllEmployees()).thenReturn(employees);
+        cache.getAllEmployees();
+
+        EmployeeDto result = cache.getEmployeeById(employees.get(1).getId().toString());
+
+        assertEquals(employees.get(1), result);
+        verify(delegate, times(0)).getEmployeeById(anyString());
+    }
+
+    @Test
+    void getEmployeeById_unknownIdGoesUpstream() {
+        CachingRestService cache = new CachingRestService(delegate, Duration.ofMinutes(1), Duration.ofMinutes(5));
+        when(delegate.getAllEmployees()).thenReturn(roster());
+        cache.getAllEmployees();
+        String id = UUID.randomUUID().toString();
+
+        cache.getEmployeeById(id);
+
+        verify(delegate, times(1)).getEmployeeById(id);
+    }
+
+    @Test
+    void createEmployee_addedToCachedRoster() {
+        CachingRestService cache = new CachingRestService(delegate, Duration.ofMinutes(1), Duration.ofMinutes(5));
+        when(delegate.getAllEmployees()).thenReturn(roster());
+        cache.getAllEmployees();
+        EmployeeRequestDto requestDto = EmployeeRequestDto.builder().name("baz").salary(3000).build();
+        EmployeeDto created = EmployeeDto.builder().id(UUID.randomUUID()).employeeName("baz").build();
+        when(delegate.createEmployee(requestDto)).thenReturn(created);
+
+        cache.createEmployee(requestDto);
+
+        assertTrue(cache.getAllEmployees().contains(created));
+        verify(delegate, times(1)).getAllEmployees();
+    }
+
+    @Test
+    void deleteEmployeeById_removedFromCachedRoster() {
+        CachingRestService cache = new CachingRestService(delegate, Duration.ofMinutes(1), Duration.ofMinutes(5));
+        List<EmployeeDto> employees = roster();
+        when(delegate.getAllEmployees()).thenReturn(employees);
+        cache.getAllEmployees();
+        String id = employees.get(0).getId().toString();
+        when(delegate.deleteEmployeeById(id)).thenReturn("foo");
+
+        cache.deleteEmployeeById(id);
+
+        List<EmployeeDto> result = cache.getAllEmployees();
+        assertEquals(1, result.size());
+        assertEquals("bar", result.get(0).getEmployeeName());
+    }
+
+    @Test
+    void batch_appliedItemsUpdateCachedRoster() {
+        CachingRestService cache = new CachingRestService(delegate, Duration.ofMinutes(1), Duration.ofMinutes(5));
+        List<EmployeeDto> employees = roster();
+        when(delegate.getAllEmployees()).thenReturn(employees);
+        cache.getAllEmployees();
+        EmployeeDto created = EmployeeDto.builder().id(UUID.randomUUID()).employeeName("baz").build();
+        List<EmployeeRequestDto> requests = List.of(EmployeeRequestDto.builder().name("baz").build(),
+                EmployeeRequestDto.builder().build());
+        when(delegate.createEmployees(requests)).thenReturn(List.of(
+                BatchResultDto.<EmployeeDto>builder().index(0).data(created).build(),
+                BatchResultDto.<EmployeeDto>builder().index(1).error("name: must not be blank").build()));
+        List<String> ids = List.of(UUID.randomUUID().toString(), employees.get(0).getId().toString());
+        when(delegate.deleteEmployeesById(ids)).thenReturn(List.of(
+                BatchResultDto.<String>builder().index(0).error("Employee not found").build(),
+                BatchResultDto.<String>builder().index(1).data("foo").build()));
+
+        cache.createEmployees(requests);
+        cache.deleteEmployeesById(ids);
+
+        List<String> names = cache.getAllEmployees().stream().map(EmployeeDto::getEmployeeName).toList();
+        assertEquals(List.of("bar", "baz"), names);
+        verify(delegate, times(1)).getAllEmployees();
+    }
+
+    @Test
+    void getAllEmployeesAsync_missesShareOneNonBlockingLoad() {
+        CachingRestService cache = new CachingRestService(delegate, asyncDelegate, Duration.ofMinutes(1),
+                Duration.ofMinutes(5));
+        CompletableFuture<List<EmployeeDto>> upstream = new CompletableFuture<>();
+        when(asyncDelegate.getAllEmployeesAsync()).thenReturn(upstream);
+
+        CompletableFuture<List<EmployeeDto>> first = cache.getAllEmployeesAsync();
+        CompletableFuture<List<EmployeeDto>> second = cache.getAllEmployeesAsync();
+        assertFalse(first.isDone());
+        upstream.complete(roster());
+
+        assertEquals(2, first.join().size());
+        assertEquals(2, second.join().size());
+        assertEquals(2, cache.getAllEmployeesAsync().join().size());
+        verify(asyncDelegate, times(1)).getAllEmployeesAsync();
+        verifyNoInteractions(delegate);
+        assertEquals(1, cache.getStats().misses());
+    }
+
+    @Test
+    void getAllEmployeesAsync_withoutAsyncDelegateLoadsInBackground() {
+        CachingRestService cache = new CachingRestService(delegate, Duration.ofMinutes(1), Duration.ofMinutes(5));
+        when(delegate.getAllEmployees()).thenReturn(roster());
+
+        List<EmployeeDto> result = cache.getAllEmployeesAsync().join();
+
+        assertEquals(2, result.size());
+        verify(delegate, times(1)).getAllEmployees();
+    }
+
+    @Test
+    void deleteEmployeeByIdAsync_removedFromCachedRoster() {
+        CachingRestService cache = new CachingRestService(delegate, asyncDelegate, Duration.ofMinutes(1),
+                Duration.ofMinutes(5));
+        List<EmployeeDto> employees = roster();
+        when(asyncDelegate.getAllEmployeesAsync()).thenReturn(CompletableFuture.completedFuture(employees));
+        cache.getAllEmployeesAsync().join();
+        String id = employees.get(0).getId().toString();
+        when(asyncDelegate.deleteEmployeeByIdAsync(id)).thenReturn(CompletableFuture.completedFuture("foo"));
+
+        cache.deleteEmployeeByIdAsync(id).join();
+
+        List<EmployeeDto> result = cache.getAllEmployeesAsync().join();
+        assertEquals(1, result.size());
+        assertEquals("bar", result.get(0).getEmployeeName());
+    }
+
+    @Test
+    void getAllEmployees_expiredRosterCaughtUpFromChangeFeed() {
+        RestService feedDelegate = mock(RestService.class, withSettings().extraInterfaces(RosterChangeFeed.class));
+        RosterChangeFeed feed = (RosterChangeFeed) feedDelegate;
+        CachingRestService cache = new CachingRestService(feedDelegate, Duration.ZERO, Duration.ZERO);
+        List<EmployeeDto> employees = roster();
+        EmployeeDto hired = EmployeeDto.builder()
+                .id(UUID.randomUUID())
+                .employeeName("baz")
+                .build();
+        when(feed.getVersionedRoster(null)).thenReturn(new RosterChangeFeed.VersionedRoster("v1", employees));
+        when(feed.getChangesSince("v1")).thenReturn(new RosterChangesDto("v1", "v2", false, List.of(
+                new RosterChangeDto(RosterChangeDto.Type.REMOVED, employees.get(0).getId(), null),
+                new RosterChangeDto(RosterChangeDto.Type.ADDED, hired.getId(), hired),
+                new RosterChangeDto(RosterChangeDto.Type.ADDED, hired.getId(), hired))));
+        when(feed.getChangesSince("v2")).thenReturn(new RosterChangesDto("v2", "v2", false, List.of()));
+
+        cache.getAllEmployees();
+        List<EmployeeDto> result = cache.getAllEmployees();
+        cache.getAllEmployees();
+
+        assertEquals(List.of("bar", "baz"), result.stream().map(EmployeeDto::getEmployeeName).toList());
+        verify(feed, times(1)).getVersionedRoster(null);
+        verify(feed).getChangesSince("v2");
+        verify(feedDelegate, never()).getAllEmployees();
+    }
+
+    @Test
+    void getAllEmployees_changeFeedResyncReloadsRoster() {
+        RestService feedDelegate = mock(RestService.class, withSettings().extraInterfaces(RosterChangeFeed.class));
+        RosterChangeFeed feed = (RosterChangeFeed) feedDelegate;
+        CachingRestService cache = new CachingRestService(feedDelegate, Duration.ZERO, Duration.ZERO);
+        when(feed.getVersionedRoster(null)).thenReturn(new RosterChangeFeed.VersionedRoster("v1", roster()));
+        when(feed.getVersionedRoster("v1"))
+                .thenReturn(new RosterChangeFeed.VersionedRoster("v9", roster().subList(0, 1)));
+        when(feed.getChangesSince("v1")).thenReturn(new RosterChangesDto("v1", "v9", true, null));
+
+        cache.getAllEmployees();
+        List<EmployeeDto> result = cache.getAllEmployees();
+
+        assertEquals(1, result.size());
+        assertEquals("v9", cache.getRosterVersion());
+        verify(feed).getVersionedRoster("v1");
+    }
+
+    @Test
+    void getAllEmployees_resyncKeepsCachedRosterWhenNotModified() {
+        RestService feedDelegate = mock(RestService.class, withSettings().extraInterfaces(RosterChangeFeed.class));
+        RosterChangeFeed feed = (RosterChangeFeed) feedDelegate;
+        CachingRestService cache = new CachingRestService(feedDelegate, Duration.ZERO, Duration.ZERO);
+        when(feed.getVersionedRoster(null)).thenReturn(new RosterChangeFeed.VersionedRoster("v1", roster()));
+        when(feed.getChangesSince("v1")).thenReturn(new RosterChangesDto("v1", "v1", true, null));
+        when(feed.getVersionedRoster("v1")).thenReturn(null);
+
+        List<EmployeeDto> first = cache.getAllEmployees();
+        List<EmployeeDto> second = cache.getAllEmployees();
+
+        assertSame(first, second);
+        assertEquals("v1", cache.getRosterVersion());
+        verify(feed).getVersionedRoster("v1");
+    }
+
+    @Test
+    void getAllEmployeesAsync_caughtUpThroughAsyncChangeFeed() {
+        RestService feedDelegate = mock(RestService.class, withSettings().extraInterfaces(RosterChangeFeed.class));
+        AsyncRestService asyncFeedDelegate =
+                mock(AsyncRestService.class, withSettings().extraInterfaces(AsyncRosterChangeFeed.class));
+        AsyncRosterChangeFeed asyncFeed = (AsyncRosterChangeFeed) asyncFeedDelegate;
+        CachingRestService cache =
+                new CachingRestService(feedDelegate, asyncFeedDelegate, Duration.ZERO, Duration.ZERO);
+        List<EmployeeDto> employees = roster();
+        when(asyncFeed.getVersionedRosterAsync(null))
+                .thenReturn(CompletableFuture.completedFuture(new RosterChangeFeed.VersionedRoster("v1", employees)));
+        when(asyncFeed.getChangesSinceAsync("v1")).thenReturn(CompletableFuture.completedFuture(
+                new RosterChangesDto("v1", "v2", false, List.of(
+                        new RosterChangeDto(RosterChangeDto.Type.REMOVED, employees.get(0).getId(), null)))));
+
+        cache.getAllEmployeesAsync().join();
+        List<EmployeeDto> result = cache.getAllEmployeesAsync().join();
+
+        assertEquals(List.of("bar"), result.stream().map(EmployeeDto::getEmployeeName).toList());
+        assertEquals("v2", cache.getRosterVersion());
+        verifyNoInteractions(feedDelegate);
+    }
+
+    @Test
+    void applyPushed_appliesChangesInStepWithCachedRoster() {
+        RestService feedDelegate = mock(RestService.class, withSettings().extraInterfaces(RosterChangeFeed.class));
+        RosterChangeFeed feed = (RosterChangeFeed) feedDelegate;
+        CachingRestService cache = new CachingRestService(feedDelegate, Duration.ofMinutes(1), Duration.ofMinutes(5));
+        List<EmployeeDto> employees = roster();
+        when(feed.getVersionedRoster(null)).thenReturn(new RosterChangeFeed.VersionedRoster("v1", employees));
+        cache.getAllEmployees();
+        RosterChangeDto removal = new RosterChangeDto(RosterChangeDto.Type.REMOVED, employees.get(0).getId(), null);
+
+        boolean outOfStep = cache.applyPushed(new RosterChangesDto("v0", "v1", false, List.of(removal)));
+        boolean inStep = cache.applyPushed(new RosterChangesDto("v1", "v2", false, List.of(removal)));
+
+        assertFalse(outOfStep);
+        assertTrue(inStep);
+        assertEquals("v2", cache.getRosterVersion());
+        assertEquals(1, cache.getAllEmployees().size());
+    }
+
+    @Test
+    void applyPushed_resyncDropsCachedRoster() {
+        RestService feedDelegate = mock(RestService.class, withSettings().extraInterfaces(RosterChangeFeed.class));
+        RosterChangeFeed feed = (RosterChangeFeed) feedDelegate;
+        CachingRestService cache = new CachingRestService(feedDelegate, Duration.ofMinutes(1), Duration.ofMinutes(5));
+        when(feed.getVersionedRoster(null)).thenReturn(new RosterChangeFeed.VersionedRoster("v1", roster()));
+        cache.getAllEmployees();
+
+        cache.applyPushed(new RosterChangesDto(null, "v7", true, null));
+
+        assertNull(cache.getRosterVersion());
+        cache.getAllEmployees();
+        verify(feed, times(2)).getVersionedRoster(null);
+    }
+}
@@ -1,8 +1,10 @@
 package com.reliaquest.api.service.impl;
 
 import com.reliaquest.api.TechnicalException;
+import com.reliaquest.api.model.BatchResultDto;
 import com.reliaquest.api.model.EmployeeDto;
 import com.reliaquest.api.model.EmployeeRequestDto;
+import com.reliaquest.api.roster.StreamingRosterSource;
 import com.reliaquest.api.service.RestService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +15,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.OptionalInt;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -215,6 +218,18 @@ class EmployeeServiceImplTest {
         assertEquals(1, result);
     }
 
+    @Test
+    void getHighestSalary_streamedWhenSupported() {
+        RestService streamingService = mock(RestService.class,
+                withSettings().extraInterfaces(StreamingRosterSource.class));
+        when(((StreamingRosterSource) streamingService).aggregate(any())).thenReturn(OptionalInt.of(3000));
+
+        int result = new EmployeeServiceImpl(streamingService).getHighestSalary();
+
+        assertEquals(3000, result);
+        verify(streamingService, never()).getAllEmployees();
+    }
+
     @Test
     void getNamesOfHighestEarningEmployees_noResult() {
         List<EmployeeDto> employees = new ArrayList<>();
@@ -262,6 +277,52 @@ class EmployeeServiceImplTest {
         assertEquals("bar", result.get(0));
     }
 
+    @Test
+    void getNamesOfHighestEarningEmployees_extremeSalaries() {
+        EmployeeDto employee1 = EmployeeDto.builder().employeeName("foo").employeeSalary(Integer.MIN_VALUE).build();
+        EmployeeDto employee2 = EmployeeDto.builder().employeeName("bar").employeeSalary(Integer.MAX_VALUE).build();
+        List<EmployeeDto> employees = Arrays.asList(employee1, employee2);
+        when(restService.getAllEmployees()).thenReturn(employees);
+
+        List<String> result = employeeService.getNamesOfHighestEarningEmployees(2);
+
+        assertEquals(Arrays.asList("bar", "foo"), result);
+    }
+
+    @Test
+    void getNamesOfHighestEarningEmployees_tiesInRosterOrder() {
+        EmployeeDto employee1 = EmployeeDto.builder().employeeName("foo").employeeSalary(1000).build();
+        EmployeeDto employee2 = EmployeeDto.builder().employeeName("bar").employeeSalary(2000).build();
+        EmployeeDto employee3 = EmployeeDto.builder().employeeName("baz").employeeSalary(1000).build();
+        List<EmployeeDto> employees = Arrays.asList(employee1, employee2, employee3);
+        when(restService.getAllEmployees()).thenReturn(employees);
+
+        List<String> result = employeeService.getNamesOfHighestEarningEmployees(3);
+
+        assertEquals(Arrays.asList("bar", "foo", "baz"), result);
+    }
+
+    @Test
+    void getEmployeesBySalaryRange_inclusiveBounds() {
+        EmployeeDto employee1 = EmployeeDto.builder().employeeName("foo").employeeSalary(1000).build();
+        EmployeeDto employee2 = EmployeeDto.builder().employeeName("bar").employeeSalary(2000).build();
+        EmployeeDto employee3 = EmployeeDto.builder().employeeName("baz").employeeSalary(3000).build();
+        List<EmployeeDto> employees = Arrays.asList(employee1, employee2, employee3);
+        when(restService.getAllEmployees()).thenReturn(employees);
+
+        List<EmployeeDto> result = employeeService.getEmployeesBySalaryRange(1000, 2000);
+
+        assertEquals(Arrays.asList(employee1, employee2), result);
+    }
+
+    @Test
+    void getEmployeesBySalaryRange_invalidRange() {
+        List<EmployeeDto> result = employeeService.getEmployeesBySalaryRange(2000, 1000);
+
+        assertEquals(0, result.size());
+        verify(restService, times(0)).getAllEmployees();
+    }
+
     @Test
     void createEmployee_create() {
         EmployeeRequestDto requestDto = EmployeeRequestDto.builder()
@@ -292,21 +353,55 @@ class EmployeeServiceImplTest {
         assertThrows(TechnicalException.class, () -> employeeService.deleteEmployee(""));
     }
 
+    @Test
+    void deleteEmployee_notFound() {
+        when(restService.deleteEmployeeById("123")).thenReturn(null);
+
+        assertThrows(TechnicalException.class, () -> employeeService.deleteEmployee("123"));
+    }
+
     @Test
     void deleteEmployee_deleteSuccess() {
-        EmployeeDto employee = EmployeeDto.builder()
-                .employeeName("foo")
-                .employeeAge(11)
-                .employeeSalary(1000)
-                .build();
-        when(restService.getEmployeeById("123")).thenReturn(employee);
-        when(restService.deleteEmployee("foo")).thenReturn(true);
+        when(restService.deleteEmployeeById("123")).thenReturn("foo");
 
         String result = employeeService.deleteEmployee("123");
 
         assertEquals("foo", result);
-        verify(restService, times(1)).getEmployeeById("123");
-        verify(restService, times(1)).deleteEmployee("foo");
+        verify(restService, times(1)).deleteEmployeeById("123");
+        verify(restService, never()).getEmployeeById(any());
+    }
+
+    @Test
+    void createEmployees_empty() {
+        assertEquals(0, employeeService.createEmployees(List.of()).size());
+        verifyNoInteractions(restService);
+    }
+
+    @Test
+    void createEmployees_delegatesWholeBatch() {
+        List<EmployeeRequestDto> employees = List.of(
+                EmployeeRequestDto.builder().name("foo").build(),
+                EmployeeRequestDto.builder().name("bar").build());
+        List<BatchResultDto<EmployeeDto>> results = List.of(
+                BatchResultDto.<EmployeeDto>builder().index(0).data(EmployeeDto.builder().employeeName("foo").build())
+                        .build(),
+                BatchResultDto.<EmployeeDto>builder().index(1).error("salary: must not be null").build());
+        when(restService.createEmployees(employees)).thenReturn(results);
+
+        assertEquals(results, employeeService.createEmployees(employees));
+        verify(restService, times(1)).createEmployees(employees);
+    }
+
+    @Test
+    void deleteEmployees_delegatesWholeBatch() {
+        List<String> ids = List.of("123", "456");
+        List<BatchResultDto<String>> results = List.of(
+                BatchResultDto.<String>builder().index(0).data("foo").build(),
+                BatchResultDto.<String>builder().index(1).error("Employee not found: 456").build());
+        when(restService.deleteEmployeesById(ids)).thenReturn(results);
+
+        assertEquals(results, employeeService.deleteEmployees(ids));
+        verify(restService, never()).deleteEmployeeById(any());
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,187 @@
+package com.reliaquest.api.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.TechnicalException;
+import com.reliaquest.api.client.UpstreamRateGovernor;
+import com.reliaquest.api.model.BatchResultDto;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.EmployeeRequestDto;
+import com.reliaquest.api.roster.RosterChangeFeed.VersionedRoster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.response.DefaultResponseCreator;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class RestServiceImplTest {
+
+    private static final String BASE_PATH = "http://localhost:8112/api/v1";
+    private static final String BATCH_URL = BASE_PATH + "/employee/batch";
+    private static final String PAGE_URL = BASE_PATH + "/employee?limit=2";
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    void verifyRequests() {
+        server.verify();
+    }
+
+    private RestServiceImpl service(int batchSize) {
+        return service(0, batchSize);
+    }
+
+    private RestServiceImpl service(int rosterPageSize, int batchSize) {
+        UpstreamRateGovernor governor = new UpstreamRateGovernor(new UpstreamRateGovernor.Settings(100, 1, 200, 5,
+                1, 0.5, Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofMillis(10), Duration.ofMillis(50)));
+        return new RestServiceImpl(restTemplate, governor, objectMapper, BASE_PATH, rosterPageSize, "json", batchSize);
+    }
+
+    /**
+     * @return a roster page served with {@code etag}, pointing at {@code nextCursor} unless it is the last one
+     */
+    private static DefaultResponseCreator page(String etag, String nextCursor, String... names) {
+        String data = String.join(",", Arrays.stream(names)
+                .map(name -> "{\"employee_name\":\"" + name + "\"}")
+                .toList());
+        String body = "{\"status\":\"Successfully processed request.\",\"data\":[" + data + "]"
+                + (nextCursor == null ? "" : ",\"next_cursor\":\"" + nextCursor + "\"") + "}";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        return withSuccess(body, MediaType.APPLICATION_JSON).headers(headers);
+    }
+
+    private static List<String> names(VersionedRoster roster) {
+        return roster.employees().stream().map(EmployeeDto::getEmployeeName).toList();
+    }
+
+    /**
+     * @return a batch response applying the items with {@code data} and failing the {@code null} ones
+     */
+    private static String batchResponse(String... data) {
+        String results = String.join(",", IntStream.range(0, data.length)
+                .mapToObj(index -> data[index] == null
+                        ? "{\"index\":" + index + ",\"error\":\"Employee not found\"}"
+                        : "{\"index\":" + index + ",\"data\":\"" + data[index] + "\"}")
+                .toList());
+        return "{\"status\":\"Successfully processed request.\",\"data\":[" + results + "]}";
+    }
+
+    @Test
+    void deleteEmployeesById_slicesIdsAndRenumbersResults() {
+        server.expect(requestTo(BATCH_URL)).andExpect(method(HttpMethod.DELETE))
+                .andExpect(content().json("{\"ids\":[\"a\",\"b\"]}", true))
+                .andRespond(withSuccess(batchResponse("A", null), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BATCH_URL)).andExpect(method(HttpMethod.DELETE))
+                .andExpect(content().json("{\"ids\":[\"c\",\"d\"]}", true))
+                .andRespond(withSuccess(batchResponse("C", "D"), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BATCH_URL)).andExpect(method(HttpMethod.DELETE))
+                .andExpect(content().json("{\"ids\":[\"e\"]}", true))
+                .andRespond(withSuccess(batchResponse("E"), MediaType.APPLICATION_JSON));
+
+        List<BatchResultDto<String>> results = service(2).deleteEmployeesById(List.of("a", "b", "c", "d", "e"));
+
+        assertEquals(List.of(0, 1, 2, 3, 4), results.stream().map(BatchResultDto::getIndex).toList());
+        assertEquals(List.of("A", "C", "D", "E"), results.stream()
+                .map(BatchResultDto::getData)
+                .filter(Objects::nonNull)
+                .toList());
+        assertEquals("Employee not found", results.get(1).getError());
+    }
+
+    @Test
+    void createEmployees_sendsEachSliceOnceWhenItFits() {
+        server.expect(requestTo(BATCH_URL)).andExpect(method(HttpMethod.POST))
+                .andExpect(content().json("{\"employees\":[{\"name\":\"a\"},{\"name\":\"b\"}]}"))
+                .andRespond(withSuccess("{\"data\":[{\"index\":0},{\"index\":1}]}", MediaType.APPLICATION_JSON));
+
+        List<BatchResultDto<EmployeeDto>> results = service(2).createEmployees(List.of(
+                EmployeeRequestDto.builder().name("a").build(),
+                EmployeeRequestDto.builder().name("b").build()));
+
+        assertEquals(2, results.size());
+        assertEquals(1, results.get(1).getIndex());
+    }
+
+    @Test
+    void deleteEmployeesById_failingFirstSliceFailsTheCall() {
+        server.expect(requestTo(BATCH_URL)).andRespond(withServerError());
+
+        RestServiceImpl service = service(2);
+
+        assertThrows(TechnicalException.class, () -> service.deleteEmployeesById(List.of("a", "b", "c")));
+    }
+
+    @Test
+    void deleteEmployeesById_failingLaterSliceReportsTheUnsentItems() {
+        server.expect(requestTo(BATCH_URL))
+                .andRespond(withSuccess(batchResponse("A", "B"), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BATCH_URL)).andRespond(withServerError());
+
+        List<BatchResultDto<String>> results = service(2).deleteEmployeesById(List.of("a", "b", "c", "d", "e"));
+
+        assertEquals(List.of(0, 1, 2, 3, 4), results.stream().map(BatchResultDto::getIndex).toList());
+        assertEquals("B", results.get(1).getData());
+        for (BatchResultDto<String> result : results.subList(2, 5)) {
+            assertNull(result.getData());
+            assertEquals("Error while calling the delete employees api", result.getError());
+        }
+    }
+
+    @Test
+    void getVersionedRoster_followsCursorsAndKeepsAnEtagThePagesAgreeOn() {
+        server.expect(requestTo(PAGE_URL)).andRespond(page("\"abc-3\"", "czoy", "foo", "bar"));
+        server.expect(requestTo(PAGE_URL + "&cursor=czoy")).andRespond(page("\"abc-3\"", "czo0", "baz", "qux"));
+        server.expect(requestTo(PAGE_URL + "&cursor=czo0")).andRespond(page("\"abc-3\"", null));
+
+        VersionedRoster roster = service(2, 1000).getVersionedRoster(null);
+
+        assertEquals(List.of("foo", "bar", "baz", "qux"), names(roster));
+        assertEquals("abc-3", roster.version());
+    }
+
+    @Test
+    void getVersionedRoster_dropsTheEtagWhenPagesDisagree() {
+        server.expect(requestTo(PAGE_URL)).andRespond(page("\"abc-3\"", "czoy", "foo", "bar"));
+        server.expect(requestTo(PAGE_URL + "&cursor=czoy")).andRespond(page("\"abc-4\"", null, "baz"));
+
+        VersionedRoster roster = service(2, 1000).getVersionedRoster(null);
+
+        assertEquals(List.of("foo", "bar", "baz"), names(roster));
+        assertNull(roster.version());
+    }
+
+    @Test
+    void getVersionedRoster_revalidatesOnlyTheFirstPage() {
+        RestServiceImpl service = service(2, 1000);
+        server.expect(requestTo(PAGE_URL)).andRespond(page("\"abc-3\"", "czoy", "foo", "bar"));
+        server.expect(requestTo(PAGE_URL + "&cursor=czoy")).andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(page("\"abc-3\"", null, "baz"));
+        service.getVersionedRoster(null);
+        server.expect(requestTo(PAGE_URL)).andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"abc-3\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        assertNull(service.getVersionedRoster("abc-3"));
+    }
+}
@@ -0,0 +1,140 @@
+package com.reliaquest.api.service.impl;
+
+import com.reliaquest.api.model.RosterChangesDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Deque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RosterEventSubscriberTest {
+
+    private static final String BASE_PATH = "http://localhost:8112/api/v1";
+    private static final Duration NO_IDLE_TIMEOUT = Duration.ofMinutes(1);
+
+    @Mock
+    private CachingRestService cache;
+
+    private final BlockingQueue<ClientRequest> requests = new LinkedBlockingQueue<>();
+    private final Deque<ClientResponse> responses = new ConcurrentLinkedDeque<>();
+    private RosterEventSubscriber subscriber;
+
+    @AfterEach
+    void stop() {
+        if (subscriber != null) {
+            subscriber.stop();
+        }
+    }
+
+    /**
+     * Starts a subscriber whose connections are answered from {@link #responses}, and then by a stream that stays
+     * open without events.
+     */
+    private void start(Duration idleTimeout) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requests.add(request);
+            ClientResponse response = responses.pollFirst();
+            return Mono.just(response != null ? response : stream(Flux.never()));
+        });
+        subscriber = new RosterEventSubscriber(cache, builder, BASE_PATH, Duration.ofSeconds(1), idleTimeout,
+                Duration.ofMillis(10), Duration.ofMillis(50));
+        subscriber.start();
+    }
+
+    private static ClientResponse stream(Flux<DataBuffer> body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .body(body)
+                .build();
+    }
+
+    /**
+     * @return a stream that sends one {@code changes} event with {@code data} and then ends
+     */
+    private static ClientResponse changes(String version, String data) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .body("id:" + version + "\nevent:changes\ndata:" + data + "\n\n")
+                .build();
+    }
+
+    private ClientRequest nextRequest() throws InterruptedException {
+        ClientRequest request = requests.poll(5, TimeUnit.SECONDS);
+        assertNotNull(request, "No connection made");
+        return request;
+    }
+
+    @Test
+    void appliesPushedChangesAndReconnectsFromTheCachedVersionWhenTheStreamEnds() throws Exception {
+        when(cache.getRosterVersion()).thenReturn("abc-1", "abc-2");
+        responses.add(changes("abc-2", "{\"since\":\"abc-1\",\"version\":\"abc-2\",\"resync\":false,\"changes\":[]}"));
+
+        start(NO_IDLE_TIMEOUT);
+        ClientRequest first = nextRequest();
+        ClientRequest second = nextRequest();
+
+        assertEquals(BASE_PATH + "/employee/events", first.url().toString());
+        assertEquals("abc-1", first.headers().getFirst("Last-Event-ID"));
+        assertEquals("abc-2", second.headers().getFirst("Last-Event-ID"));
+        verify(cache, timeout(1000)).applyPushed(argThat(changes ->
+                "abc-1".equals(changes.getSince()) && "abc-2".equals(changes.getVersion()) && !changes.isResync()));
+    }
+
+    @Test
+    void passesAResyncOnAndReconnectsWithoutAVersionOnceTheCacheDroppedItsRoster() throws Exception {
+        when(cache.getRosterVersion()).thenReturn("abc-1", (String) null);
+        responses.add(changes("abc-9", "{\"version\":\"abc-9\",\"resync\":true}"));
+
+        start(NO_IDLE_TIMEOUT);
+        nextRequest();
+        ClientRequest second = nextRequest();
+
+        verify(cache, timeout(1000)).applyPushed(argThat(changes ->
+                changes.isResync() && "abc-9".equals(changes.getVersion())));
+        assertNull(second.headers().getFirst("Last-Event-ID"));
+    }
+
+    @Test
+    void reconnectsAfterAFailedConnection() throws Exception {
+        when(cache.getRosterVersion()).thenReturn("abc-1");
+        responses.add(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+
+        start(NO_IDLE_TIMEOUT);
+        nextRequest();
+        ClientRequest retried = nextRequest();
+
+        assertEquals("abc-1", retried.headers().getFirst("Last-Event-ID"));
+        verify(cache, never()).applyPushed(any(RosterChangesDto.class));
+    }
+
+    @Test
+    void reconnectsAStreamThatWentIdle() throws Exception {
+        when(cache.getRosterVersion()).thenReturn("abc-1");
+
+        start(Duration.ofMillis(100));
+        nextRequest();
+        ClientRequest reconnected = nextRequest();
+
+        assertEquals("abc-1", reconnected.headers().getFirst("Last-Event-ID"));
+    }
+}
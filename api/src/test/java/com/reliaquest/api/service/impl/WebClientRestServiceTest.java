@@ -0,0 +1,112 @@
+package com.reliaquest.api.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.UpstreamRateGovernor;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.roster.RosterChangeFeed.VersionedRoster;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebClientRestServiceTest {
+
+    private static final String BASE_PATH = "http://localhost:8112/api/v1";
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private final Deque<ClientResponse> responses = new ConcurrentLinkedDeque<>();
+    private final WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                requests.add(request);
+                return Mono.just(responses.removeFirst());
+            })
+            .build();
+
+    private WebClientRestService service(int rosterPageSize) {
+        UpstreamRateGovernor governor = new UpstreamRateGovernor(new UpstreamRateGovernor.Settings(100, 1, 200, 5,
+                1, 0.5, Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofMillis(10), Duration.ofMillis(50)));
+        return new WebClientRestService(webClient, governor, new ObjectMapper(), BASE_PATH, rosterPageSize, "smile");
+    }
+
+    /**
+     * @return a JSON roster response whose body arrives in chunks of {@code chunkSize} bytes
+     */
+    private static ClientResponse roster(String etag, String nextCursor, int chunkSize, String... names) {
+        StringBuilder body = new StringBuilder("{\"status\":\"Successfully processed request.\",\"data\":[");
+        for (int i = 0; i < names.length; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"employee_name\":\"").append(names[i]).append("\"}");
+        }
+        body.append(']');
+        if (nextCursor != null) {
+            body.append(",\"next_cursor\":\"").append(nextCursor).append('"');
+        }
+        byte[] bytes = body.append('}').toString().getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> chunks = new ArrayList<>();
+        for (int from = 0; from < bytes.length; from += chunkSize) {
+            chunks.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(bytes, from, Math.min(bytes.length, from + chunkSize))));
+        }
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ETAG, etag)
+                .body(Flux.fromIterable(chunks))
+                .build();
+    }
+
+    private static List<String> names(VersionedRoster roster) {
+        return roster.employees().stream().map(EmployeeDto::getEmployeeName).toList();
+    }
+
+    @Test
+    void getVersionedRosterAsync_decodesTheRosterAsItStreamsIn() {
+        responses.add(roster("\"abc-3\"", null, 7, "foo", "bar", "baz"));
+
+        VersionedRoster roster = service(0).getVersionedRosterAsync(null).join();
+
+        assertEquals(List.of("foo", "bar", "baz"), names(roster));
+        assertEquals("abc-3", roster.version());
+        assertEquals(List.of(new MediaType("application", "x-jackson-smile"),
+                        MediaType.parseMediaType("application/json;q=0.9")),
+                requests.get(0).headers().getAccept());
+    }
+
+    @Test
+    void getVersionedRosterAsync_revalidatesWithTheLastEtag() {
+        WebClientRestService service = service(0);
+        responses.add(roster("\"abc-3+smile\"", null, 64, "foo"));
+        service.getVersionedRosterAsync(null).join();
+        responses.add(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+
+        assertNull(service.getVersionedRosterAsync("abc-3").join());
+        assertEquals(List.of("\"abc-3+smile\""), requests.get(1).headers().getIfNoneMatch());
+    }
+
+    @Test
+    void getVersionedRosterAsync_readsPagesAndDropsTheEtagWhenTheyDisagree() {
+        responses.add(roster("\"abc-3\"", "czoy", 5, "foo", "bar"));
+        responses.add(roster("\"abc-4\"", null, 5, "baz"));
+
+        VersionedRoster roster = service(2).getVersionedRosterAsync(null).join();
+
+        assertEquals(List.of("foo", "bar", "baz"), names(roster));
+        assertNull(roster.version());
+        assertEquals("limit=2&cursor=czoy", requests.get(1).url().getQuery());
+    }
+}
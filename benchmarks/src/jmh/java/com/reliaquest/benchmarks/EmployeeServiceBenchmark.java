@@ -0,0 +1,136 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.BatchResultDto;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.EmployeeRequestDto;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.RestService;
+import com.reliaquest.api.service.impl.CachingRestService;
+import com.reliaquest.api.service.impl.EmployeeServiceImpl;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Roster queries of {@link EmployeeServiceImpl} against a stubbed {@link RestService}.
+ * <p>
+ * With {@code source=stub} the service is handed the stub directly and indexes the full roster on every query, as
+ * it does for any {@link RestService} that keeps no roster of its own. With {@code source=cached} the stub sits
+ * behind {@link CachingRestService}, as wired in the application, and queries hit the cached indexes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeServiceBenchmark {
+
+    @Param({"50", "10000", "1000000"})
+    public int rosterSize;
+
+    @Param({"stub", "cached"})
+    public String source;
+
+    @Param({"son"})
+    public String searchString;
+
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final RestService stub = new StubRestService(Rosters.employees(rosterSize));
+        final RestService restService =
+                "cached".equals(source) ? new CachingRestService(stub, Duration.ofDays(1), Duration.ofDays(1)) : stub;
+        employeeService = new EmployeeServiceImpl(restService);
+        employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public List<EmployeeDto> getEmployeesByNameSearch() {
+        return employeeService.getEmployeesByNameSearch(searchString);
+    }
+
+    @Benchmark
+    public Integer getHighestSalary() {
+        return employeeService.getHighestSalary();
+    }
+
+    @Benchmark
+    public List<String> getNamesOfHighestEarningEmployees() {
+        return employeeService.getNamesOfHighestEarningEmployees(10);
+    }
+
+    /**
+     * Serves a fixed roster without any I/O. Writes are answered as the mock server would, but not applied, so that
+     * every iteration queries the same roster.
+     */
+    private static final class StubRestService implements RestService {
+
+        private final List<EmployeeDto> employees;
+        private final Map<String, EmployeeDto> byId;
+
+        private StubRestService(List<EmployeeDto> employees) {
+            this.employees = employees;
+            this.byId = employees.stream()
+                    .collect(Collectors.toMap(employee -> employee.getId().toString(), Function.identity()));
+        }
+
+        @Override
+        public List<EmployeeDto> getAllEmployees() {
+            return employees;
+        }
+
+        @Override
+        public EmployeeDto getEmployeeById(String id) {
+            return byId.get(id);
+        }
+
+        @Override
+        public EmployeeDto createEmployee(EmployeeRequestDto employeeDto) {
+            return EmployeeDto.builder()
+                    .id(UUID.randomUUID())
+                    .employeeName(employeeDto.getName())
+                    .employeeSalary(employeeDto.getSalary())
+                    .employeeAge(employeeDto.getAge())
+                    .employeeTitle(employeeDto.getTitle())
+                    .build();
+        }
+
+        @Override
+        public String deleteEmployeeById(String id) {
+            final var employee = byId.get(id);
+            return employee == null ? null : employee.getEmployeeName();
+        }
+
+        @Override
+        public List<BatchResultDto<EmployeeDto>> createEmployees(List<EmployeeRequestDto> requests) {
+            return IntStream.range(0, requests.size())
+                    .mapToObj(index -> new BatchResultDto<>(index, createEmployee(requests.get(index)), null))
+                    .toList();
+        }
+
+        @Override
+        public List<BatchResultDto<String>> deleteEmployeesById(List<String> ids) {
+            return IntStream.range(0, ids.size())
+                    .mapToObj(index -> {
+                        final var name = deleteEmployeeById(ids.get(index));
+                        return name == null
+                                ? new BatchResultDto<String>(index, null, "Employee not found: " + ids.get(index))
+                                : new BatchResultDto<>(index, name, null);
+                    })
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.MockEmployeeStore;
+import jakarta.validation.Validation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Lookups and mutations of the mock server's {@link MockEmployeeService} on a store holding {@code rosterSize}
+ * employees. Mutations are undone so that the store keeps its size: {@code create} drops what it added at the end of
+ * every iteration, and {@code delete} and {@code deleteById} put the deleted employee straight back into the store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MockEmployeeServiceBenchmark {
+
+    private static final int SAMPLE_SIZE = 1024;
+
+    @Param({"50", "10000", "1000000"})
+    public int rosterSize;
+
+    private MockEmployeeStore store;
+    private MockEmployeeService service;
+
+    private MockEmployee[] sample;
+    private UUID[] sampleIds;
+    private DeleteMockEmployeeInput[] sampleDeletes;
+    private CreateMockEmployeeInput[] creates;
+    private final List<UUID> created = new ArrayList<>();
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = new MockEmployeeStore();
+        final var employees = Rosters.mockEmployees(rosterSize);
+        employees.forEach(store::add);
+        service = new MockEmployeeService(
+                new Faker(Locale.ENGLISH, new Random(7)),
+                store,
+                Validation.buildDefaultValidatorFactory().getValidator());
+
+        final var random = new Random(7);
+        final int sampleSize = Math.min(SAMPLE_SIZE, rosterSize);
+        sample = new MockEmployee[sampleSize];
+        sampleIds = new UUID[sampleSize];
+        sampleDeletes = new DeleteMockEmployeeInput[sampleSize];
+        for (int i = 0; i < sampleSize; i++) {
+            sample[i] = employees.get(random.nextInt(rosterSize));
+            sampleIds[i] = sample[i].getId();
+            sampleDeletes[i] = new DeleteMockEmployeeInput();
+            sampleDeletes[i].setName(sample[i].getName());
+        }
+        creates = new CreateMockEmployeeInput[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            creates[i] = new CreateMockEmployeeInput();
+            creates[i].setName(Rosters.FIRST_NAMES[i % Rosters.FIRST_NAMES.length] + " "
+                    + Rosters.LAST_NAMES[i / Rosters.FIRST_NAMES.length % Rosters.LAST_NAMES.length]);
+            creates[i].setSalary(30_000 + i);
+            creates[i].setAge(16 + i % 55);
+            creates[i].setTitle("Engineer");
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeCreated() {
+        created.forEach(store::removeById);
+        created.clear();
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return service.findById(sampleIds[nextSample()]);
+    }
+
+    @Benchmark
+    public MockEmployee create() {
+        final var employee = service.create(creates[next++ & (SAMPLE_SIZE - 1)]);
+        created.add(employee.getId());
+        return employee;
+    }
+
+    @Benchmark
+    public boolean delete() {
+        final int victim = nextSample();
+        final boolean deleted = service.delete(sampleDeletes[victim]);
+        if (deleted) {
+            store.add(sample[victim]);
+        }
+        return deleted;
+    }
+
+    @Benchmark
+    public boolean deleteById() {
+        final int victim = nextSample();
+        final boolean deleted = service.deleteById(sample[victim].getId()).isPresent();
+        if (deleted) {
+            store.add(sample[victim]);
+        }
+        return deleted;
+    }
+
+    private int nextSample() {
+        next = next + 1 == sample.length ? 0 : next + 1;
+        return next;
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.reliaquest.api.client.EnvelopeReader;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.ResponseDto;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Jackson round trip of the roster envelope exchanged with the mock server. {@code deserializeStreaming} reads it
+ * the way {@code RestServiceImpl} does, element by element through {@link EnvelopeReader}. {@code format} compares
+ * JSON with the Smile encoding {@code RestServiceImpl} asks the mock server for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseDtoSerializationBenchmark {
+
+    private static final TypeReference<ResponseDto<List<EmployeeDto>>> RESPONSE_TYPE =
+            new TypeReference<ResponseDto<List<EmployeeDto>>>() {};
+
+    @Param({"50", "10000", "1000000"})
+    public int rosterSize;
+
+    @Param({"json", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter responseWriter;
+    private ObjectReader responseReader;
+    private ObjectReader employeeReader;
+    private ResponseDto<List<EmployeeDto>> response;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = "smile".equals(format) ? new SmileMapper() : new ObjectMapper();
+        responseWriter = objectMapper.writerFor(RESPONSE_TYPE);
+        responseReader = objectMapper.readerFor(RESPONSE_TYPE);
+        employeeReader = objectMapper.readerFor(EmployeeDto.class);
+        response = ResponseDto.<List<EmployeeDto>>builder()
+                .status("Successfully processed request.")
+                .data(Rosters.employees(rosterSize))
+                .build();
+        body = responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ResponseDto<List<EmployeeDto>> deserialize() throws IOException {
+        return responseReader.readValue(body);
+    }
+
+    @Benchmark
+    public List<EmployeeDto> deserializeStreaming() throws IOException {
+        final List<EmployeeDto> employees = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            EnvelopeReader.read(parser, elementParser -> employees.add(employeeReader.readValue(elementParser)));
+        }
+        return employees;
+    }
+}
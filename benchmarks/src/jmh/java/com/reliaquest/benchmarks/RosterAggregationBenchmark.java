@@ -0,0 +1,96 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.client.EnvelopeReader;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.ResponseDto;
+import com.reliaquest.api.roster.EmployeeRoster;
+import com.reliaquest.api.roster.MaxSalaryAggregator;
+import com.reliaquest.api.roster.RosterAggregator;
+import com.reliaquest.api.roster.RosterRow;
+import com.reliaquest.api.roster.TopEarnersAggregator;
+import java.io.IOException;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Aggregate queries over a serialized upstream roster: {@code *Bound} bind the whole envelope to DTOs and build an
+ * indexed roster, as the api does without a streaming client, while {@code *Streamed} feed the parser through a
+ * {@link RosterAggregator} the way {@code RestServiceImpl} does. Run with the gc profiler to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RosterAggregationBenchmark {
+
+    private static final TypeReference<ResponseDto<List<EmployeeDto>>> RESPONSE_TYPE =
+            new TypeReference<ResponseDto<List<EmployeeDto>>>() {};
+
+    @Param({"50", "10000", "1000000"})
+    public int rosterSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader responseReader;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        responseReader = objectMapper.readerFor(RESPONSE_TYPE);
+        json = objectMapper
+                .writerFor(RESPONSE_TYPE)
+                .writeValueAsBytes(ResponseDto.<List<EmployeeDto>>builder()
+                        .status("Successfully processed request.")
+                        .data(Rosters.employees(rosterSize))
+                        .build());
+    }
+
+    @Benchmark
+    public OptionalInt highestSalaryBound() throws IOException {
+        return bound().highestSalary();
+    }
+
+    @Benchmark
+    public OptionalInt highestSalaryStreamed() throws IOException {
+        return streamed(new MaxSalaryAggregator());
+    }
+
+    @Benchmark
+    public List<EmployeeDto> topEarnersBound() throws IOException {
+        return bound().topEarners(10);
+    }
+
+    @Benchmark
+    public List<String> topEarnersStreamed() throws IOException {
+        return streamed(new TopEarnersAggregator(10));
+    }
+
+    private EmployeeRoster bound() throws IOException {
+        final ResponseDto<List<EmployeeDto>> response = responseReader.readValue(json);
+        return EmployeeRoster.of(response.getData());
+    }
+
+    private <R> R streamed(RosterAggregator<R> aggregator) throws IOException {
+        final var row = new RosterRow();
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            EnvelopeReader.read(parser, elementParser -> {
+                row.read(elementParser);
+                aggregator.accept(row);
+            });
+        }
+        return aggregator.result();
+    }
+}
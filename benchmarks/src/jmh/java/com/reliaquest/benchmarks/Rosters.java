@@ -0,0 +1,84 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Synthetic rosters generated from a fixed seed, so that every run benchmarks the same data.
+ */
+final class Rosters {
+
+    static final String[] FIRST_NAMES = {
+        "Aaliyah", "Alexander", "Amelia", "Benjamin", "Charlotte", "Daniel", "Elijah", "Emma", "Ethan", "Evelyn",
+        "Harper", "Henry", "Isabella", "James", "Liam", "Lucas", "Mia", "Noah", "Olivia", "Sophia"
+    };
+    static final String[] LAST_NAMES = {
+        "Anderson", "Brown", "Davis", "Garcia", "Hernandez", "Jackson", "Johnson", "Jones", "Lee", "Lopez",
+        "Martin", "Martinez", "Miller", "Moore", "Rodriguez", "Smith", "Taylor", "Thomas", "Williams", "Wilson"
+    };
+    private static final String[] TITLES = {
+        "Accountant", "Analyst", "Architect", "Consultant", "Designer", "Developer", "Engineer", "Manager"
+    };
+    private static final long SEED = 42;
+
+    private Rosters() {}
+
+    static List<EmployeeDto> employees(int size) {
+        final var random = new Random(SEED);
+        final List<EmployeeDto> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(EmployeeDto.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .employeeName(name(random))
+                    .employeeSalary(salary(random))
+                    .employeeAge(age(random))
+                    .employeeTitle(title(random))
+                    .employeeEmail(email(i))
+                    .build());
+        }
+        return employees;
+    }
+
+    /**
+     * Names carry a sequence number, so that deleting by name always removes the intended employee.
+     */
+    static List<MockEmployee> mockEmployees(int size) {
+        final var random = new Random(SEED);
+        final List<MockEmployee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .name(name(random) + " " + i)
+                    .salary(salary(random))
+                    .age(age(random))
+                    .title(title(random))
+                    .email(email(i))
+                    .build());
+        }
+        return employees;
+    }
+
+    private static String name(Random random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private static int salary(Random random) {
+        return 30_000 + random.nextInt(470_001);
+    }
+
+    private static int age(Random random) {
+        return 16 + random.nextInt(55);
+    }
+
+    private static String title(Random random) {
+        return TITLES[random.nextInt(TITLES.length)];
+    }
+
+    private static String email(int sequence) {
+        return "employee" + sequence + "@company.com";
+    }
+}
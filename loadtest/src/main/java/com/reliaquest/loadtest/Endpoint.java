@@ -0,0 +1,33 @@
+package com.reliaquest.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The {@code IEmployeeController} endpoints, named after the controller methods in workload mixes and reports.
+ */
+enum Endpoint {
+    GET_ALL("getAllEmployees"),
+    SEARCH("getEmployeesByNameSearch"),
+    GET_BY_ID("getEmployeeById"),
+    HIGHEST_SALARY("getHighestSalaryOfEmployees"),
+    TOP_TEN("getTopTenHighestEarningEmployeeNames"),
+    CREATE("createEmployee"),
+    DELETE("deleteEmployeeById");
+
+    private final String methodName;
+
+    Endpoint(String methodName) {
+        this.methodName = methodName;
+    }
+
+    String methodName() {
+        return methodName;
+    }
+
+    static Endpoint ofMethodName(String methodName) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.methodName.equals(methodName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint: " + methodName));
+    }
+}
@@ -0,0 +1,78 @@
+package com.reliaquest.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and response statuses of one endpoint, recorded by a single worker and merged once the run is over.
+ * Every latency is kept, so percentiles are exact.
+ */
+final class EndpointStats {
+
+    /** Status recorded for requests that failed without a response. */
+    static final int NO_RESPONSE = -1;
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+
+    void record(int status, long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        statuses.merge(status, 1L, Long::sum);
+    }
+
+    void merge(EndpointStats other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        other.statuses.forEach((status, requests) -> statuses.merge(status, requests, Long::sum));
+    }
+
+    int count() {
+        return count;
+    }
+
+    Map<Integer, Long> statuses() {
+        return statuses;
+    }
+
+    long errors() {
+        return statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() < 200 || entry.getKey() >= 300)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    /**
+     * Responses telling the client to back off: 429, or 503 which the api answers when the mock server keeps
+     * throttling it.
+     */
+    long throttled() {
+        return statuses.getOrDefault(429, 0L) + statuses.getOrDefault(503, 0L);
+    }
+
+    /**
+     * @return p50, p95, p99 and max latency in milliseconds
+     */
+    double[] percentilesMillis() {
+        if (count == 0) {
+            return new double[4];
+        }
+        final long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return new double[] {
+            millis(sorted, 0.50), millis(sorted, 0.95), millis(sorted, 0.99), sorted[count - 1] / 1_000_000.0
+        };
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,259 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.model.EmployeeRequestDto;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Closed-loop load generator: {@code concurrency} workers each issue one request at a time against the api, picking
+ * endpoints at random according to the mix.
+ * <p>
+ * Lookups use ids and name fragments of the roster read before the run. Deletes only target employees created
+ * during the run, so the seeded roster keeps its size; a delete drawn before anything was created is sent as a
+ * create instead.
+ */
+@Slf4j
+final class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] TITLES = {"Analyst", "Consultant", "Developer", "Engineer", "Manager"};
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final URI apiBaseUri;
+    private final ObjectMapper objectMapper;
+    private final LoadTestOptions options;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    private final List<String> seedIds = new ArrayList<>();
+    private final List<String> fragments = new ArrayList<>();
+    private final Queue<String> createdIds = new ConcurrentLinkedQueue<>();
+
+    LoadDriver(URI apiBaseUri, ObjectMapper objectMapper, LoadTestOptions options) {
+        this.apiBaseUri = apiBaseUri;
+        this.objectMapper = objectMapper;
+        this.options = options;
+        this.endpoints = options.mix().keySet().toArray(Endpoint[]::new);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += options.mix().get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Reads the roster through the api, retrying while the mock server is still rate limiting it.
+     */
+    void seed() throws InterruptedException {
+        for (int attempt = 1; attempt <= 30; attempt++) {
+            try {
+                final var response = httpClient.send(get(apiBaseUri), HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    seedFrom(objectMapper.readValue(response.body(), new TypeReference<List<EmployeeDto>>() {}));
+                    return;
+                }
+                log.warn("Seeding the workload failed with status {}, retrying", response.statusCode());
+            } catch (IOException e) {
+                log.warn("Seeding the workload failed: {}, retrying", e.getMessage());
+            }
+            Thread.sleep(1000);
+        }
+        log.warn("Could not read the roster, lookups will use unknown ids and fragments");
+        fragments.add("son");
+    }
+
+    /**
+     * Runs the workload; requests started during the warmup are sent but not recorded.
+     *
+     * @param onMeasurementStart called once the warmup is over
+     */
+    Map<Endpoint, EndpointStats> run(Runnable onMeasurementStart) throws InterruptedException {
+        final long measureFrom = System.nanoTime() + options.warmup().toNanos();
+        final long until = measureFrom + options.duration().toNanos();
+        final var executor = Executors.newFixedThreadPool(options.concurrency(), runnable -> {
+            final var thread = new Thread(runnable, "load-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final var seeds = new SplittableRandom(options.seed());
+            final List<Future<Map<Endpoint, EndpointStats>>> workers = new ArrayList<>();
+            for (int i = 0; i < options.concurrency(); i++) {
+                final var random = seeds.split();
+                workers.add(executor.submit(() -> work(random, measureFrom, until)));
+            }
+            Thread.sleep(Math.max(0, (measureFrom - System.nanoTime()) / 1_000_000));
+            onMeasurementStart.run();
+
+            final Map<Endpoint, EndpointStats> merged = new EnumMap<>(Endpoint.class);
+            for (final var worker : workers) {
+                try {
+                    worker.get()
+                            .forEach((endpoint, stats) ->
+                                    merged.computeIfAbsent(endpoint, ignored -> new EndpointStats())
+                                            .merge(stats));
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Load worker failed", e.getCause());
+                }
+            }
+            return merged;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<Endpoint, EndpointStats> work(SplittableRandom random, long measureFrom, long until)
+            throws InterruptedException {
+        final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        while (true) {
+            final long start = System.nanoTime();
+            if (start - until >= 0) {
+                return stats;
+            }
+            var endpoint = pick(random);
+            String deleteId = null;
+            if (endpoint == Endpoint.DELETE) {
+                deleteId = createdIds.poll();
+                if (deleteId == null) {
+                    endpoint = Endpoint.CREATE;
+                }
+            }
+            final var request = request(endpoint, random, deleteId);
+
+            int status;
+            String body = null;
+            try {
+                final var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                status = response.statusCode();
+                body = response.body();
+            } catch (IOException e) {
+                status = EndpointStats.NO_RESPONSE;
+            }
+            final long latency = System.nanoTime() - start;
+
+            if (start - measureFrom >= 0) {
+                stats.computeIfAbsent(endpoint, ignored -> new EndpointStats()).record(status, latency);
+            }
+            if (endpoint == Endpoint.CREATE && status == 200) {
+                rememberCreated(body);
+            }
+        }
+    }
+
+    private Endpoint pick(SplittableRandom random) {
+        final int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("Ticket beyond total weight: " + ticket);
+    }
+
+    private HttpRequest request(Endpoint endpoint, SplittableRandom random, String deleteId) {
+        return switch (endpoint) {
+            case GET_ALL -> get(apiBaseUri);
+            case SEARCH -> get(apiBaseUri.resolve(
+                    "search/" + URLEncoder.encode(pickFrom(fragments, random), StandardCharsets.UTF_8)
+                            .replace("+", "%20")));
+            case GET_BY_ID -> get(apiBaseUri.resolve(seedIds.isEmpty() ? UUID.randomUUID().toString()
+                    : pickFrom(seedIds, random)));
+            case HIGHEST_SALARY -> get(apiBaseUri.resolve("highestSalary"));
+            case TOP_TEN -> get(apiBaseUri.resolve("topTenHighestEarningEmployeeNames"));
+            case CREATE -> HttpRequest.newBuilder(apiBaseUri)
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(createBody(random)))
+                    .build();
+            case DELETE -> HttpRequest.newBuilder(apiBaseUri.resolve(deleteId))
+                    .timeout(REQUEST_TIMEOUT)
+                    .DELETE()
+                    .build();
+        };
+    }
+
+    private static HttpRequest get(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private String createBody(SplittableRandom random) {
+        final var employee = EmployeeRequestDto.builder()
+                .name("Load Test " + Long.toHexString(random.nextLong()))
+                .salary(random.nextInt(30_000, 500_001))
+                .age(random.nextInt(16, 76))
+                .title(TITLES[random.nextInt(TITLES.length)])
+                .build();
+        try {
+            return objectMapper.writeValueAsString(employee);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void rememberCreated(String body) {
+        try {
+            final var employee = objectMapper.readValue(body, EmployeeDto.class);
+            if (employee != null && employee.getId() != null) {
+                createdIds.add(employee.getId().toString());
+            }
+        } catch (JsonProcessingException e) {
+            log.debug("Unreadable create response: {}", e.getMessage());
+        }
+    }
+
+    private void seedFrom(List<EmployeeDto> employees) {
+        final Set<String> distinctFragments = new LinkedHashSet<>();
+        for (final var employee : employees) {
+            if (employee.getId() != null) {
+                seedIds.add(employee.getId().toString());
+            }
+            final var name = employee.getEmployeeName();
+            if (name != null && name.length() >= 3) {
+                final int offset = Math.floorMod(name.hashCode(), name.length() - 2);
+                distinctFragments.add(name.substring(offset, offset + 3).toLowerCase(Locale.ROOT));
+            }
+        }
+        fragments.addAll(distinctFragments);
+        if (fragments.isEmpty()) {
+            fragments.add("son");
+        }
+        log.info("Seeded workload with {} ids and {} name fragments", seedIds.size(), fragments.size());
+    }
+
+    private static String pickFrom(List<String> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,123 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the mock server and the api in this JVM on random ports, wires the api to the server, drives the api with
+ * the configured workload and reports latencies, error and throttling rates and the upstream calls it took.
+ * <p>
+ * Both modules ship an {@code application.yml} at the classpath root and only the first of them would be found by
+ * name here, so each application is pointed at the one next to its own classes, with {@code loadtest-server.yml} or
+ * {@code loadtest-api.yml} layered on top for what the load test changes. See {@link LoadTestOptions} for the
+ * arguments.
+ */
+@Slf4j
+public final class LoadTest {
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        final var options = LoadTestOptions.parse(args);
+        if (Boolean.parseBoolean(options.apiProperties().get(LoadTestOptions.VIRTUAL_THREADS_PROPERTY))
+                && Runtime.version().feature() < 21) {
+            log.warn("Virtual threads need Java 21 but this is {}, run with -PjavaVersion=21", Runtime.version());
+        }
+        try (var server = start(
+                        ServerApplication.class,
+                        new SpringApplicationBuilder(ServerApplication.class, UpstreamRequestCounter.class),
+                        "classpath:/loadtest-server.yml",
+                        options.serverProperties());
+                var api = start(
+                        ApiApplication.class,
+                        new SpringApplicationBuilder(ApiApplication.class),
+                        "classpath:/loadtest-api.yml",
+                        withBasePath(options.apiProperties(), port(server)))) {
+            final var objectMapper = api.getBean(ObjectMapper.class);
+            final var counter = server.getBean(UpstreamRequestCounter.class);
+            final var driver =
+                    new LoadDriver(URI.create("http://localhost:%d/".formatted(port(api))), objectMapper, options);
+            driver.seed();
+
+            log.info(
+                    "Running {} workers for {} after a {} warmup",
+                    options.concurrency(),
+                    options.duration(),
+                    options.warmup());
+            final var upstreamAtStart = new AtomicReference<UpstreamRequestCounter.Snapshot>();
+            final var stats = driver.run(() -> upstreamAtStart.set(counter.snapshot()));
+            final var report = LoadTestReport.of(options, stats, counter.snapshot().since(upstreamAtStart.get()));
+
+            report.print(System.out);
+            final var output = options.output().toAbsolutePath();
+            Files.createDirectories(output.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+            log.info("Results written to {}", output);
+        }
+    }
+
+    /**
+     * @param application class whose module's {@code application.yml} is read
+     * @param overlay location of the properties that override that {@code application.yml}
+     */
+    private static ConfigurableApplicationContext start(
+            Class<?> application, SpringApplicationBuilder builder, String overlay, Map<String, String> properties)
+            throws IOException {
+        return builder.bannerMode(Banner.Mode.OFF)
+                .properties(
+                        "spring.config.location=" + applicationYml(application),
+                        "spring.config.additional-location=" + overlay)
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+    }
+
+    /**
+     * Finds the {@code application.yml} shipped with {@code application}: the one whose location shares the longest
+     * prefix with the location of its classes, be they a jar or a build directory.
+     */
+    private static String applicationYml(Class<?> application) throws IOException {
+        final var classes = application.getProtectionDomain().getCodeSource().getLocation().toString();
+        final var candidates = LoadTest.class.getClassLoader().getResources("application.yml");
+        String best = null;
+        int bestPrefix = -1;
+        while (candidates.hasMoreElements()) {
+            final var candidate = candidates.nextElement().toString();
+            final var path = candidate.startsWith("jar:") ? candidate.substring(4) : candidate;
+            final int length = Math.min(path.length(), classes.length());
+            int prefix = 0;
+            while (prefix < length && path.charAt(prefix) == classes.charAt(prefix)) {
+                prefix++;
+            }
+            if (prefix > bestPrefix) {
+                best = candidate;
+                bestPrefix = prefix;
+            }
+        }
+        if (best == null) {
+            throw new IllegalStateException("No application.yml for " + application.getName());
+        }
+        return best;
+    }
+
+    private static Map<String, String> withBasePath(Map<String, String> apiProperties, int serverPort) {
+        final Map<String, String> properties = new LinkedHashMap<>(apiProperties);
+        properties.putIfAbsent("reliaquest.server.base-path", "http://localhost:%d/api/v1/".formatted(serverPort));
+        return properties;
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+}
@@ -0,0 +1,100 @@
+package com.reliaquest.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Workload and application settings, parsed from {@code --key=value} arguments.
+ * <p>
+ * {@code --mix} weighs endpoints by controller method name, e.g.
+ * {@code --mix=getAllEmployees:1,getEmployeeById:3}. Arguments prefixed with {@code api.} or {@code server.} are
+ * passed on, without the prefix, as properties of the respective application, e.g.
+ * {@code --api.reliaquest.client.mode=reactive}. {@code --threads=virtual} serves both applications on virtual
+ * threads, the same as their {@code virtual} profile.
+ */
+record LoadTestOptions(
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Endpoint, Integer> mix,
+        long seed,
+        Path output,
+        Map<String, String> apiProperties,
+        Map<String, String> serverProperties) {
+
+    static final String DEFAULT_MIX = "getAllEmployees:20,getEmployeesByNameSearch:20,getEmployeeById:25,"
+            + "getHighestSalaryOfEmployees:10,getTopTenHighestEarningEmployeeNames:10,createEmployee:10,"
+            + "deleteEmployeeById:5";
+
+    static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+    static LoadTestOptions parse(String[] args) {
+        int concurrency = 32;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(30);
+        Map<Endpoint, Integer> mix = parseMix(DEFAULT_MIX);
+        long seed = 42;
+        Path output = Path.of("loadtest-results.json");
+        String threads = "platform";
+        final Map<String, String> apiProperties = new LinkedHashMap<>();
+        final Map<String, String> serverProperties = new LinkedHashMap<>();
+
+        for (final var arg : args) {
+            final int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            final var key = arg.substring(2, separator);
+            final var value = arg.substring(separator + 1);
+            if (key.startsWith("api.")) {
+                apiProperties.put(key.substring(4), value);
+                continue;
+            }
+            if (key.startsWith("server.")) {
+                serverProperties.put(key.substring(7), value);
+                continue;
+            }
+            switch (key) {
+                case "concurrency" -> concurrency = Integer.parseInt(value);
+                case "warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "duration" -> duration = DurationStyle.detectAndParse(value);
+                case "mix" -> mix = parseMix(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "output" -> output = Path.of(value);
+                case "threads" -> threads = value;
+                default -> throw new IllegalArgumentException("Unknown option: " + key);
+            }
+        }
+        if (concurrency <= 0 || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Concurrency and duration must be positive");
+        }
+        if (!threads.equals("platform") && !threads.equals("virtual")) {
+            throw new IllegalArgumentException("Threads must be platform or virtual but got: " + threads);
+        }
+        final var virtualThreads = String.valueOf(threads.equals("virtual"));
+        apiProperties.putIfAbsent(VIRTUAL_THREADS_PROPERTY, virtualThreads);
+        serverProperties.putIfAbsent(VIRTUAL_THREADS_PROPERTY, virtualThreads);
+        return new LoadTestOptions(
+                concurrency, warmup, duration, mix, seed, output, Map.copyOf(apiProperties), Map.copyOf(serverProperties));
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        final Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (final var entry : mix.split(",")) {
+            final var parts = entry.trim().split(":");
+            final int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + parts[0]);
+            }
+            weights.merge(Endpoint.ofMethodName(parts[0].trim()), weight, Integer::sum);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix has no weight: " + mix);
+        }
+        return weights;
+    }
+}
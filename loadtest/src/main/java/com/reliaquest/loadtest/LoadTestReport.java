@@ -0,0 +1,121 @@
+package com.reliaquest.loadtest;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Machine-readable outcome of a run, written as JSON. Rates are fractions of the requests they relate to.
+ *
+ * @param endpoints per endpoint, keyed by controller method name
+ */
+record LoadTestReport(Workload workload, Summary summary, Map<String, EndpointReport> endpoints) {
+
+    static LoadTestReport of(
+            LoadTestOptions options, Map<Endpoint, EndpointStats> stats, UpstreamRequestCounter.Snapshot upstream) {
+        final double seconds = options.duration().toNanos() / 1e9;
+        final var total = new EndpointStats();
+        final Map<String, EndpointReport> endpoints = new LinkedHashMap<>();
+        stats.forEach((endpoint, endpointStats) -> {
+            endpoints.put(endpoint.methodName(), EndpointReport.of(endpointStats, seconds));
+            total.merge(endpointStats);
+        });
+        final var overall = EndpointReport.of(total, seconds);
+        final var summary = new Summary(
+                overall.requests(),
+                overall.throughputPerSecond(),
+                overall.errorRate(),
+                overall.throttledRate(),
+                overall.latency(),
+                upstream.requests(),
+                ratio(upstream.throttled(), upstream.requests()),
+                ratio(upstream.requests(), overall.requests()));
+
+        final Map<String, Integer> mix = new LinkedHashMap<>();
+        options.mix().forEach((endpoint, weight) -> mix.put(endpoint.methodName(), weight));
+        final var workload = new Workload(
+                options.concurrency(),
+                options.warmup().toMillis() / 1000.0,
+                seconds,
+                mix,
+                options.seed(),
+                options.apiProperties(),
+                options.serverProperties());
+        return new LoadTestReport(workload, summary, endpoints);
+    }
+
+    void print(PrintStream out) {
+        out.printf(
+                "%-40s %10s %10s %8s %8s %10s %10s %10s%n",
+                "endpoint", "requests", "req/s", "errors", "throttled", "p50 ms", "p95 ms", "p99 ms");
+        endpoints.forEach((name, endpoint) -> printRow(out, name, endpoint.requests(), endpoint.throughputPerSecond(),
+                endpoint.errorRate(), endpoint.throttledRate(), endpoint.latency()));
+        printRow(out, "total", summary.requests(), summary.throughputPerSecond(), summary.errorRate(),
+                summary.throttledRate(), summary.latency());
+        out.printf(
+                "upstream: %d requests, %.1f%% throttled, %.3f upstream calls per api request%n",
+                summary.upstreamRequests(),
+                summary.upstreamThrottledRate() * 100,
+                summary.upstreamCallsPerRequest());
+    }
+
+    private static void printRow(
+            PrintStream out, String name, long requests, double throughput, double errorRate, double throttledRate,
+            Latency latency) {
+        out.printf(
+                "%-40s %10d %10.1f %7.1f%% %7.1f%% %10.2f %10.2f %10.2f%n",
+                name, requests, throughput, errorRate * 100, throttledRate * 100,
+                latency.p50Millis(), latency.p95Millis(), latency.p99Millis());
+    }
+
+    private static double ratio(long numerator, long denominator) {
+        return denominator == 0 ? 0 : (double) numerator / denominator;
+    }
+
+    record Workload(
+            int concurrency,
+            double warmupSeconds,
+            double durationSeconds,
+            Map<String, Integer> mix,
+            long seed,
+            Map<String, String> apiProperties,
+            Map<String, String> serverProperties) {}
+
+    /**
+     * @param errorRate responses outside 2xx, and requests that got no response at all
+     * @param throttledRate 429 and 503 responses, the latter being how the api reports a throttling upstream
+     * @param upstreamThrottledRate mock server responses that were 429
+     * @param upstreamCallsPerRequest mock server requests made per api request
+     */
+    record Summary(
+            long requests,
+            double throughputPerSecond,
+            double errorRate,
+            double throttledRate,
+            Latency latency,
+            long upstreamRequests,
+            double upstreamThrottledRate,
+            double upstreamCallsPerRequest) {}
+
+    record EndpointReport(
+            long requests,
+            double throughputPerSecond,
+            double errorRate,
+            double throttledRate,
+            Latency latency,
+            Map<Integer, Long> statuses) {
+
+        static EndpointReport of(EndpointStats stats, double seconds) {
+            final double[] percentiles = stats.percentilesMillis();
+            return new EndpointReport(
+                    stats.count(),
+                    stats.count() / seconds,
+                    ratio(stats.errors(), stats.count()),
+                    ratio(stats.throttled(), stats.count()),
+                    new Latency(percentiles[0], percentiles[1], percentiles[2], percentiles[3]),
+                    stats.statuses());
+        }
+    }
+
+    record Latency(double p50Millis, double p95Millis, double p99Millis, double maxMillis) {}
+}
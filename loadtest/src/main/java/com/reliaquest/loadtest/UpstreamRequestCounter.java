@@ -0,0 +1,44 @@
+package com.reliaquest.loadtest;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registered with the mock server to count the requests the api sends upstream and how many of them were
+ * rate limited.
+ */
+public class UpstreamRequestCounter implements Filter {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        requests.increment();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (((HttpServletResponse) response).getStatus() == 429) {
+                throttled.increment();
+            }
+        }
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(requests.sum(), throttled.sum());
+    }
+
+    record Snapshot(long requests, long throttled) {
+
+        Snapshot since(Snapshot earlier) {
+            return new Snapshot(requests - earlier.requests, throttled - earlier.throttled);
+        }
+    }
+}
@@ -1,18 +1,29 @@
 package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import com.reliaquest.server.store.MockEmployeeGenerator;
+import com.reliaquest.server.store.MockEmployeeStore;
+import com.reliaquest.server.store.PersistentMockEmployeeStore;
+import com.reliaquest.server.web.ChaosRequestLimiter;
+import com.reliaquest.server.web.KeyedRequestLimiter;
+import com.reliaquest.server.web.RequestLimitInterceptor;
+import com.reliaquest.server.web.RequestLimiter;
+import com.reliaquest.server.web.SlidingWindowRequestLimiter;
+import com.reliaquest.server.web.TokenBucketRequestLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,39 +32,114 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private final MeterRegistry meterRegistry;
+
+    private final ObjectProvider<RequestLimiter> requestLimiter;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
+    @Bean
+    public MockEmployeeGenerator mockEmployeeGenerator(@Value("${mock.employees.seed:#{null}}") Long seed) {
+        return new MockEmployeeGenerator(Locale.getDefault(), seed == null ? new Random().nextLong() : seed);
+    }
+
     /*
-     * This list is modifiable by design for CRUD operations.
+     * This store is modifiable by design for CRUD operations. With persistence enabled it is restored from, and kept
+     * in, mock.persistence.directory; the generator only fills it when the directory holds no snapshot yet.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public MockEmployeeStore mockEmployeeStore(
+            MockEmployeeGenerator generator,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.persistence.enabled:false}") boolean persistent,
+            @Value("${mock.persistence.directory:data}") Path directory,
+            @Value("${mock.persistence.snapshot-interval:PT1M}") Duration snapshotInterval,
+            @Value("${mock.changes.capacity:10000}") int changeLogCapacity)
+            throws IOException {
+        if (persistent) {
+            final long started = System.nanoTime();
+            final var store = PersistentMockEmployeeStore.open(
+                    directory, snapshotInterval, changeLogCapacity, () -> generate(generator, maxEmployees));
+            log.info(
+                    "Opened persistent store of {} employees in {} ms",
+                    store.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return store;
+        }
+        final var store = new MockEmployeeStore(changeLogCapacity);
+        store.addAll(generate(generator, maxEmployees));
+        return store;
+    }
+
+    @Bean
+    public MeterBinder mockEmployeeStoreMetrics(MockEmployeeStore mockEmployeeStore) {
+        return registry -> Gauge.builder("mock.employees", mockEmployeeStore, MockEmployeeStore::size)
+                .description("Employees currently held by the mock server")
+                .register(registry);
+    }
+
+    private static List<MockEmployee> generate(MockEmployeeGenerator generator, int maxEmployees) {
+        final long started = System.nanoTime();
+        final var employees = generator.generate(maxEmployees);
+        final long elapsedNanos = System.nanoTime() - started;
+        log.info(
+                "Generated {} employees from seed {} in {} ms ({} per second)",
+                maxEmployees,
+                generator.seed(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                elapsedNanos == 0 ? maxEmployees : maxEmployees * 1_000_000_000L / elapsedNanos);
+        return employees;
+    }
+
+    /*
+     * Chaos is the mock server's classic random limit; mock.limiter.seed makes it repeatable. The other modes are
+     * deterministic: token-bucket and sliding-window limit all clients together, keyed gives each client its own
+     * token bucket.
+     */
+    @Bean
+    public RequestLimiter requestLimiter(
+            @Value("${mock.limiter.mode:chaos}") String mode,
+            @Value("${mock.limiter.seed:#{null}}") Long seed,
+            @Value("${mock.limiter.rate:50}") double rate,
+            @Value("${mock.limiter.burst:100}") int burst,
+            @Value("${mock.limiter.limit:100}") int limit,
+            @Value("${mock.limiter.window:PT1S}") Duration window,
+            @Value("${mock.limiter.key-header:X-Client-Id}") String keyHeader,
+            @Value("${mock.limiter.max-keys:100000}") int maxKeys) {
+        final long now = System.nanoTime();
+        final RequestLimiter limiter =
+                switch (mode) {
+                    case "none" -> RequestLimiter.unlimited();
+                    case "chaos" -> chaos(seed, now);
+                    case "token-bucket" -> new TokenBucketRequestLimiter(rate, burst, now);
+                    case "sliding-window" -> new SlidingWindowRequestLimiter(limit, window, now);
+                    case "keyed" -> new KeyedRequestLimiter(rate, burst, keyHeader, maxKeys, now);
+                    default -> throw new IllegalArgumentException("Unknown mock.limiter.mode: " + mode);
+                };
+        log.info("Limiting requests with the {} limiter", limiter.name());
+        return limiter;
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        registry.addInterceptor(new RequestLimitInterceptor(requestLimiter.getObject(), meterRegistry));
+    }
+
+    private static ChaosRequestLimiter chaos(Long seed, long now) {
+        final var limiter = new ChaosRequestLimiter(seed == null ? new Random() : new Random(seed), now);
+        log.info(
+                "Chaos limiter turns requests down after {} for {} s, seed {}",
+                limiter.limit(),
+                limiter.backoff().toSeconds(),
+                seed);
+        return limiter;
     }
 }
@@ -1,42 +1,165 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.BatchResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.CreateMockEmployeesInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeesInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeEventService;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
-import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
-@RequiredArgsConstructor
 public class MockEmployeeController {
 
     private final MockEmployeeService mockEmployeeService;
+    private final MockEmployeeEventService mockEmployeeEventService;
+    private final RosterResponseCache rosterResponseCache;
 
+    public MockEmployeeController(
+            MockEmployeeService mockEmployeeService,
+            MockEmployeeEventService mockEmployeeEventService,
+            ObjectMapper objectMapper) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.mockEmployeeEventService = mockEmployeeEventService;
+        this.rosterResponseCache = new RosterResponseCache(mockEmployeeService, objectMapper);
+    }
+
+    /**
+     * Every roster listing carries the roster version in its {@code ETag} and is answered with 304 when the request's
+     * {@code If-None-Match} still matches it, before anything is copied or serialized. The version is read before the
+     * roster, so it is never newer than the body it is sent with. Clients that accept Smile or CBOR get the same
+     * envelope in that encoding, and the {@code ETag} of each representation is its own, as {@link RosterFormat#etag}
+     * builds it, so every listing varies by {@code Accept}.
+     * <p>
+     * The whole roster is served from {@link RosterResponseCache}, so reads between two changes copy bytes encoded
+     * once instead of serializing every employee again. Clients that accept gzip get a body compressed once too, with
+     * the weak {@code ETag} response compression would have given it; the server's own compression leaves responses
+     * that are already encoded alone.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<byte[]> getEmployees(
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        final var format = RosterFormat.negotiate(accept);
+        final var gzip = RosterResponseCache.acceptsGzip(acceptEncoding);
+        final var etag = format.etag(mockEmployeeService.getRosterVersionTag(), gzip);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        final var body = rosterResponseCache.get(format, gzip);
+        final var response = ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .contentLength(body.bytes().length)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body.bytes());
+    }
+
+    /**
+     * Cursor paginated variant: {@code next_cursor} in the response is passed back as {@code cursor} to fetch the
+     * following page and is absent on the last one. Pages are encoded in the {@link RosterFormat} negotiated from
+     * {@code Accept}, and carry the {@code ETag} of the whole roster in that format.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployeesPage(
+            @RequestParam("limit") int limit,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest request) {
+        final var format = RosterFormat.negotiate(accept);
+        final var etag = format.etag(mockEmployeeService.getRosterVersionTag(), false);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        final var page = mockEmployeeService.getMockEmployeesPage(cursor, limit);
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(Response.handledWith(page.employees(), page.nextCursor()));
+    }
+
+    /**
+     * Streaming variant: writes the same envelope as {@link #getEmployees} one employee at a time, without copying the
+     * roster or buffering the serialized body. Its encoding is the {@link RosterFormat} negotiated from {@code Accept}.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamEmployees(
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept, WebRequest request) {
+        final var format = RosterFormat.negotiate(accept);
+        final var etag = format.etag(mockEmployeeService.getRosterVersionTag(), false);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        final StreamingResponseBody body = outputStream -> rosterResponseCache.write(format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
     }
 
+    /**
+     * Employees never change once created, so the id alone makes a strong {@code ETag} for one.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
-        return mockEmployeeService
-                .findById(uuid)
-                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
-                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid, WebRequest request) {
+        final var employee = mockEmployeeService.findById(uuid);
+        if (employee.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled());
+        }
+        final var etag = "\"%s\"".formatted(uuid);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(Response.handledWith(employee.get()));
+    }
+
+    /**
+     * Changes made since the roster version in {@code since}, which is the value of a roster {@code ETag} without
+     * quotes and format suffix, or the {@code version} of earlier changes. When those changes are no longer known,
+     * {@code resync} is set instead and the roster has to be read again.
+     */
+    @GetMapping("/changes")
+    public Response<MockEmployeeChanges> getChanges(@RequestParam("since") String since) {
+        return Response.handledWith(mockEmployeeService.getChangesSince(since));
+    }
+
+    /**
+     * Server-Sent Events stream of the changes, as {@link #getChanges} returns them, pushed as they happen. A client
+     * that reconnects with {@code Last-Event-ID} first receives the changes it missed.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return mockEmployeeEventService.subscribe(lastEventId);
     }
 
     @PostMapping()
@@ -44,6 +167,38 @@ public class MockEmployeeController {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    /**
+     * Creates up to {@value CreateMockEmployeesInput#MAX_BATCH_SIZE} employees in one request. Each employee is
+     * validated on its own, the valid ones are added as one batch, and the response holds one result per employee in
+     * request order.
+     */
+    @PostMapping("/batch")
+    public Response<List<BatchResult<MockEmployee>>> createEmployees(
+            @Valid @RequestBody CreateMockEmployeesInput input) {
+        return Response.handledWith(mockEmployeeService.createAll(input.getEmployees()));
+    }
+
+    /**
+     * Deletes up to {@value CreateMockEmployeesInput#MAX_BATCH_SIZE} employees by id in one request, as one batch, with
+     * one result per id holding the deleted name or why nothing was deleted.
+     */
+    @DeleteMapping("/batch")
+    public Response<List<BatchResult<String>>> deleteEmployeesById(@Valid @RequestBody DeleteMockEmployeesInput input) {
+        return Response.handledWith(mockEmployeeService.deleteAllById(input.getIds()));
+    }
+
+    /**
+     * Deletes exactly the employee with the given id and answers with its name, so callers that know the id need a
+     * single round trip and never hit another employee sharing the name.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<String>> deleteEmployeeById(@PathVariable("id") UUID uuid) {
+        return mockEmployeeService
+                .deleteById(uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee.getName())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
@@ -1,15 +1,49 @@
 package com.reliaquest.server.controller;
 
 import com.reliaquest.server.model.Response;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ResponseStatusException;
 
 @Slf4j
 @ControllerAdvice
 public class MockEmployeeControllerAdvice {
 
+    /**
+     * Requests the service turned down, such as malformed cursors and versions. Any other exception is a bug and
+     * answered with 500.
+     */
+    @ExceptionHandler
+    protected ResponseEntity<?> handleRejected(ResponseStatusException ex) {
+        log.debug("Rejected web request: {}", ex.getReason());
+        return ResponseEntity.status(ex.getStatusCode()).body(Response.error(ex.getReason()));
+    }
+
+    @ExceptionHandler
+    protected ResponseEntity<?> handleInvalidBody(MethodArgumentNotValidException ex) {
+        log.debug("Rejected web request: {}", ex.getMessage());
+        return ResponseEntity.badRequest()
+                .body(Response.error(ex.getBindingResult().getFieldErrors().stream()
+                        .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+    }
+
+    /**
+     * Parameters that do not convert, such as a limit that is not a number or an id that is not a UUID.
+     */
+    @ExceptionHandler
+    protected ResponseEntity<?> handleInvalidParameter(MethodArgumentTypeMismatchException ex) {
+        log.debug("Rejected web request: {}", ex.getMessage());
+        return ResponseEntity.badRequest()
+                .body(Response.error("Invalid %s: %s".formatted(ex.getName(), ex.getValue())));
+    }
+
     @ExceptionHandler
     protected ResponseEntity<?> handleException(Throwable ex) {
         log.error("Error handling web request.", ex);
@@ -0,0 +1,87 @@
+package com.reliaquest.server.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * Encodings the streamed roster is written in. JSON is the default; Smile and CBOR are binary encodings of the same
+ * envelope for service-to-service clients. Both write numbers in binary and Smile also writes each field name once
+ * per response, referring back to it for every following employee.
+ */
+enum RosterFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(new MediaType("application", "x-jackson-smile")),
+    CBOR(MediaType.APPLICATION_CBOR);
+
+    private static final JsonFactory SMILE_FACTORY = new SmileFactory();
+    private static final JsonFactory CBOR_FACTORY = new CBORFactory();
+
+    private final MediaType mediaType;
+
+    RosterFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return entity tag of the roster at {@code versionTag} in this format, which is the bare tag for JSON, as on the
+     *     paginated listing, and names the format otherwise; gzipped bodies get the weak variant
+     */
+    String etag(String versionTag, boolean gzip) {
+        final var value = this == JSON ? versionTag : versionTag + "+" + name().toLowerCase(Locale.ROOT);
+        return (gzip ? "W/\"" : "\"") + value + "\"";
+    }
+
+    /**
+     * @param objectMapper mapper whose factory writes JSON, so that JSON is written as it is everywhere else
+     */
+    JsonFactory factory(ObjectMapper objectMapper) {
+        return switch (this) {
+            case JSON -> objectMapper.getFactory();
+            case SMILE -> SMILE_FACTORY;
+            case CBOR -> CBOR_FACTORY;
+        };
+    }
+
+    /**
+     * Picks a binary format only when {@code accept} names it with a higher quality than it gives JSON, wildcards
+     * included, so clients that do not ask for one keep getting JSON, as they do when {@code accept} accepts nothing
+     * here.
+     */
+    static RosterFormat negotiate(String accept) {
+        if (accept == null) {
+            return JSON;
+        }
+        final List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        var format = JSON;
+        var best = 0.0;
+        for (final var type : accepted) {
+            if (type.includes(JSON.mediaType)) {
+                best = Math.max(best, type.getQualityValue());
+            }
+        }
+        for (final var type : accepted) {
+            for (final var binary : List.of(SMILE, CBOR)) {
+                if (type.equalsTypeAndSubtype(binary.mediaType) && type.getQualityValue() > best) {
+                    format = binary;
+                    best = type.getQualityValue();
+                }
+            }
+        }
+        return format;
+    }
+}
@@ -0,0 +1,147 @@
+package com.reliaquest.server.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the roster envelope, and keeps it encoded for repeated reads of the whole roster.
+ * <p>
+ * Each {@link RosterFormat} has an identity and a gzip body, encoded on the first read that needs it and kept until
+ * the roster version changes. A read takes the version first and is served any body built at that version or later.
+ * Reads that find the body older wait for a single encoding; the reads that were waiting while it ran then take its
+ * result instead of encoding again, so steady writes cost one encoding per body at a time rather than one per read.
+ * Bodies are never modified once built, so they are written to any number of responses at once.
+ */
+class RosterResponseCache {
+
+    private final MockEmployeeService mockEmployeeService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter employeeWriter;
+    private final Slot[] slots = new Slot[RosterFormat.values().length * 2];
+
+    RosterResponseCache(MockEmployeeService mockEmployeeService, ObjectMapper objectMapper) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.objectMapper = objectMapper;
+        this.employeeWriter =
+                objectMapper.writerFor(MockEmployee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        for (int index = 0; index < slots.length; index++) {
+            slots[index] = new Slot();
+        }
+    }
+
+    /**
+     * @return body encoded in {@code format} and gzipped when {@code gzip} is set, of a roster version at least as new
+     *     as the one current on entry
+     */
+    Body get(RosterFormat format, boolean gzip) {
+        final var slot = slots[format.ordinal() * 2 + (gzip ? 1 : 0)];
+        final long version = mockEmployeeService.getRosterVersion();
+        var body = slot.body;
+        if (body != null && body.version() >= version) {
+            return body;
+        }
+        slot.lock.lock();
+        try {
+            body = slot.body;
+            if (body != null && body.version() >= version) {
+                return body;
+            }
+            // Read before the roster, so the body is never older than its version.
+            final long encoded = mockEmployeeService.getRosterVersion();
+            body = new Body(encoded, encode(format, gzip));
+            slot.body = body;
+            return body;
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the current roster to {@code outputStream} one employee at a time, leaving the stream open.
+     */
+    void write(RosterFormat format, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = format.factory(objectMapper)
+                .createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("data");
+            for (final var employee : mockEmployeeService.streamMockEmployees()) {
+                employeeWriter.writeValue(generator, employee);
+            }
+            generator.writeEndArray();
+            generator.writeStringField("status", Response.Status.HANDLED.getValue());
+            generator.writeEndObject();
+        }
+    }
+
+    private byte[] encode(RosterFormat format, boolean gzip) {
+        final var bytes = new ByteArrayOutputStream();
+        try {
+            if (gzip) {
+                try (final var compressed = new GZIPOutputStream(bytes, 64 * 1024)) {
+                    write(format, compressed);
+                }
+            } else {
+                write(format, bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header value accepts gzip, by name or as {@code *}, with a nonzero quality.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (final var coding : acceptEncoding.split(",")) {
+            final var parameters = coding.split(";");
+            final var name = parameters[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            var quality = 1.0;
+            for (int index = 1; index < parameters.length; index++) {
+                final var parameter = parameters[index].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (quality > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param version roster version read before the roster was encoded
+     * @param bytes encoded envelope, never modified
+     */
+    record Body(long version, byte[] bytes) {}
+
+    private static final class Slot {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private volatile Body body;
+    }
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a batch request: {@code data} when it was applied, otherwise the reason in {@code error}.
+ *
+ * @param index position of the item in the request
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchResult<T>(int index, T data, String error) {
+
+    public static <T> BatchResult<T> applied(int index, T data) {
+        return new BatchResult<>(index, data, null);
+    }
+
+    public static <T> BatchResult<T> failed(int index, String error) {
+        return new BatchResult<>(index, null, error);
+    }
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.server.model;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Body of a batch create. Employees are validated one by one when the batch is applied, so an invalid employee fails
+ * its own item instead of the whole request.
+ */
+@Data
+public class CreateMockEmployeesInput {
+
+    public static final int MAX_BATCH_SIZE = 1_000;
+
+    @NotEmpty
+    @Size(max = MAX_BATCH_SIZE)
+    private List<CreateMockEmployeeInput> employees;
+}
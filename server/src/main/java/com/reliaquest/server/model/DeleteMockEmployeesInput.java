@@ -0,0 +1,18 @@
+package com.reliaquest.server.model;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Body of a batch delete. Ids are parsed one by one when the batch is applied, so a malformed id fails its own item
+ * instead of the whole request.
+ */
+@Data
+public class DeleteMockEmployeesInput {
+
+    @NotEmpty
+    @Size(max = CreateMockEmployeesInput.MAX_BATCH_SIZE)
+    private List<String> ids;
+}
@@ -0,0 +1,25 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * One add or remove in the roster's change log. Removes only carry the id of the removed employee.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeeChange(Type type, UUID id, MockEmployee employee) {
+
+    public static MockEmployeeChange added(@NonNull MockEmployee employee) {
+        return new MockEmployeeChange(Type.ADDED, employee.getId(), employee);
+    }
+
+    public static MockEmployeeChange removed(@NonNull UUID id) {
+        return new MockEmployeeChange(Type.REMOVED, id, null);
+    }
+
+    public enum Type {
+        ADDED,
+        REMOVED
+    }
+}
@@ -0,0 +1,24 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * Changes made to the roster after a given version, oldest first.
+ *
+ * @param since version tag the changes start from
+ * @param version version tag the roster is at once the changes are applied, to pass as {@code since} next time
+ * @param resync whether the changes since the requested version are no longer known, in which case there are none
+ *     and the whole roster has to be read again
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeeChanges(String since, String version, boolean resync, List<MockEmployeeChange> changes) {
+
+    public static MockEmployeeChanges of(String since, String version, List<MockEmployeeChange> changes) {
+        return new MockEmployeeChanges(since, version, false, changes);
+    }
+
+    public static MockEmployeeChanges resync(String since, String version) {
+        return new MockEmployeeChanges(since, version, true, null);
+    }
+}
@@ -0,0 +1,200 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.store.MockEmployeeStore;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes the roster's changes to Server-Sent Events subscribers as they happen.
+ * <p>
+ * Every event holds {@link MockEmployeeChanges} and has the version they lead to as its id, so a client that
+ * reconnects with the last id as {@code Last-Event-ID} first gets what it missed, or a resync when the change log no
+ * longer has it. Each subscriber has its own queue, drained on a shared pool, so a slow subscriber never holds up the
+ * store or the others; one that falls more than {@value #MAX_PENDING} events behind gets a resync instead. Every
+ * {@code mock.events.heartbeat} each subscriber is also sent a {@code heartbeat} event without changes at its latest
+ * version, so that clients can tell an idle stream from a dead one.
+ */
+@Slf4j
+@Service
+public class MockEmployeeEventService {
+
+    private static final String CHANGES_EVENT = "changes";
+    private static final String HEARTBEAT_EVENT = "heartbeat";
+
+    private static final int MAX_PENDING = 1_000;
+
+    private final MockEmployeeStore mockEmployeeStore;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newCachedThreadPool(runnable -> {
+        final var thread = new Thread(runnable, "mock-employee-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final var thread = new Thread(runnable, "mock-employee-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MockEmployeeEventService(
+            MockEmployeeStore mockEmployeeStore, @Value("${mock.events.heartbeat:PT2S}") Duration heartbeat) {
+        this.mockEmployeeStore = mockEmployeeStore;
+        final long intervalMillis = heartbeat.toMillis();
+        heartbeats.scheduleAtFixedRate(
+                () -> subscribers.forEach(Subscriber::heartbeat),
+                intervalMillis,
+                intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param lastEventId id of the last event the client received, or {@code null} to start at the current version
+     * @throws ResponseStatusException with 400 when {@code lastEventId} is malformed
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        final var emitter = newEmitter();
+        final var subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        try {
+            mockEmployeeStore.subscribe(lastEventId, subscriber);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        subscribers.add(subscriber);
+        log.debug("Events subscriber joined from {}, {} subscribed", lastEventId, subscribers.size());
+        return emitter;
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    SseEmitter newEmitter() {
+        // Never times out: the stream lasts until either side closes it.
+        return new SseEmitter(0L);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.emitter.complete();
+        });
+        senders.shutdownNow();
+    }
+
+    private final class Subscriber implements MockEmployeeStore.ChangeListener {
+
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+
+        private String version;
+        private boolean draining;
+        private boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void changed(MockEmployeeChanges changes) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                var event = changes;
+                if (pending.size() >= MAX_PENDING) {
+                    pending.clear();
+                    event = MockEmployeeChanges.resync(null, changes.version());
+                }
+                version = event.version();
+                enqueue(SseEmitter.event().id(event.version()).name(CHANGES_EVENT).data(event));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void heartbeat() {
+            lock.lock();
+            try {
+                if (!closed && pending.isEmpty()) {
+                    enqueue(SseEmitter.event()
+                            .name(HEARTBEAT_EVENT)
+                            .data(MockEmployeeChanges.of(version, version, List.of())));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Called with the lock held.
+         */
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            pending.add(event);
+            if (!draining) {
+                draining = true;
+                senders.execute(this::drain);
+            }
+        }
+
+        /**
+         * Sends the queued events in order, without holding the lock while writing to the client.
+         */
+        private void drain() {
+            while (true) {
+                final SseEmitter.SseEventBuilder event;
+                lock.lock();
+                try {
+                    event = pending.poll();
+                    if (event == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping events subscriber: {}", e.getMessage());
+                    close();
+                }
+            }
+        }
+
+        private void close() {
+            mockEmployeeStore.unsubscribe(this);
+            subscribers.remove(this);
+            lock.lock();
+            try {
+                closed = true;
+                pending.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
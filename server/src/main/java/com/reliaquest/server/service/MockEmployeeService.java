@@ -1,19 +1,27 @@
 package com.reliaquest.server.service;
 
 import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.BatchResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.store.MockEmployeeStore;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 @Slf4j
 @Service
@@ -22,37 +30,159 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    private final Validator validator;
+
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.list();
+    }
+
+    /**
+     * @return tag of the current roster contents, for use as its entity tag
+     */
+    public String getRosterVersionTag() {
+        return mockEmployeeStore.versionTag();
+    }
+
+    /**
+     * @return version of the current roster contents, which only ever grows
+     */
+    public long getRosterVersion() {
+        return mockEmployeeStore.version();
+    }
+
+    /**
+     * @param since roster version tag the caller is at
+     * @throws ResponseStatusException with 400 when {@code since} is malformed
+     */
+    public MockEmployeeChanges getChangesSince(@NonNull String since) {
+        try {
+            return mockEmployeeStore.changesSince(since);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    public Collection<MockEmployee> streamMockEmployees() {
+        return mockEmployeeStore.values();
+    }
+
+    /**
+     * @throws ResponseStatusException with 400 when {@code cursor} is malformed or {@code limit} is not positive
+     */
+    public MockEmployeeStore.Page getMockEmployeesPage(String cursor, int limit) {
+        try {
+            return mockEmployeeStore.page(cursor, limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
+        final var mockEmployee = newEmployee(input);
+        mockEmployeeStore.add(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * Validates every employee first, reporting and skipping the invalid ones, then adds the valid ones to the store
+     * as one batch.
+     */
+    public List<BatchResult<MockEmployee>> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final List<BatchResult<MockEmployee>> results = new ArrayList<>(inputs.size());
+        final List<MockEmployee> created = new ArrayList<>(inputs.size());
+        for (int index = 0; index < inputs.size(); index++) {
+            final var input = inputs.get(index);
+            final var violations = input == null ? "Employee is required" : violationsOf(input);
+            if (violations != null) {
+                results.add(BatchResult.failed(index, violations));
+            } else {
+                final var mockEmployee = newEmployee(input);
+                created.add(mockEmployee);
+                results.add(BatchResult.applied(index, mockEmployee));
+            }
+        }
+        mockEmployeeStore.addBatch(created);
+        log.debug("Added {} of {} employees in batch", created.size(), inputs.size());
+        return results;
+    }
+
+    public Optional<MockEmployee> deleteById(@NonNull UUID uuid) {
+        final var mockEmployee = mockEmployeeStore.removeById(uuid);
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee;
+    }
+
+    /**
+     * Parses every id first, reporting and skipping the malformed ones, then removes the rest from the store as one
+     * batch, answering with the deleted names; unknown ids are reported too.
+     */
+    public List<BatchResult<String>> deleteAllById(@NonNull List<String> ids) {
+        final List<UUID> uuids = new ArrayList<>(ids.size());
+        for (final var id : ids) {
+            uuids.add(parseId(id).orElse(null));
+        }
+        final var removed = mockEmployeeStore
+                .removeBatchById(uuids.stream().filter(Objects::nonNull).toList())
+                .iterator();
+        final List<BatchResult<String>> results = new ArrayList<>(ids.size());
+        int deleted = 0;
+        for (int index = 0; index < ids.size(); index++) {
+            final var uuid = uuids.get(index);
+            if (uuid == null) {
+                results.add(BatchResult.failed(index, "Invalid id: " + ids.get(index)));
+                continue;
+            }
+            final var mockEmployee = removed.next();
+            if (mockEmployee.isPresent()) {
+                results.add(BatchResult.applied(index, mockEmployee.get().getName()));
+                deleted++;
+            } else {
+                results.add(BatchResult.failed(index, "Employee not found: " + uuid));
+            }
+        }
+        log.debug("Removed {} of {} employees in batch", deleted, ids.size());
+        return results;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        final var mockEmployee = mockEmployeeStore.removeFirstByName(input.getName());
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee.isPresent();
+    }
+
+    private MockEmployee newEmployee(CreateMockEmployeeInput input) {
+        return MockEmployee.from(
+                ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()),
+                input);
+    }
+
+    private String violationsOf(CreateMockEmployeeInput input) {
+        final var violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return null;
         }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
 
-        return false;
+    private static Optional<UUID> parseId(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(UUID.fromString(id));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 }
@@ -0,0 +1,76 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Compact binary form of a {@link MockEmployee} shared by the journal and the snapshots: the id as two longs, a byte
+ * flagging which numbers are present, salary and age, then name, title and email as length-prefixed UTF-8 with a
+ * length of {@code -1} for {@code null}.
+ */
+final class EmployeeCodec {
+
+    private static final int HAS_SALARY = 1;
+    private static final int HAS_AGE = 1 << 1;
+    private static final int ABSENT = -1;
+
+    private EmployeeCodec() {}
+
+    static void write(DataOutput out, MockEmployee employee) throws IOException {
+        writeId(out, employee.getId());
+        out.writeByte((employee.getSalary() != null ? HAS_SALARY : 0) | (employee.getAge() != null ? HAS_AGE : 0));
+        out.writeInt(employee.getSalary() != null ? employee.getSalary() : 0);
+        out.writeInt(employee.getAge() != null ? employee.getAge() : 0);
+        writeString(out, employee.getName());
+        writeString(out, employee.getTitle());
+        writeString(out, employee.getEmail());
+    }
+
+    static MockEmployee read(ByteBuffer in) {
+        final var id = readId(in);
+        final int present = in.get();
+        final int salary = in.getInt();
+        final int age = in.getInt();
+        return MockEmployee.builder()
+                .id(id)
+                .salary((present & HAS_SALARY) != 0 ? salary : null)
+                .age((present & HAS_AGE) != 0 ? age : null)
+                .name(readString(in))
+                .title(readString(in))
+                .email(readString(in))
+                .build();
+    }
+
+    static void writeId(DataOutput out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    static UUID readId(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(ABSENT);
+            return;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        final int length = in.getInt();
+        if (length == ABSENT) {
+            return null;
+        }
+        final var bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
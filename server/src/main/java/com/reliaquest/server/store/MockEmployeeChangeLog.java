@@ -0,0 +1,70 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded ring of the latest changes, where each change brings the store to the version after the previous one.
+ * Once full, the oldest change is overwritten and the versions before it can no longer be caught up from here.
+ * <p>
+ * Not thread-safe: the store appends to and reads from it under its write lock.
+ */
+class MockEmployeeChangeLog {
+
+    private final MockEmployeeChange[] changes;
+
+    private int head;
+    private int count;
+    private long floor;
+
+    MockEmployeeChangeLog(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Change log capacity must not be negative");
+        }
+        this.changes = new MockEmployeeChange[capacity];
+    }
+
+    /**
+     * Records the change that brought the store to the version after the latest one recorded.
+     */
+    void append(MockEmployeeChange change) {
+        if (changes.length == 0) {
+            floor++;
+        } else if (count == changes.length) {
+            changes[head] = change;
+            head = (head + 1) % changes.length;
+            floor++;
+        } else {
+            changes[(head + count) % changes.length] = change;
+            count++;
+        }
+    }
+
+    /**
+     * Forgets every change, for when the store moves to {@code version} in a way no change describes.
+     */
+    void reset(long version) {
+        Arrays.fill(changes, null);
+        head = 0;
+        count = 0;
+        floor = version;
+    }
+
+    /**
+     * @return the changes made after {@code version}, oldest first, or {@code null} when some of them are no longer
+     *     known or {@code version} was never reached
+     */
+    List<MockEmployeeChange> since(long version) {
+        if (version < floor || version > floor + count) {
+            return null;
+        }
+        final int skip = (int) (version - floor);
+        final List<MockEmployeeChange> since = new ArrayList<>(count - skip);
+        for (int index = skip; index < count; index++) {
+            since.add(changes[(head + index) % changes.length]);
+        }
+        return since;
+    }
+}
@@ -0,0 +1,101 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+
+/**
+ * Generates the mock roster in parallel and reproducibly.
+ * <p>
+ * The roster is cut into fixed-size chunks generated on the common fork-join pool. Each thread taking part in a
+ * {@link #generate} call gets its own {@link Faker} over its own {@link Random}, reseeded at the start of every chunk
+ * from the generator seed and the chunk number, so a given seed yields the same employees in the same order however
+ * many cores do the work. The workers are dropped once the call returns, rather than left on the pool's threads.
+ * Employees are built directly rather than through datafaker's reflective schema transformer.
+ */
+public class MockEmployeeGenerator {
+
+    static final int CHUNK_SIZE = 10_000;
+
+    private final Locale locale;
+    private final long seed;
+
+    public MockEmployeeGenerator(Locale locale, long seed) {
+        this.locale = locale;
+        this.seed = seed;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * @return {@code count} employees, identical for every generator with the same seed and locale
+     */
+    public List<MockEmployee> generate(int count) {
+        final int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        final Map<Thread, Worker> workers = new ConcurrentHashMap<>();
+        final var generated = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> chunk(
+                        workers.computeIfAbsent(Thread.currentThread(), thread -> newWorker()),
+                        chunk,
+                        Math.min(CHUNK_SIZE, count - chunk * CHUNK_SIZE)))
+                .toList();
+        final List<MockEmployee> employees = new ArrayList<>(Math.max(count, 0));
+        generated.forEach(employees::addAll);
+        return employees;
+    }
+
+    private Worker newWorker() {
+        final var random = new Random();
+        return new Worker(random, new Faker(locale, random));
+    }
+
+    private List<MockEmployee> chunk(Worker worker, int chunk, int size) {
+        final var random = worker.random();
+        final var faker = worker.faker();
+        random.setSeed(chunkSeed(chunk));
+        final List<MockEmployee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(uuid(random))
+                    .name(faker.name().fullName())
+                    .salary(30_000 + random.nextInt(470_000))
+                    .age(16 + random.nextInt(54))
+                    .title(faker.job().title())
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(faker.twitter().userName().toLowerCase()))
+                    .build());
+        }
+        return employees;
+    }
+
+    /**
+     * Spreads neighbouring chunk numbers over the whole seed space, so chunks do not start from correlated states.
+     */
+    private long chunkSeed(int chunk) {
+        long mixed = seed + chunk * 0x9E3779B97F4A7C15L;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+    }
+
+    /**
+     * Version 4 UUID drawn from the seeded {@code random} instead of {@link UUID#randomUUID()}'s secure random.
+     */
+    private static UUID uuid(Random random) {
+        final long mostSignificantBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final long leastSignificantBits = (random.nextLong() & ~(0xCL << 60)) | (0x8L << 60);
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private record Worker(Random random, Faker faker) {}
+}
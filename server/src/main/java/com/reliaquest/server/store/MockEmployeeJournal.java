@@ -0,0 +1,309 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of the mutations made to the store since the last snapshot, one file per generation.
+ * <p>
+ * Records are framed by their length and a CRC32, so a record torn by a crash is detected and recovery stops there.
+ * Appending only copies the record into a buffer; {@link #awaitDurable} then commits it. Whoever finds no flush in
+ * progress writes and fsyncs everything buffered so far, while the others wait for it, so concurrent writers share
+ * a single fsync instead of paying for one each.
+ */
+@Slf4j
+class MockEmployeeJournal implements Closeable {
+
+    private static final Pattern FILE_NAME = Pattern.compile("journal-(\\d{20})\\.log");
+    private static final byte ADDED = 1;
+    private static final byte REMOVED = 2;
+    private static final int FRAME_HEADER = Integer.BYTES * 2;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    private final Path directory;
+
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private FileChannel channel;
+    private long generation;
+    private long appended;
+    private long durable;
+    private boolean flushing;
+    private IOException failure;
+
+    MockEmployeeJournal(Path directory, long generation) throws IOException {
+        this.directory = directory;
+        open(generation);
+    }
+
+    /**
+     * @return the position after the last record appended
+     */
+    long position() {
+        lock.lock();
+        try {
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the position to pass to {@link #awaitDurable} to wait for this record to reach the disk
+     */
+    long added(MockEmployee employee) {
+        return append(ADDED, out -> EmployeeCodec.write(out, employee));
+    }
+
+    long removed(UUID id) {
+        return append(REMOVED, out -> EmployeeCodec.writeId(out, id));
+    }
+
+    /**
+     * @throws UncheckedIOException once a write has failed, as no record appended from then on can reach the disk
+     */
+    void ensureWritable() {
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw new UncheckedIOException("Journal write failed", failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until every record up to {@code position} is on disk, flushing the buffered records itself when no
+     * other thread is doing so.
+     */
+    void awaitDurable(long position) {
+        lock.lock();
+        try {
+            while (durable < position) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Journal write failed", failure);
+                }
+                if (flushing) {
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+                flush();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Commits the buffered records and continues in a new file, so that the previous generations can be dropped
+     * once a snapshot covers them.
+     *
+     * @return the new generation
+     */
+    long rotate() throws IOException {
+        lock.lock();
+        try {
+            awaitDurable(appended);
+            channel.close();
+            open(generation + 1);
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the files of the generations before {@code generation}.
+     */
+    static void deleteBefore(Path directory, long generation) throws IOException {
+        for (final var file : files(directory)) {
+            if (generationOf(file) < generation) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            awaitDurable(appended);
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies the records of every journal file from {@code generation} on, in order, stopping at the first torn
+     * or corrupt record.
+     *
+     * @return the last generation found, or {@code generation - 1} when there is none
+     */
+    static long replay(Path directory, long generation, MockEmployeeStore store) throws IOException {
+        long last = generation - 1;
+        for (final var file : files(directory)) {
+            final long fileGeneration = generationOf(file);
+            if (fileGeneration < generation) {
+                continue;
+            }
+            last = fileGeneration;
+            try (final var input = FileChannel.open(file, StandardOpenOption.READ)) {
+                final var buffer = input.map(FileChannel.MapMode.READ_ONLY, 0, input.size());
+                if (!replay(buffer, store)) {
+                    log.warn("Journal {} ends in a torn record at byte {}, ignoring the rest", file, buffer.position());
+                }
+            }
+        }
+        return last;
+    }
+
+    private static boolean replay(ByteBuffer buffer, MockEmployeeStore store) {
+        final var crc = new CRC32();
+        while (buffer.remaining() >= FRAME_HEADER) {
+            final int start = buffer.position();
+            final int length = buffer.getInt();
+            final int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                buffer.position(start);
+                return false;
+            }
+            final var record = buffer.slice(buffer.position(), length);
+            crc.reset();
+            crc.update(record.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                buffer.position(start);
+                return false;
+            }
+            apply(record, store);
+            buffer.position(buffer.position() + length);
+        }
+        return !buffer.hasRemaining();
+    }
+
+    private static void apply(ByteBuffer record, MockEmployeeStore store) {
+        final byte type = record.get();
+        if (type == ADDED) {
+            final var employee = EmployeeCodec.read(record);
+            if (store.findById(employee.getId()).isEmpty()) {
+                store.add(employee);
+            }
+        } else if (type == REMOVED) {
+            store.removeById(EmployeeCodec.readId(record));
+        } else {
+            throw new IllegalStateException("Unknown journal record type " + type);
+        }
+    }
+
+    private long append(byte type, RecordWriter writer) {
+        final var payload = new ByteArrayOutputStream(128);
+        try {
+            final var out = new DataOutputStream(payload);
+            out.writeByte(type);
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final var record = payload.toByteArray();
+        final var crc = new CRC32();
+        crc.update(record);
+        final var frame = ByteBuffer.allocate(FRAME_HEADER + record.length)
+                .putInt(record.length)
+                .putInt((int) crc.getValue())
+                .put(record)
+                .array();
+        lock.lock();
+        try {
+            pending.writeBytes(frame);
+            appended += frame.length;
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes and fsyncs the buffered records without holding the lock, so that more records can be appended
+     * meanwhile. Called with the lock held.
+     */
+    private void flush() {
+        final var batch = ByteBuffer.wrap(pending.toByteArray());
+        final long batchEnd = appended;
+        pending = new ByteArrayOutputStream(Math.max(batch.capacity(), 1024));
+        flushing = true;
+        lock.unlock();
+        try {
+            write(channel, batch);
+        } catch (IOException e) {
+            lock.lock();
+            failure = e;
+            flushing = false;
+            flushed.signalAll();
+            throw new UncheckedIOException("Journal write failed", e);
+        }
+        lock.lock();
+        durable = batchEnd;
+        flushing = false;
+        flushed.signalAll();
+    }
+
+    /**
+     * Writes {@code batch} to the end of the journal file and fsyncs it.
+     */
+    void write(FileChannel channel, ByteBuffer batch) throws IOException {
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        channel.force(false);
+    }
+
+    private void open(long generation) throws IOException {
+        this.generation = generation;
+        this.channel = FileChannel.open(
+                directory.resolve("journal-%020d.log".formatted(generation)),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private static List<Path> files(Path directory) throws IOException {
+        final List<Path> files = new ArrayList<>();
+        try (final var entries = Files.list(directory)) {
+            entries.filter(file -> FILE_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted()
+                    .forEach(files::add);
+        }
+        return files;
+    }
+
+    private static long generationOf(Path file) {
+        final var matcher = FILE_NAME.matcher(file.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a journal file: " + file);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
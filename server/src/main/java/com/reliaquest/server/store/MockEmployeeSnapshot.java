@@ -0,0 +1,121 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Binary image of the whole store, together with the first journal generation that is not already part of it.
+ * <p>
+ * Employees are written in blocks whose offsets are listed in the header, so that loading maps the file into memory
+ * and decodes the blocks in parallel. A snapshot is written to a temporary file, fsynced and then atomically moved
+ * over the previous one, so a crash leaves either the old or the new snapshot in place. The file is mapped in one
+ * piece, which caps a snapshot at 2 GB.
+ *
+ * @param generation journal generation to replay from on top of this snapshot
+ */
+record MockEmployeeSnapshot(long generation, List<MockEmployee> employees) {
+
+    static final String FILE_NAME = "snapshot.bin";
+
+    private static final int MAGIC = 0x4D4F434B;
+    private static final int VERSION = 1;
+    private static final int BLOCK_SIZE = 16_384;
+
+    static boolean exists(Path directory) {
+        return Files.exists(directory.resolve(FILE_NAME));
+    }
+
+    void write(Path directory) throws IOException {
+        final var temporary = directory.resolve(FILE_NAME + ".tmp");
+        final int blocks = (employees.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        final int headerSize = Integer.BYTES * 4 + Long.BYTES + Long.BYTES * blocks;
+        try (final var channel = FileChannel.open(
+                temporary,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            final var header = ByteBuffer.allocate(headerSize)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(generation)
+                    .putInt(employees.size())
+                    .putInt(blocks);
+            long position = headerSize;
+            for (int block = 0; block < blocks; block++) {
+                header.putLong(position);
+                position += write(channel, encode(block), position);
+            }
+            write(channel, header.flip(), 0);
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(FILE_NAME), StandardCopyOption.ATOMIC_MOVE);
+        try (final var directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException ignored) {
+            // Not every platform can fsync a directory; the rename is still atomic.
+        }
+    }
+
+    static MockEmployeeSnapshot read(Path directory) throws IOException {
+        try (final var channel = FileChannel.open(directory.resolve(FILE_NAME), StandardOpenOption.READ)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not a version %d employee snapshot: %s"
+                        .formatted(VERSION, directory.resolve(FILE_NAME)));
+            }
+            final long generation = buffer.getLong();
+            final int size = buffer.getInt();
+            final int blocks = buffer.getInt();
+            final var offsets = new long[blocks];
+            for (int block = 0; block < blocks; block++) {
+                offsets[block] = buffer.getLong();
+            }
+            final var decoded = IntStream.range(0, blocks)
+                    .parallel()
+                    .mapToObj(block -> decode(
+                            buffer.duplicate().position((int) offsets[block]),
+                            Math.min(BLOCK_SIZE, size - block * BLOCK_SIZE)))
+                    .toList();
+            final List<MockEmployee> employees = new ArrayList<>(size);
+            decoded.forEach(employees::addAll);
+            return new MockEmployeeSnapshot(generation, employees);
+        }
+    }
+
+    private ByteBuffer encode(int block) throws IOException {
+        final var bytes = new ByteArrayOutputStream(BLOCK_SIZE * 96);
+        final var out = new DataOutputStream(bytes);
+        final int end = Math.min(employees.size(), (block + 1) * BLOCK_SIZE);
+        for (int index = block * BLOCK_SIZE; index < end; index++) {
+            EmployeeCodec.write(out, employees.get(index));
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static List<MockEmployee> decode(ByteBuffer buffer, int count) {
+        final List<MockEmployee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(EmployeeCodec.read(buffer));
+        }
+        return employees;
+    }
+
+    private static int write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        final int length = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,429 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+
+/**
+ * Thread-safe, indexed home of the mock employees.
+ * <p>
+ * Every employee gets an increasing sequence number on insertion. Lookups go through a concurrent id map and a
+ * case-folded name multimap, both constant time. A sequence-ordered skip list keeps listings in insertion order at
+ * a logarithmic cost per insert and delete, and lets deleting by name remove the earliest inserted match. A removal
+ * is claimed by whoever takes the employee out of the sequence map, so concurrent deletes of the same employee cannot
+ * both succeed.
+ * <p>
+ * A version counter is bumped after every add and remove has been applied, so a listing taken after reading the
+ * version is never older than that version. Adds and removes are applied one at a time under a write lock and
+ * recorded in a bounded {@link MockEmployeeChangeLog} along with the version they produced, so that a client holding
+ * an older version can catch up on the changes alone; reads never take the lock. {@link ChangeListener}s are told
+ * about every change under the same lock, so they see them in version order, and about the changes of a batch as
+ * one set.
+ */
+public class MockEmployeeStore {
+
+    public static final int MAX_PAGE_SIZE = 10_000;
+    public static final int DEFAULT_CHANGE_LOG_CAPACITY = 10_000;
+
+    private final String instance = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    private final ConcurrentHashMap<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, MockEmployee> bySequence = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<Long>> sequencesByName = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final MockEmployeeChangeLog changes;
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public MockEmployeeStore() {
+        this(DEFAULT_CHANGE_LOG_CAPACITY);
+    }
+
+    /**
+     * @param changeLogCapacity number of latest changes kept for {@link #changesSince}
+     */
+    public MockEmployeeStore(int changeLogCapacity) {
+        this.changes = new MockEmployeeChangeLog(changeLogCapacity);
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        return Optional.ofNullable(byId.get(id)).map(Entry::employee);
+    }
+
+    public MockEmployee add(@NonNull MockEmployee employee) {
+        writeLock.lock();
+        try {
+            insert(sequence.incrementAndGet(), employee);
+            changed(MockEmployeeChange.added(employee));
+        } finally {
+            writeLock.unlock();
+        }
+        return employee;
+    }
+
+    /**
+     * Adds the employees in list order, as calling {@link #add} for each one would, but indexes them in parallel.
+     * This is a bulk load rather than a change: it empties the change log, so clients have to read the whole roster.
+     */
+    public void addAll(@NonNull List<MockEmployee> employees) {
+        writeLock.lock();
+        try {
+            final long first = sequence.getAndAdd(employees.size()) + 1;
+            IntStream.range(0, employees.size())
+                    .parallel()
+                    .forEach(index -> insert(first + index, employees.get(index)));
+            final long loaded = version.incrementAndGet();
+            changes.reset(loaded);
+            publish(MockEmployeeChanges.resync(tag(loaded - 1), tag(loaded)));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds the employees in list order, as calling {@link #add} for each one would, but under a single take of the
+     * write lock, and tells listeners about all of them as one set of changes.
+     *
+     * @throws IllegalArgumentException when an id is taken or repeats in the batch, in which case none is added
+     */
+    public void addBatch(@NonNull List<MockEmployee> employees) {
+        writeLock.lock();
+        try {
+            final Set<UUID> ids = new HashSet<>();
+            for (final var employee : employees) {
+                final var id = Objects.requireNonNull(employee.getId(), "Employee id is required");
+                if (!ids.add(id) || byId.containsKey(id)) {
+                    throw new IllegalArgumentException("Duplicate employee id: " + id);
+                }
+            }
+            final long before = version.get();
+            final List<MockEmployeeChange> batch = new ArrayList<>(employees.size());
+            for (final var employee : employees) {
+                insert(sequence.incrementAndGet(), employee);
+                batch.add(recorded(MockEmployeeChange.added(employee)));
+            }
+            published(before, batch);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * @return opaque tag of the current contents, which changes with every add and remove and also differs between
+     *     store instances, so a tag handed out before a restart never matches afterwards
+     */
+    public String versionTag() {
+        return tag(version.get());
+    }
+
+    /**
+     * @param since tag from {@link #versionTag()} or from earlier changes
+     * @return the changes made after {@code since}, or a request to resync when they are no longer all in the change
+     *     log or {@code since} is from another store instance
+     */
+    public MockEmployeeChanges changesSince(@NonNull String since) {
+        final var separator = since.lastIndexOf('-');
+        final long sinceVersion;
+        try {
+            sinceVersion = Long.parseLong(since.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid version: " + since, e);
+        }
+        writeLock.lock();
+        try {
+            final var current = versionTag();
+            if (separator < 0 || !instance.equals(since.substring(0, separator))) {
+                return MockEmployeeChanges.resync(since, current);
+            }
+            final var changed = changes.since(sinceVersion);
+            return changed == null
+                    ? MockEmployeeChanges.resync(since, current)
+                    : MockEmployeeChanges.of(since, current, changed);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Tells {@code listener} about every later change. It is first handed the changes since {@code since}, as
+     * {@link #changesSince} returns them, so that nothing between those and the first later change is missed.
+     *
+     * @param since tag to catch up from, or {@code null} to start with no changes at the current version
+     */
+    public void subscribe(String since, @NonNull ChangeListener listener) {
+        writeLock.lock();
+        try {
+            final var current = versionTag();
+            listener.changed(
+                    since == null ? MockEmployeeChanges.of(current, current, List.of()) : changesSince(since));
+            listeners.add(listener);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void unsubscribe(@NonNull ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        writeLock.lock();
+        try {
+            final var removed = unindex(id);
+            removed.ifPresent(employee -> removed(id));
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the employees by id in list order, as calling {@link #removeById} for each one would, but under a
+     * single take of the write lock, and tells listeners about all of them as one set of changes.
+     *
+     * @return the removed employee for each id, or empty where there was none
+     */
+    public List<Optional<MockEmployee>> removeBatchById(@NonNull List<UUID> ids) {
+        writeLock.lock();
+        try {
+            final long before = version.get();
+            final List<Optional<MockEmployee>> removed = new ArrayList<>(ids.size());
+            final List<MockEmployeeChange> batch = new ArrayList<>();
+            for (final var id : ids) {
+                final var employee = unindex(Objects.requireNonNull(id, "Employee id is required"));
+                if (employee.isPresent()) {
+                    batch.add(recorded(MockEmployeeChange.removed(id)));
+                }
+                removed.add(employee);
+            }
+            published(before, batch);
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return the employees whose name matches ignoring case, earliest inserted first
+     */
+    public List<MockEmployee> findAllByName(@NonNull String name) {
+        final var sequences = sequencesByName.get(fold(name));
+        if (sequences == null) {
+            return List.of();
+        }
+        final List<MockEmployee> employees = new ArrayList<>();
+        for (final var entrySequence : sequences) {
+            final var employee = bySequence.get(entrySequence);
+            if (employee != null) {
+                employees.add(employee);
+            }
+        }
+        return employees;
+    }
+
+    /**
+     * Removes the earliest inserted employee whose name matches ignoring case.
+     */
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        final var key = fold(name);
+        writeLock.lock();
+        try {
+            final var sequences = sequencesByName.get(key);
+            if (sequences == null) {
+                return Optional.empty();
+            }
+            Long first;
+            while ((first = sequences.pollFirst()) != null) {
+                final var employee = bySequence.remove(first);
+                if (employee != null) {
+                    byId.remove(employee.getId());
+                    sequencesByName.computeIfPresent(
+                            key, (ignored, remaining) -> remaining.isEmpty() ? null : remaining);
+                    removed(employee.getId());
+                    return Optional.of(employee);
+                }
+            }
+            return Optional.empty();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return snapshot of all employees in insertion order
+     */
+    public List<MockEmployee> list() {
+        return new ArrayList<>(bySequence.values());
+    }
+
+    /**
+     * @return live, weakly consistent view of all employees in insertion order, for iterating without copying
+     */
+    public Collection<MockEmployee> values() {
+        return Collections.unmodifiableCollection(bySequence.values());
+    }
+
+    /**
+     * Returns up to {@code limit} employees inserted after the position encoded in {@code cursor}. Cursors are
+     * opaque to clients and stay valid across concurrent inserts and deletes.
+     *
+     * @param cursor cursor returned with a previous page, or {@code null} to start from the beginning
+     */
+    public Page page(String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        final int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        final long after = cursor == null ? 0 : decodeCursor(cursor);
+        final List<MockEmployee> employees = new ArrayList<>(Math.min(pageSize, 1024));
+        long last = after;
+        for (final var entry : bySequence.tailMap(after, false).entrySet()) {
+            if (employees.size() == pageSize) {
+                return new Page(employees, encodeCursor(last));
+            }
+            employees.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new Page(employees, null);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private void insert(long entrySequence, MockEmployee employee) {
+        Objects.requireNonNull(employee.getId(), "Employee id is required");
+        final var entry = new Entry(entrySequence, employee);
+        // Claim the id first, so a rejected duplicate never shows up in pages or streams.
+        if (byId.putIfAbsent(employee.getId(), entry) != null) {
+            throw new IllegalArgumentException("Duplicate employee id: " + employee.getId());
+        }
+        bySequence.put(entry.sequence(), employee);
+        if (employee.getName() != null) {
+            sequencesByName.compute(fold(employee.getName()), (name, sequences) -> {
+                final var updated = sequences == null ? new ConcurrentSkipListSet<Long>() : sequences;
+                updated.add(entry.sequence());
+                return updated;
+            });
+        }
+    }
+
+    private Optional<MockEmployee> unindex(UUID id) {
+        final var entry = byId.get(id);
+        if (entry == null || bySequence.remove(entry.sequence()) == null) {
+            return Optional.empty();
+        }
+        byId.remove(id, entry);
+        unindexName(entry.employee().getName(), entry.sequence());
+        return Optional.of(entry.employee());
+    }
+
+    private void removed(UUID id) {
+        changed(MockEmployeeChange.removed(id));
+    }
+
+    private void changed(MockEmployeeChange change) {
+        final long before = version.get();
+        published(before, List.of(recorded(change)));
+    }
+
+    /**
+     * Records {@code change} in the change log as the next version.
+     */
+    private MockEmployeeChange recorded(MockEmployeeChange change) {
+        version.incrementAndGet();
+        changes.append(change);
+        return change;
+    }
+
+    /**
+     * Tells listeners about the changes recorded since version {@code before}, if there are any.
+     */
+    private void published(long before, List<MockEmployeeChange> recorded) {
+        if (!recorded.isEmpty() && !listeners.isEmpty()) {
+            publish(MockEmployeeChanges.of(tag(before), tag(version.get()), recorded));
+        }
+    }
+
+    private void publish(MockEmployeeChanges published) {
+        for (final var listener : listeners) {
+            listener.changed(published);
+        }
+    }
+
+    private String tag(long tagVersion) {
+        return instance + "-" + tagVersion;
+    }
+
+    private void unindexName(String name, long entrySequence) {
+        if (name == null) {
+            return;
+        }
+        sequencesByName.computeIfPresent(fold(name), (ignored, sequences) -> {
+            sequences.remove(entrySequence);
+            return sequences.isEmpty() ? null : sequences;
+        });
+    }
+
+    private static String encodeCursor(long entrySequence) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(("s:" + entrySequence).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static long decodeCursor(String cursor) {
+        try {
+            final var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!decoded.startsWith("s:")) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return Long.parseLong(decoded.substring(2));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Told about each change to the store while its write lock is held, so it must not block.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+        void changed(MockEmployeeChanges changes);
+    }
+
+    /**
+     * @param nextCursor cursor of the following page, or {@code null} when this is the last one
+     */
+    public record Page(List<MockEmployee> employees, String nextCursor) {}
+
+    private record Entry(long sequence, MockEmployee employee) {}
+}
@@ -0,0 +1,422 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link MockEmployeeStore} that survives restarts, backed by a directory holding a {@link MockEmployeeSnapshot} and
+ * the {@link MockEmployeeJournal} of the mutations made since.
+ * <p>
+ * Every add and remove is journaled first and only applied once its record is fsynced, so the store never shows a
+ * change that a restart would lose. Mutations are checked against the store as it will be once everything journaled
+ * so far is applied, and applied in journal order, so the journal replays to exactly what the store saw. The fsync
+ * happens outside the lock and is shared by every writer waiting at the time; a batch waits for a single one. Once
+ * a journal write fails, every later mutation is rejected up front. A background task periodically rotates the
+ * journal, writes a snapshot of the store as of the rotation and drops the journal files the snapshot covers.
+ */
+@Slf4j
+public class PersistentMockEmployeeStore extends MockEmployeeStore implements Closeable {
+
+    private final ReentrantLock mutationLock = new ReentrantLock();
+    private final ScheduledExecutorService snapshotExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final var thread = new Thread(runnable, "mock-employee-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Path directory;
+
+    private final Deque<Mutation> mutations = new ArrayDeque<>();
+    private final Map<UUID, Unapplied> unapplied = new LinkedHashMap<>();
+
+    private MockEmployeeJournal journal;
+    private long snapshotPosition;
+
+    private PersistentMockEmployeeStore(Path directory, int changeLogCapacity) {
+        super(changeLogCapacity);
+        this.directory = directory;
+    }
+
+    /**
+     * Restores the store from {@code directory}, or fills it from {@code initialEmployees} and writes a first
+     * snapshot when the directory holds none.
+     */
+    public static PersistentMockEmployeeStore open(
+            @NonNull Path directory,
+            @NonNull Duration snapshotInterval,
+            int changeLogCapacity,
+            @NonNull Supplier<List<MockEmployee>> initialEmployees)
+            throws IOException {
+        return open(directory, snapshotInterval, changeLogCapacity, initialEmployees, MockEmployeeJournal::new);
+    }
+
+    static PersistentMockEmployeeStore open(
+            Path directory,
+            Duration snapshotInterval,
+            int changeLogCapacity,
+            Supplier<List<MockEmployee>> initialEmployees,
+            JournalOpener journalOpener)
+            throws IOException {
+        Files.createDirectories(directory);
+        final var store = new PersistentMockEmployeeStore(directory, changeLogCapacity);
+        final long generation;
+        if (MockEmployeeSnapshot.exists(directory)) {
+            final var snapshot = MockEmployeeSnapshot.read(directory);
+            store.addAll(snapshot.employees());
+            generation = MockEmployeeJournal.replay(directory, snapshot.generation(), store) + 1;
+            log.info("Restored {} employees from {}", store.size(), directory);
+        } else {
+            store.addAll(initialEmployees.get());
+            generation = 1;
+            MockEmployeeJournal.deleteBefore(directory, Long.MAX_VALUE);
+            new MockEmployeeSnapshot(generation, store.list()).write(directory);
+            log.info("Wrote initial snapshot of {} employees to {}", store.size(), directory);
+        }
+        store.journal = journalOpener.open(directory, generation);
+        final long intervalMillis = snapshotInterval.toMillis();
+        store.snapshotExecutor.scheduleWithFixedDelay(
+                store::snapshotIfChanged, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        return store;
+    }
+
+    @Override
+    public MockEmployee add(@NonNull MockEmployee employee) {
+        if (journal == null) {
+            return super.add(employee);
+        }
+        final var id = Objects.requireNonNull(employee.getId(), "Employee id is required");
+        final long position;
+        mutationLock.lock();
+        try {
+            journal.ensureWritable();
+            if (find(id).isPresent()) {
+                throw new IllegalArgumentException("Duplicate employee id: " + id);
+            }
+            position = journaled(journal.added(employee), id, employee);
+            mutations.add(new Mutation(position, () -> {
+                super.add(employee);
+                settled(id, position);
+            }));
+        } finally {
+            mutationLock.unlock();
+        }
+        commit(position);
+        return employee;
+    }
+
+    @Override
+    public void addAll(@NonNull List<MockEmployee> employees) {
+        if (journal == null) {
+            super.addAll(employees);
+            return;
+        }
+        if (employees.isEmpty()) {
+            return;
+        }
+        final var positions = new long[employees.size()];
+        final long position;
+        mutationLock.lock();
+        try {
+            journal.ensureWritable();
+            journalAdds(employees, positions);
+            position = positions[positions.length - 1];
+            mutations.add(new Mutation(position, () -> {
+                super.addAll(employees);
+                settled(employees, positions);
+            }));
+        } finally {
+            mutationLock.unlock();
+        }
+        commit(position);
+    }
+
+    @Override
+    public void addBatch(@NonNull List<MockEmployee> employees) {
+        if (journal == null) {
+            super.addBatch(employees);
+            return;
+        }
+        if (employees.isEmpty()) {
+            return;
+        }
+        final var positions = new long[employees.size()];
+        final long position;
+        mutationLock.lock();
+        try {
+            journal.ensureWritable();
+            journalAdds(employees, positions);
+            position = positions[positions.length - 1];
+            mutations.add(new Mutation(position, () -> {
+                super.addBatch(employees);
+                settled(employees, positions);
+            }));
+        } finally {
+            mutationLock.unlock();
+        }
+        commit(position);
+    }
+
+    @Override
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        if (journal == null) {
+            return super.removeById(id);
+        }
+        final Optional<MockEmployee> removed;
+        final long position;
+        mutationLock.lock();
+        try {
+            journal.ensureWritable();
+            removed = find(id);
+            if (removed.isEmpty()) {
+                return removed;
+            }
+            position = journalRemoval(id);
+        } finally {
+            mutationLock.unlock();
+        }
+        commit(position);
+        return removed;
+    }
+
+    @Override
+    public List<Optional<MockEmployee>> removeBatchById(@NonNull List<UUID> ids) {
+        if (journal == null) {
+            return super.removeBatchById(ids);
+        }
+        final List<Optional<MockEmployee>> removed = new ArrayList<>(ids.size());
+        final List<UUID> removedIds = new ArrayList<>();
+        final List<Long> positions = new ArrayList<>();
+        mutationLock.lock();
+        try {
+            journal.ensureWritable();
+            for (final var id : ids) {
+                final var employee = find(Objects.requireNonNull(id, "Employee id is required"));
+                if (employee.isPresent()) {
+                    removedIds.add(id);
+                    positions.add(journaled(journal.removed(id), id, null));
+                }
+                removed.add(employee);
+            }
+            if (positions.isEmpty()) {
+                return removed;
+            }
+            mutations.add(new Mutation(positions.get(positions.size() - 1), () -> {
+                super.removeBatchById(removedIds);
+                for (int i = 0; i < removedIds.size(); i++) {
+                    settled(removedIds.get(i), positions.get(i));
+                }
+            }));
+        } finally {
+            mutationLock.unlock();
+        }
+        commit(positions.get(positions.size() - 1));
+        return removed;
+    }
+
+    @Override
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        if (journal == null) {
+            return super.removeFirstByName(name);
+        }
+        final Optional<MockEmployee> removed;
+        final long position;
+        mutationLock.lock();
+        try {
+            journal.ensureWritable();
+            removed = findFirstByName(name);
+            if (removed.isEmpty()) {
+                return removed;
+            }
+            position = journalRemoval(removed.get().getId());
+        } finally {
+            mutationLock.unlock();
+        }
+        commit(position);
+        return removed;
+    }
+
+    /**
+     * Rotates the journal and writes a snapshot of the store as of the rotation, then deletes the journal files it
+     * makes redundant.
+     */
+    public void snapshot() throws IOException {
+        final List<MockEmployee> employees;
+        final long generation;
+        mutationLock.lock();
+        try {
+            generation = journal.rotate();
+            // Every record is durable now, and the snapshot has to hold all of them before their journal goes.
+            apply(Long.MAX_VALUE);
+            employees = list();
+        } finally {
+            mutationLock.unlock();
+        }
+        final long started = System.nanoTime();
+        new MockEmployeeSnapshot(generation, employees).write(directory);
+        MockEmployeeJournal.deleteBefore(directory, generation);
+        log.info(
+                "Wrote snapshot of {} employees to {} in {} ms",
+                employees.size(),
+                directory,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @Override
+    public void close() throws IOException {
+        snapshotExecutor.shutdownNow();
+        mutationLock.lock();
+        try {
+            journal.close();
+            apply(Long.MAX_VALUE);
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the records up to {@code position} to reach the disk, then applies the mutations they journaled.
+     * Nothing is applied when the journal fails, so the store never holds a change that a restart would lose.
+     */
+    private void commit(long position) {
+        journal.awaitDurable(position);
+        mutationLock.lock();
+        try {
+            apply(position);
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the journaled mutations up to {@code position} in journal order, whichever writer they belong to.
+     */
+    private void apply(long position) {
+        while (!mutations.isEmpty() && mutations.peekFirst().position() <= position) {
+            mutations.pollFirst().apply().run();
+        }
+    }
+
+    private long journalRemoval(UUID id) {
+        final long position = journaled(journal.removed(id), id, null);
+        mutations.add(new Mutation(position, () -> {
+            super.removeById(id);
+            settled(id, position);
+        }));
+        return position;
+    }
+
+    /**
+     * Records that {@code id} is journaled to hold {@code employee}, or to be gone when it is {@code null}.
+     */
+    private long journaled(long position, UUID id, MockEmployee employee) {
+        // Re-inserted so that pending adds stay in journal order for removeFirstByName.
+        unapplied.remove(id);
+        unapplied.put(id, new Unapplied(position, employee));
+        return position;
+    }
+
+    /**
+     * Journals an add of each employee, checking first that every id is new, and stores the record positions in
+     * {@code positions}.
+     */
+    private void journalAdds(List<MockEmployee> employees, long[] positions) {
+        final Set<UUID> ids = new HashSet<>();
+        for (final var employee : employees) {
+            final var id = Objects.requireNonNull(employee.getId(), "Employee id is required");
+            if (!ids.add(id) || find(id).isPresent()) {
+                throw new IllegalArgumentException("Duplicate employee id: " + id);
+            }
+        }
+        for (int i = 0; i < positions.length; i++) {
+            final var employee = employees.get(i);
+            positions[i] = journaled(journal.added(employee), employee.getId(), employee);
+        }
+    }
+
+    private void settled(List<MockEmployee> employees, long[] positions) {
+        for (int i = 0; i < positions.length; i++) {
+            settled(employees.get(i).getId(), positions[i]);
+        }
+    }
+
+    private void settled(UUID id, long position) {
+        final var pending = unapplied.get(id);
+        if (pending != null && pending.position() == position) {
+            unapplied.remove(id);
+        }
+    }
+
+    /**
+     * @return the employee with {@code id} once every journaled mutation is applied
+     */
+    private Optional<MockEmployee> find(UUID id) {
+        final var pending = unapplied.get(id);
+        return pending != null ? Optional.ofNullable(pending.employee()) : findById(id);
+    }
+
+    /**
+     * @return the earliest inserted employee named {@code name} once every journaled mutation is applied
+     */
+    private Optional<MockEmployee> findFirstByName(String name) {
+        for (final var employee : findAllByName(name)) {
+            if (!unapplied.containsKey(employee.getId())) {
+                return Optional.of(employee);
+            }
+        }
+        final var key = fold(name);
+        return unapplied.values().stream()
+                .map(Unapplied::employee)
+                .filter(employee -> employee != null && employee.getName() != null)
+                .filter(employee -> fold(employee.getName()).equals(key))
+                .findFirst();
+    }
+
+    private void snapshotIfChanged() {
+        try {
+            final long position = journal.position();
+            if (position != snapshotPosition) {
+                snapshot();
+                snapshotPosition = position;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to write snapshot to {}", directory, e);
+        }
+    }
+
+    @FunctionalInterface
+    interface JournalOpener {
+        MockEmployeeJournal open(Path directory, long generation) throws IOException;
+    }
+
+    /**
+     * Mutation journaled up to {@code position}, to apply once that is durable.
+     */
+    private record Mutation(long position, Runnable apply) {}
+
+    /**
+     * Latest journaled state of an id whose mutation is not applied yet; {@code employee} is {@code null} when it
+     * was removed.
+     */
+    private record Unapplied(long position, MockEmployee employee) {}
+}
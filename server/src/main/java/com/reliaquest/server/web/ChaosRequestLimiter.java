@@ -0,0 +1,68 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * The mock server's original, unpredictable limit: after a random 5 to 9 requests it turns everything down until a
+ * random 30 to 89 seconds have passed since the last request it let through, then starts counting again. Both are
+ * drawn once from the given generator, so a seeded one makes runs repeatable.
+ * <p>
+ * As in {@link SlidingWindowRequestLimiter}, the count is packed together with the time of the last request let
+ * through into one long, so both move in the same compare-and-set and a reset can never lose a concurrent request's
+ * time.
+ */
+public class ChaosRequestLimiter implements RequestLimiter {
+
+    private static final int COUNT_BITS = 4;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final long limit;
+    private final long backoffNanos;
+    private final long originNanos;
+    // Nanos from originNanos to the last request let through, above the count of requests let through since.
+    private final AtomicLong state = new AtomicLong();
+
+    public ChaosRequestLimiter(RandomGenerator random, long nowNanos) {
+        this.limit = random.nextInt(5, 10);
+        this.backoffNanos = Duration.ofSeconds(random.nextInt(30, 90)).toNanos();
+        this.originNanos = nowNanos;
+    }
+
+    @Override
+    public long acquire(HttpServletRequest request, long nowNanos) {
+        final long elapsed = Math.max(0, nowNanos - originNanos);
+        while (true) {
+            final long current = state.get();
+            final long served = current & COUNT_MASK;
+            final long lastServed = current >>> COUNT_BITS;
+            if (served < limit) {
+                // Requests racing in may carry slightly older times; the last one served never goes back.
+                if (state.compareAndSet(current, Math.max(lastServed, elapsed) << COUNT_BITS | (served + 1))) {
+                    return 0;
+                }
+                continue;
+            }
+            final long wait = lastServed + backoffNanos - elapsed;
+            if (wait > 0) {
+                return wait;
+            }
+            state.compareAndSet(current, lastServed << COUNT_BITS);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "chaos";
+    }
+
+    public long limit() {
+        return limit;
+    }
+
+    public Duration backoff() {
+        return Duration.ofNanos(backoffNanos);
+    }
+}
@@ -0,0 +1,68 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link TokenBucket} per client, identified by the {@code keyHeader} request header or else by its address.
+ * <p>
+ * The buckets live in a {@link ConcurrentHashMap}, so clients only ever contend on their own bucket. Once
+ * {@code maxKeys} clients are known, buckets that have filled up again are swept out, at most once per second, and
+ * requests of new clients are turned down while the sweep leaves no room. Requests of new clients arriving at the same
+ * time may each take the last free place, so the map can exceed {@code maxKeys} by as many.
+ */
+public class KeyedRequestLimiter implements RequestLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final TokenBucket bucket;
+    private final String keyHeader;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepNanos;
+
+    public KeyedRequestLimiter(double rate, int burst, String keyHeader, int maxKeys, long nowNanos) {
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("Keyed limiter needs at least 1 key");
+        }
+        this.bucket = new TokenBucket(rate, burst);
+        this.keyHeader = keyHeader;
+        this.maxKeys = maxKeys;
+        this.nextSweepNanos = new AtomicLong(nowNanos);
+    }
+
+    @Override
+    public long acquire(HttpServletRequest request, long nowNanos) {
+        final var key = keyOf(request);
+        var arrival = arrivals.get(key);
+        if (arrival == null) {
+            sweepIfFull(nowNanos);
+            if (arrivals.size() >= maxKeys) {
+                return Math.max(1, nextSweepNanos.get() - nowNanos);
+            }
+            arrival = arrivals.computeIfAbsent(key, ignored -> new AtomicLong(nowNanos));
+        }
+        return bucket.acquire(arrival, nowNanos);
+    }
+
+    @Override
+    public String name() {
+        return "keyed";
+    }
+
+    private String keyOf(HttpServletRequest request) {
+        final var key = keyHeader == null ? null : request.getHeader(keyHeader);
+        return key != null ? key : request.getRemoteAddr();
+    }
+
+    private void sweepIfFull(long nowNanos) {
+        final long next = nextSweepNanos.get();
+        if (arrivals.size() < maxKeys || nowNanos < next) {
+            return;
+        }
+        if (nextSweepNanos.compareAndSet(next, nowNanos + SWEEP_INTERVAL_NANOS)) {
+            arrivals.values().removeIf(arrival -> bucket.idle(arrival, nowNanos));
+        }
+    }
+}
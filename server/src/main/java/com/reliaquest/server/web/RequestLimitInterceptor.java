@@ -0,0 +1,47 @@
+package com.reliaquest.server.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Answers requests the {@link RequestLimiter} turns down with 429 and a {@code Retry-After} of the whole seconds
+ * until it would let them through.
+ */
+public class RequestLimitInterceptor implements HandlerInterceptor {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final RequestLimiter limiter;
+    private final Counter rejections;
+
+    public RequestLimitInterceptor(@NonNull RequestLimiter limiter, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.rejections = Counter.builder("mock.requests.rejected")
+                .description("Requests answered with 429 by the request limit")
+                .tag("limiter", limiter.name())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Streamed responses come back for an async dispatch once they are done; they were admitted already.
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        final long wait = limiter.acquire(request, System.nanoTime());
+        if (wait <= 0) {
+            return true;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString((wait + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND));
+        rejections.increment();
+        return false;
+    }
+}
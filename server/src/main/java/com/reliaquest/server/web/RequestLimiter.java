@@ -0,0 +1,35 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Decides which requests the mock server serves, selected with {@code mock.limiter.mode}. Called for every request,
+ * concurrently, so implementations keep their state in atomics and only write to them for requests they let through.
+ */
+public interface RequestLimiter {
+
+    /**
+     * @param nowNanos {@link System#nanoTime()} of the request
+     * @return 0 to serve the request, otherwise the nanos until a retry could be served
+     */
+    long acquire(HttpServletRequest request, long nowNanos);
+
+    /**
+     * @return mode name, as tagged on the rejection metric
+     */
+    String name();
+
+    static RequestLimiter unlimited() {
+        return new RequestLimiter() {
+            @Override
+            public long acquire(HttpServletRequest request, long nowNanos) {
+                return 0;
+            }
+
+            @Override
+            public String name() {
+                return "none";
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lets at most {@code limit} requests through in any window of the given length, measured to a sixteenth of it,
+ * shared by all clients.
+ * <p>
+ * The window is split into {@value #SLOTS} slots, each counting the requests let through in it. A slot packs its
+ * count together with the number of the period it counts for into one long, so a slot coming round again is reset
+ * and counted into by the same compare-and-set. As with {@link TokenBucket}, turning a request down only reads.
+ */
+public class SlidingWindowRequestLimiter implements RequestLimiter {
+
+    private static final int SLOTS = 16;
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final int limit;
+    private final long slotNanos;
+    private final long originNanos;
+    private final AtomicLongArray slots = new AtomicLongArray(SLOTS);
+
+    public SlidingWindowRequestLimiter(int limit, Duration window, long nowNanos) {
+        if (limit < 1 || limit > COUNT_MASK) {
+            throw new IllegalArgumentException("Sliding window limit must be between 1 and " + COUNT_MASK);
+        }
+        if (window.toNanos() < SLOTS) {
+            throw new IllegalArgumentException("Sliding window is too short: " + window);
+        }
+        this.limit = limit;
+        this.slotNanos = window.toNanos() / SLOTS;
+        // Period 0 marks a slot that never counted anything.
+        this.originNanos = nowNanos - slotNanos;
+    }
+
+    @Override
+    public long acquire(HttpServletRequest request, long nowNanos) {
+        final long period = (nowNanos - originNanos) / slotNanos;
+        final int index = (int) (period % SLOTS);
+        while (true) {
+            long total = 0;
+            long oldest = period;
+            for (int slot = 0; slot < SLOTS; slot++) {
+                final long packed = slots.get(slot);
+                final long slotPeriod = packed >>> COUNT_BITS;
+                final long slotCount = packed & COUNT_MASK;
+                if (slotPeriod > period - SLOTS && slotCount > 0) {
+                    total += slotCount;
+                    oldest = Math.min(oldest, slotPeriod);
+                }
+            }
+            if (total >= limit) {
+                return originNanos + (oldest + SLOTS) * slotNanos - nowNanos;
+            }
+            final long current = slots.get(index);
+            final long count = current >>> COUNT_BITS == period ? current & COUNT_MASK : 0;
+            if (slots.compareAndSet(index, current, period << COUNT_BITS | (count + 1))) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "sliding-window";
+    }
+}
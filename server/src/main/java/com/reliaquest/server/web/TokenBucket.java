@@ -0,0 +1,53 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single theoretical arrival time (the generic cell rate algorithm): a request is let through
+ * when that time is at most a burst ahead of now, and moves it one interval further. Turning a request down only
+ * reads the time, so an overloaded bucket costs one volatile read per request, and only the requests let through,
+ * at most {@code rate} per second, compete to update it.
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    /**
+     * @param rate requests per second let through on average
+     * @param burst requests let through at once after being idle
+     */
+    TokenBucket(double rate, int burst) {
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Token bucket needs a positive rate and a burst of at least 1");
+        }
+        this.intervalNanos = Math.max(1, (long) (NANOS_PER_SECOND / rate));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+    }
+
+    /**
+     * @param arrival theoretical arrival time of the bucket, starting at or before the first request
+     * @return 0 when the request is let through, otherwise the nanos until it would be
+     */
+    long acquire(AtomicLong arrival, long nowNanos) {
+        while (true) {
+            final long current = arrival.get();
+            final long earliest = current - toleranceNanos;
+            if (nowNanos < earliest) {
+                return earliest - nowNanos;
+            }
+            if (arrival.compareAndSet(current, Math.max(current, nowNanos) + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return whether a bucket at {@code arrival} is full again, so it can be forgotten
+     */
+    boolean idle(AtomicLong arrival, long nowNanos) {
+        return arrival.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,28 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One deterministic {@link TokenBucket} shared by all clients.
+ */
+public class TokenBucketRequestLimiter implements RequestLimiter {
+
+    private final TokenBucket bucket;
+    private final AtomicLong arrival;
+
+    public TokenBucketRequestLimiter(double rate, int burst, long nowNanos) {
+        this.bucket = new TokenBucket(rate, burst);
+        this.arrival = new AtomicLong(nowNanos);
+    }
+
+    @Override
+    public long acquire(HttpServletRequest request, long nowNanos) {
+        return bucket.acquire(arrival, nowNanos);
+    }
+
+    @Override
+    public String name() {
+        return "token-bucket";
+    }
+}
@@ -0,0 +1,262 @@
+package com.reliaquest.server.controller;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.CreateMockEmployeesInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.MockEmployeeStore;
+import jakarta.validation.Validation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class MockEmployeeControllerTest {
+
+    private static final String EMPLOYEES = "/api/v1/employee";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MockEmployeeStore store = new MockEmployeeStore();
+    private final List<MockEmployeeChanges> published = new CopyOnWriteArrayList<>();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        final var validator = Validation.buildDefaultValidatorFactory().getValidator();
+        final var service = new MockEmployeeService(new Faker(), store, validator);
+        mockMvc = MockMvcBuilders.standaloneSetup(new MockEmployeeController(service, null, objectMapper))
+                .setControllerAdvice(new MockEmployeeControllerAdvice())
+                .build();
+    }
+
+    @Test
+    void createEmployees_validatesEachEmployeeAndAddsTheValidOnesAsOneBatch() throws Exception {
+        store.subscribe(null, published::add);
+        final var employees = new ArrayList<CreateMockEmployeeInput>();
+        employees.add(input("Ada Lovelace", 100_000, 36));
+        employees.add(input("", -1, 10));
+        employees.add(null);
+        employees.add(input("Alan Turing", 90_000, 41));
+
+        postJson(EMPLOYEES + "/batch", Map.of("employees", employees))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(4)))
+                .andExpect(jsonPath("$.data[0].index").value(0))
+                .andExpect(jsonPath("$.data[0].data.employee_name").value("Ada Lovelace"))
+                .andExpect(jsonPath("$.data[1].index").value(1))
+                .andExpect(jsonPath(
+                        "$.data[1].error",
+                        allOf(startsWith("age: "), containsString("; name: "), containsString("; salary: "))))
+                .andExpect(jsonPath("$.data[2].error").value("Employee is required"))
+                .andExpect(jsonPath("$.data[3].data.employee_name").value("Alan Turing"));
+
+        assertEquals(
+                List.of("Ada Lovelace", "Alan Turing"),
+                store.list().stream().map(MockEmployee::getName).toList());
+        assertEquals(2, published.size());
+        assertEquals(2, published.get(1).changes().size());
+    }
+
+    @Test
+    void createEmployees_rejectsAnEmptyOrMissingBatch() throws Exception {
+        postJson(EMPLOYEES + "/batch", Map.of("employees", List.of()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(startsWith("employees: ")));
+        postJson(EMPLOYEES + "/batch", Map.of()).andExpect(status().isBadRequest());
+
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void createEmployees_rejectsMoreThanTheMaximumBatchSize() throws Exception {
+        final var atMaximum =
+                Collections.nCopies(CreateMockEmployeesInput.MAX_BATCH_SIZE, input("Ada Lovelace", 100_000, 36));
+        postJson(EMPLOYEES + "/batch", Map.of("employees", atMaximum)).andExpect(status().isOk());
+
+        final var overMaximum = new ArrayList<>(atMaximum);
+        overMaximum.add(input("Alan Turing", 90_000, 41));
+        postJson(EMPLOYEES + "/batch", Map.of("employees", overMaximum)).andExpect(status().isBadRequest());
+
+        assertEquals(CreateMockEmployeesInput.MAX_BATCH_SIZE, store.size());
+    }
+
+    @Test
+    void deleteEmployeesById_reportsEachIdAndRemovesTheFoundOnesAsOneBatch() throws Exception {
+        final var ada = store.add(employee("Ada Lovelace"));
+        final var alan = store.add(employee("Alan Turing"));
+        final var grace = store.add(employee("Grace Hopper"));
+        store.subscribe(null, published::add);
+        final var unknown = UUID.randomUUID();
+        final var ids = new ArrayList<String>();
+        ids.add(ada.getId().toString());
+        ids.add("not-a-uuid");
+        ids.add(unknown.toString());
+        ids.add(ada.getId().toString());
+        ids.add(null);
+        ids.add(grace.getId().toString());
+
+        deleteJson(EMPLOYEES + "/batch", Map.of("ids", ids))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(6)))
+                .andExpect(jsonPath("$.data[0].data").value("Ada Lovelace"))
+                .andExpect(jsonPath("$.data[1].error").value("Invalid id: not-a-uuid"))
+                .andExpect(jsonPath("$.data[2].error").value("Employee not found: " + unknown))
+                .andExpect(jsonPath("$.data[3].error").value("Employee not found: " + ada.getId()))
+                .andExpect(jsonPath("$.data[4].error").value("Invalid id: null"))
+                .andExpect(jsonPath("$.data[5].index").value(5))
+                .andExpect(jsonPath("$.data[5].data").value("Grace Hopper"));
+
+        assertEquals(List.of(alan), store.list());
+        assertEquals(2, published.size());
+        assertEquals(2, published.get(1).changes().size());
+    }
+
+    @Test
+    void deleteEmployeesById_rejectsAnEmptyOrOversizedBatch() throws Exception {
+        store.add(employee("Ada Lovelace"));
+
+        deleteJson(EMPLOYEES + "/batch", Map.of("ids", List.of())).andExpect(status().isBadRequest());
+        deleteJson(
+                        EMPLOYEES + "/batch",
+                        Map.of(
+                                "ids",
+                                Collections.nCopies(
+                                        CreateMockEmployeesInput.MAX_BATCH_SIZE + 1,
+                                        store.list().get(0).getId().toString())))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void getEmployeesPage_returnsACursorUntilTheLastPage() throws Exception {
+        store.addAll(List.of(employee("Ada Lovelace"), employee("Alan Turing"), employee("Grace Hopper")));
+
+        final var first = mockMvc.perform(get(EMPLOYEES).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].employee_name").value(contains("Ada Lovelace", "Alan Turing")))
+                .andExpect(jsonPath("$.next_cursor").isString())
+                .andReturn();
+        final var cursor = objectMapper
+                .readTree(first.getResponse().getContentAsByteArray())
+                .get("next_cursor")
+                .asText();
+
+        mockMvc.perform(get(EMPLOYEES).param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].employee_name").value(contains("Grace Hopper")))
+                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+    }
+
+    @Test
+    void getEmployeesPage_isEncodedAndTaggedInTheNegotiatedFormat() throws Exception {
+        store.add(employee("Ada Lovelace"));
+        final var smile = RosterFormat.SMILE.mediaType();
+        final var jsonEtag = RosterFormat.JSON.etag(store.versionTag(), false);
+        final var smileEtag = RosterFormat.SMILE.etag(store.versionTag(), false);
+
+        mockMvc.perform(get(EMPLOYEES).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, jsonEtag));
+        final var page = mockMvc.perform(get(EMPLOYEES).param("limit", "2").accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(smile))
+                .andExpect(header().string(HttpHeaders.ETAG, smileEtag))
+                .andReturn();
+        final var body = new ObjectMapper(new SmileFactory()).readTree(page.getResponse().getContentAsByteArray());
+        assertEquals("Ada Lovelace", body.at("/data/0/employee_name").asText());
+
+        mockMvc.perform(get(EMPLOYEES).param("limit", "2").accept(smile).header(HttpHeaders.IF_NONE_MATCH, jsonEtag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(EMPLOYEES).param("limit", "2").accept(smile).header(HttpHeaders.IF_NONE_MATCH, smileEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getEmployeesPage_rejectsABadCursorOrLimit() throws Exception {
+        store.add(employee("Ada Lovelace"));
+
+        mockMvc.perform(get(EMPLOYEES).param("limit", "2").param("cursor", "not a cursor!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(startsWith("Invalid cursor: ")));
+        mockMvc.perform(get(EMPLOYEES).param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Page limit must be positive"));
+        mockMvc.perform(get(EMPLOYEES).param("limit", "ten"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid limit: ten"));
+    }
+
+    @Test
+    void getChanges_returnsTheChangesSinceAVersion() throws Exception {
+        final var since = store.versionTag();
+        store.add(employee("Ada Lovelace"));
+
+        mockMvc.perform(get(EMPLOYEES + "/changes").param("since", since))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.since").value(since))
+                .andExpect(jsonPath("$.data.version").value(store.versionTag()))
+                .andExpect(jsonPath("$.data.changes[0].type").value("ADDED"))
+                .andExpect(jsonPath("$.data.changes[0].employee.employee_name").value("Ada Lovelace"));
+    }
+
+    @Test
+    void getChanges_rejectsAMalformedVersion() throws Exception {
+        mockMvc.perform(get(EMPLOYEES + "/changes").param("since", "not-a-version"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid version: not-a-version"));
+    }
+
+    private ResultActions postJson(String uri, Object body) throws Exception {
+        return mockMvc.perform(post(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(body)));
+    }
+
+    private ResultActions deleteJson(String uri, Object body) throws Exception {
+        return mockMvc.perform(delete(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(body)));
+    }
+
+    private static CreateMockEmployeeInput input(String name, int salary, int age) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(salary);
+        input.setAge(age);
+        input.setTitle("Engineer");
+        return input;
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.from("employee@company.com", input(name, 100_000, 36));
+    }
+}
@@ -0,0 +1,45 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class RosterFormatTest {
+
+    @Test
+    void negotiate_jsonWithoutAUsableAccept() {
+        assertEquals(RosterFormat.JSON, RosterFormat.negotiate(null));
+        assertEquals(RosterFormat.JSON, RosterFormat.negotiate("not a media type;;"));
+        assertEquals(RosterFormat.JSON, RosterFormat.negotiate("text/plain"));
+        assertEquals(RosterFormat.JSON, RosterFormat.negotiate("*/*"));
+    }
+
+    @Test
+    void negotiate_binaryOnlyWhenPreferredOverJson() {
+        assertEquals(RosterFormat.SMILE, RosterFormat.negotiate("application/x-jackson-smile"));
+        assertEquals(RosterFormat.CBOR, RosterFormat.negotiate("application/cbor"));
+        assertEquals(
+                RosterFormat.SMILE, RosterFormat.negotiate("application/x-jackson-smile, application/json;q=0.9"));
+        assertEquals(
+                RosterFormat.JSON, RosterFormat.negotiate("application/json, application/x-jackson-smile;q=0.9"));
+        assertEquals(RosterFormat.JSON, RosterFormat.negotiate("application/x-jackson-smile;q=0.5, */*"));
+        assertEquals(RosterFormat.CBOR, RosterFormat.negotiate("application/x-jackson-smile;q=0.5, application/cbor"));
+    }
+
+    @Test
+    void etag_onePerRepresentation() {
+        assertEquals("\"abc-7\"", RosterFormat.JSON.etag("abc-7", false));
+        assertEquals("W/\"abc-7\"", RosterFormat.JSON.etag("abc-7", true));
+        assertEquals("\"abc-7+smile\"", RosterFormat.SMILE.etag("abc-7", false));
+        assertEquals("W/\"abc-7+cbor\"", RosterFormat.CBOR.etag("abc-7", true));
+
+        final Set<String> etags = new HashSet<>();
+        for (final var format : RosterFormat.values()) {
+            etags.add(format.etag("abc-7", false));
+            etags.add(format.etag("abc-7", true));
+        }
+        assertEquals(RosterFormat.values().length * 2, etags.size());
+    }
+}
@@ -0,0 +1,113 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class RosterResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MockEmployeeStore store = new MockEmployeeStore();
+    private final RosterResponseCache cache =
+            new RosterResponseCache(new MockEmployeeService(null, store, null), objectMapper);
+
+    @Test
+    void acceptsGzip_byNameOrWildcardWithNonzeroQuality() {
+        assertTrue(RosterResponseCache.acceptsGzip("gzip"));
+        assertTrue(RosterResponseCache.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(RosterResponseCache.acceptsGzip("br, *"));
+
+        assertFalse(RosterResponseCache.acceptsGzip(null));
+        assertFalse(RosterResponseCache.acceptsGzip("br, deflate"));
+        assertFalse(RosterResponseCache.acceptsGzip("gzip;q=0"));
+        assertFalse(RosterResponseCache.acceptsGzip("gzip;q=none"));
+        assertFalse(RosterResponseCache.acceptsGzip("identity, *;q=0"));
+    }
+
+    @Test
+    void get_reusesTheBodyUntilTheRosterChanges() throws IOException {
+        store.addAll(employees(0, 3));
+        final var first = cache.get(RosterFormat.JSON, false);
+
+        assertSame(first, cache.get(RosterFormat.JSON, false));
+        assertEquals(store.version(), first.version());
+
+        store.add(employee(3));
+        final var changed = cache.get(RosterFormat.JSON, false);
+
+        assertNotSame(first, changed);
+        assertEquals(store.version(), changed.version());
+        assertEquals(4, objectMapper.readTree(changed.bytes()).get("data").size());
+    }
+
+    @Test
+    void get_keepsABodyPerFormatAndEncoding() {
+        store.addAll(employees(0, 3));
+
+        final var json = cache.get(RosterFormat.JSON, false);
+        final var gzip = cache.get(RosterFormat.JSON, true);
+        final var smile = cache.get(RosterFormat.SMILE, false);
+
+        assertSame(gzip, cache.get(RosterFormat.JSON, true));
+        assertFalse(Arrays.equals(json.bytes(), gzip.bytes()));
+        assertFalse(Arrays.equals(json.bytes(), smile.bytes()));
+    }
+
+    @Test
+    void get_gzippedSmileDecodesToTheStreamedEnvelope() throws IOException {
+        store.addAll(employees(0, 500));
+        final var streamed = new ByteArrayOutputStream();
+        cache.write(RosterFormat.SMILE, streamed);
+
+        final var body = cache.get(RosterFormat.SMILE, true);
+        final byte[] decompressed;
+        try (final var gunzip = new GZIPInputStream(new ByteArrayInputStream(body.bytes()))) {
+            decompressed = gunzip.readAllBytes();
+        }
+
+        assertArrayEquals(streamed.toByteArray(), decompressed);
+        final var smileMapper = new ObjectMapper(new SmileFactory());
+        final var envelope = smileMapper.readTree(decompressed);
+        assertEquals(500, envelope.get("data").size());
+        assertEquals(Response.Status.HANDLED.getValue(), envelope.get("status").asText());
+        assertEquals(objectMapper.readTree(cache.get(RosterFormat.JSON, false).bytes()), envelope);
+    }
+
+    private static List<MockEmployee> employees(int from, int count) {
+        final List<MockEmployee> employees = new ArrayList<>(count);
+        for (int sequence = from; sequence < from + count; sequence++) {
+            employees.add(employee(sequence));
+        }
+        return employees;
+    }
+
+    private static MockEmployee employee(int sequence) {
+        return MockEmployee.builder()
+                .id(new UUID(sequence, sequence))
+                .name("Employee " + sequence)
+                .salary(30_000 + sequence)
+                .age(20 + sequence % 50)
+                .title("Engineer")
+                .email("employee" + sequence + "@company.com")
+                .build();
+    }
+}
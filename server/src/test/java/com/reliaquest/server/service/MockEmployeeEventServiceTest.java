@@ -0,0 +1,251 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class MockEmployeeEventServiceTest {
+
+    private static final Duration NO_HEARTBEAT = Duration.ofHours(1);
+
+    private final MockEmployeeStore store = new MockEmployeeStore();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private boolean blocking;
+    private boolean failing;
+    private MockEmployeeEventService service;
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private MockEmployeeEventService service(Duration heartbeat) {
+        service = new MockEmployeeEventService(store, heartbeat) {
+            @Override
+            SseEmitter newEmitter() {
+                return new RecordingEmitter(blocking ? release : new CountDownLatch(0), failing);
+            }
+        };
+        return service;
+    }
+
+    private RecordingEmitter subscribe(String lastEventId) {
+        return (RecordingEmitter) service.subscribe(lastEventId);
+    }
+
+    @Test
+    void subscribe_sendsTheCurrentVersionAndThenEachChange() throws Exception {
+        service(NO_HEARTBEAT);
+        final var emitter = subscribe(null);
+        final var since = store.versionTag();
+        final var employee = store.add(employee(1));
+
+        final var initial = emitter.nextChanges();
+        final var added = emitter.nextChanges();
+
+        assertEquals(MockEmployeeChanges.of(since, since, List.of()), initial);
+        assertEquals(
+                MockEmployeeChanges.of(since, store.versionTag(), List.of(MockEmployeeChange.added(employee))), added);
+    }
+
+    @Test
+    void subscribe_replaysTheChangesSinceTheLastEventId() throws Exception {
+        service(NO_HEARTBEAT);
+        final var since = store.versionTag();
+        store.add(employee(1));
+        store.add(employee(2));
+
+        final var replayed = subscribe(since).nextChanges();
+
+        assertEquals(since, replayed.since());
+        assertEquals(2, replayed.changes().size());
+    }
+
+    @Test
+    void subscribe_rejectsAMalformedLastEventId() {
+        service(NO_HEARTBEAT);
+
+        final var e = assertThrows(ResponseStatusException.class, () -> service.subscribe("not-a-version"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        assertEquals(0, service.subscriberCount());
+    }
+
+    /**
+     * While the first event is stuck on its way to the client, the first thousand changes queue up and the next one
+     * replaces them all with a resync, after which the subscriber is sent the changes as usual.
+     */
+    @Test
+    void slowSubscriber_isSentAResyncOnceItFallsTooFarBehind() throws Exception {
+        blocking = true;
+        service(NO_HEARTBEAT);
+        final var emitter = subscribe(null);
+        assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+        String resyncVersion = null;
+        for (int sequence = 1; sequence <= 1_100; sequence++) {
+            store.add(employee(sequence));
+            if (sequence == 1_001) {
+                resyncVersion = store.versionTag();
+            }
+        }
+        release.countDown();
+
+        final List<MockEmployeeChanges> sent = new ArrayList<>();
+        do {
+            sent.add(emitter.nextChanges());
+        } while (!sent.get(sent.size() - 1).version().equals(store.versionTag()));
+
+        assertEquals(101, sent.size());
+        assertEquals(MockEmployeeChanges.resync(null, resyncVersion), sent.get(1));
+        for (final var changes : sent.subList(2, sent.size())) {
+            assertFalse(changes.resync());
+            assertEquals(1, changes.changes().size());
+        }
+    }
+
+    @Test
+    void idleSubscriber_isSentHeartbeatsAtItsLatestVersion() throws Exception {
+        service(Duration.ofMillis(20));
+        final var emitter = subscribe(null);
+        store.add(employee(1));
+        emitter.nextChanges();
+        emitter.nextChanges();
+
+        final var heartbeat = emitter.heartbeats.poll(5, TimeUnit.SECONDS);
+
+        assertNotNull(heartbeat);
+        assertEquals(MockEmployeeChanges.of(store.versionTag(), store.versionTag(), List.of()), heartbeat);
+    }
+
+    @Test
+    void subscriber_isRemovedOnceItsStreamCompletesOrTimesOut() throws Exception {
+        service(NO_HEARTBEAT);
+        final var completed = subscribe(null);
+        final var timedOut = subscribe(null);
+        final var open = subscribe(null);
+        for (final var emitter : List.of(completed, timedOut, open)) {
+            emitter.nextChanges();
+        }
+        assertEquals(3, service.subscriberCount());
+
+        completed.completion.run();
+        timedOut.timeout.run();
+        store.add(employee(1));
+
+        assertEquals(1, service.subscriberCount());
+        assertEquals(1, open.nextChanges().changes().size());
+        assertNull(completed.changes.poll(100, TimeUnit.MILLISECONDS));
+        assertNull(timedOut.changes.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void subscriber_isRemovedOnceSendingToItFails() throws Exception {
+        failing = true;
+        service(NO_HEARTBEAT);
+        subscribe(null);
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.subscriberCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, service.subscriberCount());
+    }
+
+    private static MockEmployee employee(int sequence) {
+        return MockEmployee.builder()
+                .id(new UUID(sequence, sequence))
+                .name("Employee " + sequence)
+                .salary(30_000 + sequence)
+                .age(30)
+                .title("Engineer")
+                .email("employee" + sequence + "@company.com")
+                .build();
+    }
+
+    /**
+     * Emitter without a client that records what it is sent, and the callbacks the service registers with it. Sends
+     * wait for {@code release}, and fail when {@code failing}.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch release;
+        private final boolean failing;
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final BlockingQueue<MockEmployeeChanges> changes = new LinkedBlockingQueue<>();
+        private final BlockingQueue<MockEmployeeChanges> heartbeats = new LinkedBlockingQueue<>();
+
+        private volatile Runnable completion;
+        private volatile Runnable timeout;
+
+        private RecordingEmitter(CountDownLatch release, boolean failing) {
+            this.release = release;
+            this.failing = failing;
+        }
+
+        @Override
+        public void send(SseEventBuilder event) throws IOException {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            boolean heartbeat = false;
+            MockEmployeeChanges data = null;
+            for (final var part : event.build()) {
+                if (part.getData() instanceof MockEmployeeChanges sent) {
+                    data = sent;
+                } else if (part.getData() instanceof String text && text.contains("event:heartbeat\n")) {
+                    heartbeat = true;
+                }
+            }
+            (heartbeat ? heartbeats : changes).add(data);
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completion = callback;
+        }
+
+        @Override
+        public void onTimeout(Runnable callback) {
+            timeout = callback;
+        }
+
+        private MockEmployeeChanges nextChanges() throws InterruptedException {
+            final var next = changes.poll(5, TimeUnit.SECONDS);
+            assertNotNull(next, "No changes sent");
+            return next;
+        }
+    }
+}
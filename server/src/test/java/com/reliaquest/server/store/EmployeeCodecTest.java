@@ -0,0 +1,65 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EmployeeCodecTest {
+
+    @Test
+    void roundTrip() throws IOException {
+        final var employee = Employees.employee(7);
+
+        assertEquals(employee, roundTrip(employee));
+    }
+
+    @Test
+    void roundTrip_absentFields() throws IOException {
+        final var employee = MockEmployee.builder().id(UUID.randomUUID()).build();
+
+        assertEquals(employee, roundTrip(employee));
+    }
+
+    @Test
+    void roundTrip_nonAsciiAndEmptyStrings() throws IOException {
+        final var employee = MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name("Zo\u00eb \u00c5ngstr\u00f6m \u674e")
+                .salary(0)
+                .age(0)
+                .title("")
+                .email("zoe@company.com")
+                .build();
+
+        assertEquals(employee, roundTrip(employee));
+    }
+
+    @Test
+    void read_consumesExactlyOneEmployee() throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        final var out = new DataOutputStream(bytes);
+        EmployeeCodec.write(out, Employees.employee(1));
+        EmployeeCodec.write(out, Employees.employee(2));
+        final var in = ByteBuffer.wrap(bytes.toByteArray());
+
+        assertEquals(Employees.employee(1), EmployeeCodec.read(in));
+        assertEquals(Employees.employee(2), EmployeeCodec.read(in));
+        assertFalse(in.hasRemaining());
+    }
+
+    private static MockEmployee roundTrip(MockEmployee employee) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        EmployeeCodec.write(new DataOutputStream(bytes), employee);
+        final var in = ByteBuffer.wrap(bytes.toByteArray());
+        final var read = EmployeeCodec.read(in);
+        assertFalse(in.hasRemaining());
+        return read;
+    }
+}
@@ -0,0 +1,33 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Employees for store tests, told apart by their sequence number.
+ */
+final class Employees {
+
+    private Employees() {}
+
+    static MockEmployee employee(int sequence) {
+        return MockEmployee.builder()
+                .id(new UUID(sequence, sequence))
+                .name("Employee " + sequence)
+                .salary(30_000 + sequence)
+                .age(20 + sequence % 50)
+                .title("Engineer")
+                .email("employee" + sequence + "@company.com")
+                .build();
+    }
+
+    static List<MockEmployee> employees(int from, int count) {
+        final List<MockEmployee> employees = new ArrayList<>(count);
+        for (int sequence = from; sequence < from + count; sequence++) {
+            employees.add(employee(sequence));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,64 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeChangeLogTest {
+
+    private static MockEmployeeChange change(int sequence) {
+        return MockEmployeeChange.added(Employees.employee(sequence));
+    }
+
+    @Test
+    void since_returnsTheChangesAfterAVersionOldestFirst() {
+        final var log = new MockEmployeeChangeLog(4);
+        log.append(change(1));
+        log.append(change(2));
+        log.append(change(3));
+
+        assertEquals(List.of(change(1), change(2), change(3)), log.since(0));
+        assertEquals(List.of(change(3)), log.since(2));
+        assertEquals(List.of(), log.since(3));
+        assertNull(log.since(4));
+    }
+
+    @Test
+    void since_forgetsTheOldestChangesOnceTheRingWraps() {
+        final var log = new MockEmployeeChangeLog(3);
+        for (int sequence = 1; sequence <= 7; sequence++) {
+            log.append(change(sequence));
+        }
+
+        assertNull(log.since(3));
+        assertEquals(List.of(change(5), change(6), change(7)), log.since(4));
+        assertEquals(List.of(change(7)), log.since(6));
+        assertEquals(List.of(), log.since(7));
+        assertNull(log.since(8));
+    }
+
+    @Test
+    void since_knowsNothingWithoutCapacity() {
+        final var log = new MockEmployeeChangeLog(0);
+        log.append(change(1));
+        log.append(change(2));
+
+        assertNull(log.since(1));
+        assertEquals(List.of(), log.since(2));
+    }
+
+    @Test
+    void reset_forgetsEveryChangeAndStartsOverAtTheVersion() {
+        final var log = new MockEmployeeChangeLog(3);
+        log.append(change(1));
+        log.append(change(2));
+        log.reset(10);
+        log.append(change(11));
+
+        assertNull(log.since(2));
+        assertEquals(List.of(change(11)), log.since(10));
+    }
+}
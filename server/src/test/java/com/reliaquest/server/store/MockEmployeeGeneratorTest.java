@@ -0,0 +1,44 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    private static final int COUNT = MockEmployeeGenerator.CHUNK_SIZE * 2 + 17;
+
+    @Test
+    void generate_sameSeedSameRosterWhateverThePoolSize() throws Exception {
+        final var sequential = generate(new MockEmployeeGenerator(Locale.US, 42), 1);
+        final var parallel = generate(new MockEmployeeGenerator(Locale.US, 42), 4);
+
+        assertEquals(COUNT, sequential.size());
+        assertEquals(sequential, parallel);
+        assertEquals(sequential, new MockEmployeeGenerator(Locale.US, 42).generate(COUNT));
+    }
+
+    @Test
+    void generate_differentSeedDifferentRoster() {
+        assertNotEquals(
+                new MockEmployeeGenerator(Locale.US, 42).generate(100),
+                new MockEmployeeGenerator(Locale.US, 43).generate(100));
+    }
+
+    /**
+     * Runs the parallel stream inside a pool of the given size, which it then splits its work over.
+     */
+    private static List<MockEmployee> generate(MockEmployeeGenerator generator, int parallelism) throws Exception {
+        final var pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> generator.generate(COUNT)).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeeJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_appliesAddsAndRemovesInOrder() throws IOException {
+        try (final var journal = new MockEmployeeJournal(directory, 1)) {
+            journal.added(Employees.employee(1));
+            journal.added(Employees.employee(2));
+            journal.awaitDurable(journal.removed(Employees.employee(1).getId()));
+        }
+
+        final var store = new MockEmployeeStore();
+        assertEquals(1, MockEmployeeJournal.replay(directory, 1, store));
+        assertEquals(List.of(Employees.employee(2)), store.list());
+    }
+
+    @Test
+    void replay_continuesAcrossRotatedGenerations() throws IOException {
+        try (final var journal = new MockEmployeeJournal(directory, 1)) {
+            journal.added(Employees.employee(1));
+            assertEquals(2, journal.rotate());
+            journal.awaitDurable(journal.added(Employees.employee(2)));
+        }
+
+        final var store = new MockEmployeeStore();
+        assertEquals(2, MockEmployeeJournal.replay(directory, 1, store));
+        assertEquals(Employees.employees(1, 2), store.list());
+
+        final var fromSecond = new MockEmployeeStore();
+        MockEmployeeJournal.replay(directory, 2, fromSecond);
+        assertEquals(List.of(Employees.employee(2)), fromSecond.list());
+    }
+
+    @Test
+    void replay_stopsBeforeTornLastRecord() throws IOException {
+        writeThreeRecords();
+        final var file = journalFile(1);
+        final var bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5));
+
+        final var store = new MockEmployeeStore();
+        MockEmployeeJournal.replay(directory, 1, store);
+
+        assertEquals(Employees.employees(1, 2), store.list());
+    }
+
+    @Test
+    void replay_stopsBeforeTornFrameHeader() throws IOException {
+        final long secondEnd = writeThreeRecords();
+        final var file = journalFile(1);
+        final var bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, (int) secondEnd + 3));
+
+        final var store = new MockEmployeeStore();
+        MockEmployeeJournal.replay(directory, 1, store);
+
+        assertEquals(Employees.employees(1, 2), store.list());
+    }
+
+    @Test
+    void replay_stopsAtCorruptLastRecord() throws IOException {
+        writeThreeRecords();
+        final var file = journalFile(1);
+        final var bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x5A;
+        Files.write(file, bytes);
+
+        final var store = new MockEmployeeStore();
+        MockEmployeeJournal.replay(directory, 1, store);
+
+        assertEquals(Employees.employees(1, 2), store.list());
+    }
+
+    @Test
+    void replay_skipsEmployeesAlreadyInTheStore() throws IOException {
+        writeThreeRecords();
+        final var store = new MockEmployeeStore();
+        store.add(Employees.employee(2));
+
+        MockEmployeeJournal.replay(directory, 1, store);
+
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void deleteBefore_keepsLaterGenerations() throws IOException {
+        try (final var journal = new MockEmployeeJournal(directory, 1)) {
+            journal.rotate();
+            journal.rotate();
+        }
+
+        MockEmployeeJournal.deleteBefore(directory, 3);
+
+        assertFalse(Files.exists(journalFile(1)));
+        assertFalse(Files.exists(journalFile(2)));
+        assertTrue(Files.exists(journalFile(3)));
+    }
+
+    /**
+     * @return the position after the second record
+     */
+    private long writeThreeRecords() throws IOException {
+        try (final var journal = new MockEmployeeJournal(directory, 1)) {
+            journal.added(Employees.employee(1));
+            final long secondEnd = journal.added(Employees.employee(2));
+            journal.awaitDurable(journal.added(Employees.employee(3)));
+            return secondEnd;
+        }
+    }
+
+    private Path journalFile(long generation) {
+        return directory.resolve("journal-%020d.log".formatted(generation));
+    }
+}
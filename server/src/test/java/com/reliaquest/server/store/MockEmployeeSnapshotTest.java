@@ -0,0 +1,56 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeeSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeAndRead_acrossSeveralBlocks() throws IOException {
+        final var employees = Employees.employees(0, 40_000);
+
+        new MockEmployeeSnapshot(7, employees).write(directory);
+        final var read = MockEmployeeSnapshot.read(directory);
+
+        assertEquals(7, read.generation());
+        assertEquals(employees, read.employees());
+        assertFalse(Files.exists(directory.resolve(MockEmployeeSnapshot.FILE_NAME + ".tmp")));
+    }
+
+    @Test
+    void writeAndRead_empty() throws IOException {
+        new MockEmployeeSnapshot(1, List.of()).write(directory);
+
+        assertTrue(MockEmployeeSnapshot.exists(directory));
+        assertEquals(List.of(), MockEmployeeSnapshot.read(directory).employees());
+    }
+
+    @Test
+    void write_replacesPreviousSnapshot() throws IOException {
+        new MockEmployeeSnapshot(1, Employees.employees(0, 10)).write(directory);
+        new MockEmployeeSnapshot(2, Employees.employees(10, 3)).write(directory);
+
+        final var read = MockEmployeeSnapshot.read(directory);
+        assertEquals(2, read.generation());
+        assertEquals(Employees.employees(10, 3), read.employees());
+    }
+
+    @Test
+    void read_rejectsOtherFiles() throws IOException {
+        Files.writeString(directory.resolve(MockEmployeeSnapshot.FILE_NAME), "not a snapshot");
+
+        assertThrows(IOException.class, () -> MockEmployeeSnapshot.read(directory));
+    }
+}
@@ -0,0 +1,337 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+
+    private final MockEmployeeStore store = new MockEmployeeStore();
+
+    @Test
+    void findById_findsAddedEmployeesOnly() {
+        final var employee = store.add(Employees.employee(1));
+
+        assertEquals(Optional.of(employee), store.findById(employee.getId()));
+        assertEquals(Optional.empty(), store.findById(Employees.employee(2).getId()));
+
+        store.removeById(employee.getId());
+
+        assertEquals(Optional.empty(), store.findById(employee.getId()));
+    }
+
+    @Test
+    void findAllByName_ignoresCaseAndKeepsInsertionOrder() {
+        final var first = store.add(named(1, "Ada Lovelace"));
+        store.add(named(2, "Alan Turing"));
+        final var second = store.add(named(3, "ADA LOVELACE"));
+
+        assertEquals(List.of(first, second), store.findAllByName("ada lovelace"));
+        assertEquals(List.of(), store.findAllByName("Grace Hopper"));
+    }
+
+    @Test
+    void removeFirstByName_removesTheEarliestMatch() {
+        final var first = store.add(named(1, "Ada Lovelace"));
+        final var other = store.add(named(2, "Alan Turing"));
+        final var second = store.add(named(3, "ada lovelace"));
+
+        assertEquals(Optional.of(first), store.removeFirstByName("ADA LOVELACE"));
+        assertEquals(Optional.of(second), store.removeFirstByName("Ada Lovelace"));
+        assertEquals(Optional.empty(), store.removeFirstByName("Ada Lovelace"));
+        assertEquals(List.of(other), store.list());
+    }
+
+    @Test
+    void removeById_removesOnlyOnce() {
+        final var employee = store.add(Employees.employee(1));
+        final long version = store.version();
+
+        assertEquals(Optional.of(employee), store.removeById(employee.getId()));
+        assertEquals(Optional.empty(), store.removeById(employee.getId()));
+        assertEquals(version + 1, store.version());
+        assertEquals(List.of(), store.findAllByName(employee.getName()));
+    }
+
+    @Test
+    void add_rejectsADuplicateIdWithoutChangingTheStore() {
+        final var employee = store.add(Employees.employee(1));
+        final long version = store.version();
+        final var duplicate = employee.toBuilder().name("Someone Else").build();
+
+        assertThrows(IllegalArgumentException.class, () -> store.add(duplicate));
+
+        assertEquals(List.of(employee), store.list());
+        assertEquals(version, store.version());
+        assertEquals(List.of(), store.findAllByName("Someone Else"));
+    }
+
+    @Test
+    void addBatch_rejectsADuplicateIdWithoutAddingAny() {
+        final var employee = store.add(Employees.employee(1));
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> store.addBatch(List.of(Employees.employee(2), Employees.employee(1))));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> store.addBatch(List.of(Employees.employee(2), Employees.employee(2))));
+
+        assertEquals(List.of(employee), store.list());
+    }
+
+    /**
+     * Concurrent adds and removes, by id and by name, must leave the indexes agreeing with each other, and every
+     * employee must be removed by exactly one of the threads racing for it.
+     */
+    @Test
+    void concurrentAddsAndRemoves_keepTheIndexesConsistent() throws Exception {
+        final int threads = 8;
+        final int perThread = 500;
+        final var removed = new AtomicInteger();
+        final var start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> workers = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                final int first = thread * perThread;
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = first; i < first + perThread; i++) {
+                        store.add(named(i, "Employee " + i % 50));
+                        // Every thread races for every other thread's employees as well as its own.
+                        if (store.removeFirstByName("employee " + (i + 7) % 50).isPresent()) {
+                            removed.incrementAndGet();
+                        }
+                        if (store.removeById(new UUID(i / 2, i / 2)).isPresent()) {
+                            removed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final var worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final var remaining = store.list();
+        assertEquals(threads * perThread - removed.get(), remaining.size());
+        assertEquals(remaining.size(), store.size());
+        assertEquals(remaining.size(), new HashSet<>(remaining).size());
+        int byName = 0;
+        for (int name = 0; name < 50; name++) {
+            byName += store.findAllByName("Employee " + name).size();
+        }
+        assertEquals(remaining.size(), byName);
+        for (final var employee : remaining) {
+            assertEquals(Optional.of(employee), store.findById(employee.getId()));
+        }
+        assertEquals(threads * perThread + removed.get(), store.version());
+    }
+
+    @Test
+    void page_walksTheRosterInInsertionOrderAndEndsWithoutACursor() {
+        final var employees = Employees.employees(1, 5);
+        store.addAll(employees);
+
+        final var first = store.page(null, 2);
+        final var second = store.page(first.nextCursor(), 2);
+        final var last = store.page(second.nextCursor(), 2);
+
+        assertEquals(employees.subList(0, 2), first.employees());
+        assertEquals(employees.subList(2, 4), second.employees());
+        assertEquals(employees.subList(4, 5), last.employees());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void page_endingExactlyOnTheLastEmployeeHasNoCursor() {
+        final var employees = Employees.employees(1, 4);
+        store.addAll(employees);
+
+        final var first = store.page(null, 2);
+        final var last = store.page(first.nextCursor(), 2);
+
+        assertEquals(employees.subList(2, 4), last.employees());
+        assertNull(last.nextCursor());
+        assertNull(new MockEmployeeStore().page(null, 2).nextCursor());
+    }
+
+    @Test
+    void page_cursorIsAnUnpaddedUrlSafePosition() {
+        store.addAll(Employees.employees(1, 3));
+
+        final var cursor = store.page(null, 2).nextCursor();
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+        assertTrue(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII)
+                .matches("s:\\d+"));
+    }
+
+    @Test
+    void page_cursorSurvivesInsertsAndDeletesBetweenPages() {
+        final var employees = Employees.employees(1, 5);
+        store.addAll(employees);
+        final var first = store.page(null, 2);
+
+        // The employee the cursor points at goes, as does one of the next page.
+        store.removeById(employees.get(1).getId());
+        store.removeById(employees.get(2).getId());
+        final var added = store.add(Employees.employee(6));
+
+        final var second = store.page(first.nextCursor(), 10);
+
+        assertEquals(List.of(employees.get(3), employees.get(4), added), second.employees());
+        assertNull(second.nextCursor());
+    }
+
+    /**
+     * Pages read while other threads insert and delete must return every employee that was there throughout exactly
+     * once, in insertion order, and never the same employee twice.
+     */
+    @Test
+    void page_cursorSurvivesConcurrentInsertsAndDeletes() throws Exception {
+        final var stable = Employees.employees(0, 2_000);
+        store.addAll(stable);
+        final var writing = new AtomicBoolean(true);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> writer = executor.submit(() -> {
+                for (int sequence = 10_000; writing.get(); sequence++) {
+                    final var added = store.add(Employees.employee(sequence));
+                    if (sequence % 2 == 0) {
+                        store.removeById(added.getId());
+                    }
+                }
+                return null;
+            });
+            final List<MockEmployee> read = new ArrayList<>();
+            String cursor = null;
+            // The writer may outrun the reader, so stop somewhere past the stable employees, which come first.
+            do {
+                final var page = store.page(cursor, 7);
+                read.addAll(page.employees());
+                cursor = page.nextCursor();
+            } while (cursor != null && read.size() < 20_000);
+            writing.set(false);
+            writer.get();
+
+            assertEquals(read.size(), new HashSet<>(read).size());
+            final var stableIds = new HashSet<>(stable.stream().map(MockEmployee::getId).toList());
+            assertEquals(stable, read.stream().filter(employee -> stableIds.contains(employee.getId())).toList());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void page_rejectsMalformedCursorsAndNonPositiveLimits() {
+        store.add(Employees.employee(1));
+        final var foreign = Base64.getUrlEncoder().encodeToString("x:1".getBytes(StandardCharsets.US_ASCII));
+
+        assertThrows(IllegalArgumentException.class, () -> store.page("not a cursor!", 2));
+        assertThrows(IllegalArgumentException.class, () -> store.page(foreign, 2));
+        assertThrows(IllegalArgumentException.class, () -> store.page(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> store.page(null, -1));
+    }
+
+    @Test
+    void page_capsTheLimit() {
+        store.addAll(Employees.employees(0, MockEmployeeStore.MAX_PAGE_SIZE + 1));
+
+        final var page = store.page(null, Integer.MAX_VALUE);
+
+        assertEquals(MockEmployeeStore.MAX_PAGE_SIZE, page.employees().size());
+        assertNotNull(page.nextCursor());
+    }
+
+    @Test
+    void changesSince_returnsTheChangesMadeSinceATag() {
+        final var employee = store.add(Employees.employee(1));
+        final var since = store.versionTag();
+        final var added = store.add(Employees.employee(2));
+        store.removeById(employee.getId());
+
+        final var changes = store.changesSince(since);
+
+        assertFalse(changes.resync());
+        assertEquals(since, changes.since());
+        assertEquals(store.versionTag(), changes.version());
+        assertEquals(
+                List.of(MockEmployeeChange.added(added), MockEmployeeChange.removed(employee.getId())),
+                changes.changes());
+        assertEquals(List.of(), store.changesSince(changes.version()).changes());
+    }
+
+    @Test
+    void changesSince_resyncsOnceTheVersionHasLeftTheChangeLog() {
+        final var small = new MockEmployeeStore(3);
+        small.add(Employees.employee(1));
+        final var since = small.versionTag();
+        for (int sequence = 2; sequence <= 4; sequence++) {
+            final var kept = small.versionTag();
+            small.add(Employees.employee(sequence));
+
+            assertFalse(small.changesSince(kept).resync());
+        }
+        final var keptLast = small.versionTag();
+        small.add(Employees.employee(5));
+
+        final var changes = small.changesSince(since);
+
+        assertTrue(changes.resync());
+        assertNull(changes.changes());
+        assertEquals(small.versionTag(), changes.version());
+        assertEquals(1, small.changesSince(keptLast).changes().size());
+    }
+
+    @Test
+    void changesSince_resyncsForATagOfAnotherInstanceOrAFutureVersion() {
+        store.add(Employees.employee(1));
+        final var other = new MockEmployeeStore();
+        other.add(Employees.employee(1));
+        final var version = store.versionTag();
+        final var future = version.substring(0, version.lastIndexOf('-') + 1) + (store.version() + 1);
+
+        assertTrue(store.changesSince(other.versionTag()).resync());
+        assertTrue(store.changesSince("0").resync());
+        assertTrue(store.changesSince(future).resync());
+    }
+
+    @Test
+    void changesSince_rejectsAMalformedTag() {
+        final var version = store.versionTag();
+
+        assertThrows(IllegalArgumentException.class, () -> store.changesSince(""));
+        assertThrows(IllegalArgumentException.class, () -> store.changesSince("not-a-version"));
+        assertThrows(IllegalArgumentException.class, () -> store.changesSince(version + "x"));
+    }
+
+    private static MockEmployee named(int sequence, String name) {
+        return Employees.employee(sequence).toBuilder().name(name).build();
+    }
+}
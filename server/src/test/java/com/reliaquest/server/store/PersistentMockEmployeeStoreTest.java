@@ -0,0 +1,264 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersistentMockEmployeeStoreTest {
+
+    private static final List<MockEmployee> INITIAL = Employees.employees(0, 5);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void open_generatesOnlyWhenThereIsNoSnapshot() throws IOException {
+        final var generated = new AtomicInteger();
+
+        open(generated).close();
+        try (final var store = open(generated)) {
+            assertEquals(INITIAL, store.list());
+        }
+
+        assertEquals(1, generated.get());
+    }
+
+    @Test
+    void reopen_replaysTheJournal() throws IOException {
+        try (final var store = open()) {
+            store.add(Employees.employee(100));
+            store.removeById(INITIAL.get(0).getId());
+            store.removeFirstByName(INITIAL.get(1).getName());
+        }
+
+        try (final var store = open()) {
+            assertEquals(expected(INITIAL.subList(2, 5), Employees.employee(100)), store.list());
+        }
+    }
+
+    @Test
+    void reopen_afterSnapshot() throws IOException {
+        try (final var store = open()) {
+            store.add(Employees.employee(100));
+            store.snapshot();
+            store.add(Employees.employee(101));
+        }
+
+        assertFalse(Files.exists(journalFile(1)));
+        try (final var store = open()) {
+            assertEquals(expected(INITIAL, Employees.employee(100), Employees.employee(101)), store.list());
+        }
+    }
+
+    /**
+     * A crash after the journal rotated but before the snapshot was written leaves the old snapshot with both
+     * journal generations, which are replayed in order.
+     */
+    @Test
+    void reopen_afterCrashBetweenRotationAndSnapshot() throws IOException {
+        try (final var store = open()) {
+            store.add(Employees.employee(100));
+        }
+        try (final var rotated = new MockEmployeeJournal(directory, 2)) {
+            rotated.awaitDurable(rotated.removed(Employees.employee(100).getId()));
+            rotated.awaitDurable(rotated.added(Employees.employee(101)));
+        }
+
+        try (final var store = open()) {
+            assertEquals(expected(INITIAL, Employees.employee(101)), store.list());
+            store.add(Employees.employee(102));
+        }
+
+        assertTrue(Files.exists(journalFile(3)));
+        try (final var store = open()) {
+            assertEquals(expected(INITIAL, Employees.employee(101), Employees.employee(102)), store.list());
+        }
+    }
+
+    /**
+     * A crash after the snapshot was written but before the journals it covers were deleted must not apply them
+     * again.
+     */
+    @Test
+    void reopen_afterCrashBetweenSnapshotAndJournalCleanup() throws IOException {
+        final byte[] firstGeneration;
+        try (final var store = open()) {
+            store.add(Employees.employee(100));
+            store.add(Employees.employee(101));
+            firstGeneration = Files.readAllBytes(journalFile(1));
+            store.snapshot();
+            store.removeById(Employees.employee(100).getId());
+        }
+        Files.write(journalFile(1), firstGeneration);
+
+        try (final var store = open()) {
+            assertEquals(expected(INITIAL, Employees.employee(101)), store.list());
+        }
+    }
+
+    @Test
+    void failedJournalWrite_leavesTheStoreUnchangedAndRejectsLaterMutations() throws IOException {
+        final var failing = new AtomicBoolean();
+        final var store = PersistentMockEmployeeStore.open(
+                directory,
+                Duration.ofHours(1),
+                MockEmployeeStore.DEFAULT_CHANGE_LOG_CAPACITY,
+                () -> INITIAL,
+                (journalDirectory, generation) -> new MockEmployeeJournal(journalDirectory, generation) {
+                    @Override
+                    void write(FileChannel channel, ByteBuffer batch) throws IOException {
+                        if (failing.get()) {
+                            throw new IOException("No space left on device");
+                        }
+                        super.write(channel, batch);
+                    }
+                });
+        final List<MockEmployeeChanges> published = new CopyOnWriteArrayList<>();
+        store.subscribe(null, published::add);
+        final long version = store.version();
+
+        failing.set(true);
+        assertThrows(UncheckedIOException.class, () -> store.add(Employees.employee(100)));
+        failing.set(false);
+        assertThrows(UncheckedIOException.class, () -> store.add(Employees.employee(101)));
+        assertThrows(UncheckedIOException.class, () -> store.removeById(INITIAL.get(0).getId()));
+        assertThrows(UncheckedIOException.class, () -> store.removeFirstByName(INITIAL.get(1).getName()));
+
+        assertEquals(INITIAL, store.list());
+        assertEquals(version, store.version());
+        assertEquals(1, published.size());
+        assertThrows(UncheckedIOException.class, store::close);
+
+        try (final var reopened = open()) {
+            assertEquals(INITIAL, reopened.list());
+        }
+    }
+
+    @Test
+    void batches_areJournaledWithOneWriteEachAndReplayed() throws IOException {
+        final var writes = new AtomicInteger();
+        try (final var store = PersistentMockEmployeeStore.open(
+                directory,
+                Duration.ofHours(1),
+                MockEmployeeStore.DEFAULT_CHANGE_LOG_CAPACITY,
+                () -> INITIAL,
+                (journalDirectory, generation) -> new MockEmployeeJournal(journalDirectory, generation) {
+                    @Override
+                    void write(FileChannel channel, ByteBuffer batch) throws IOException {
+                        writes.incrementAndGet();
+                        super.write(channel, batch);
+                    }
+                })) {
+            final List<MockEmployeeChanges> published = new CopyOnWriteArrayList<>();
+            store.subscribe(null, published::add);
+
+            store.addBatch(Employees.employees(100, 10));
+            final var removed = store.removeBatchById(List.of(
+                    INITIAL.get(0).getId(),
+                    Employees.employee(100).getId(),
+                    Employees.employee(100).getId(),
+                    Employees.employee(999).getId()));
+
+            assertEquals(2, writes.get());
+            assertEquals(
+                    List.of(
+                            Optional.of(INITIAL.get(0)),
+                            Optional.of(Employees.employee(100)),
+                            Optional.empty(),
+                            Optional.empty()),
+                    removed);
+            assertEquals(3, published.size());
+            assertEquals(10, published.get(1).changes().size());
+            assertEquals(2, published.get(2).changes().size());
+        }
+
+        try (final var store = open()) {
+            assertEquals(
+                    expected(INITIAL.subList(1, 5), Employees.employees(101, 9).toArray(MockEmployee[]::new)),
+                    store.list());
+        }
+    }
+
+    @Test
+    void concurrentMutations_replayToWhatTheStoreShowed() throws Exception {
+        final List<MockEmployee> showed;
+        try (final var store = open()) {
+            final ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                final List<Future<?>> writers = new ArrayList<>();
+                for (int thread = 0; thread < 8; thread++) {
+                    final int first = 100 + thread * 50;
+                    writers.add(executor.submit(() -> {
+                        for (int i = first; i < first + 50; i++) {
+                            store.add(Employees.employee(i));
+                            if (i % 3 == 0) {
+                                assertTrue(store.removeById(Employees.employee(i).getId()).isPresent());
+                            } else if (i % 5 == 0) {
+                                assertTrue(store.removeFirstByName(Employees.employee(i).getName()).isPresent());
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (final var writer : writers) {
+                    writer.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            showed = store.list();
+        }
+
+        assertEquals(
+                INITIAL.size() + IntStream.range(100, 500).filter(i -> i % 3 != 0 && i % 5 != 0).count(),
+                showed.size());
+        try (final var store = open()) {
+            assertEquals(showed, store.list());
+        }
+    }
+
+    private PersistentMockEmployeeStore open() throws IOException {
+        return open(new AtomicInteger());
+    }
+
+    private PersistentMockEmployeeStore open(AtomicInteger generated) throws IOException {
+        return PersistentMockEmployeeStore.open(
+                directory, Duration.ofHours(1), MockEmployeeStore.DEFAULT_CHANGE_LOG_CAPACITY, () -> {
+                    generated.incrementAndGet();
+                    return INITIAL;
+                });
+    }
+
+    private Path journalFile(long generation) {
+        return directory.resolve("journal-%020d.log".formatted(generation));
+    }
+
+    private static List<MockEmployee> expected(List<MockEmployee> initial, MockEmployee... added) {
+        final List<MockEmployee> expected = new ArrayList<>(initial);
+        expected.addAll(List.of(added));
+        return expected;
+    }
+}
@@ -0,0 +1,97 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class ChaosRequestLimiterTest {
+
+    private static final long START = 1_000L;
+    private static final long MILLI = 1_000_000L;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    @Test
+    void acquire_turnsDownUntilBackoffHasPassedSinceTheLastServed() {
+        final var limiter = new ChaosRequestLimiter(new Random(42), START);
+        final long backoff = limiter.backoff().toNanos();
+        long now = START;
+        for (int served = 0; served < limiter.limit(); served++) {
+            now += MILLI;
+            assertEquals(0, limiter.acquire(request, now));
+        }
+        final long lastServed = now;
+
+        assertEquals(backoff - MILLI, limiter.acquire(request, lastServed + MILLI));
+        assertEquals(1, limiter.acquire(request, lastServed + backoff - 1));
+        assertEquals(0, limiter.acquire(request, lastServed + backoff));
+    }
+
+    @Test
+    void acquire_countsAgainAfterTheBackoff() {
+        final var limiter = new ChaosRequestLimiter(new Random(42), START);
+        for (int served = 0; served < limiter.limit(); served++) {
+            limiter.acquire(request, START);
+        }
+        final long resumed = START + limiter.backoff().toNanos();
+
+        for (int served = 0; served < limiter.limit(); served++) {
+            assertEquals(0, limiter.acquire(request, resumed));
+        }
+        assertEquals(limiter.backoff().toNanos(), limiter.acquire(request, resumed));
+    }
+
+    @Test
+    void acquire_raceNeverServesMoreThanTheLimit() throws Exception {
+        final var limiter = new ChaosRequestLimiter(new Random(7), START);
+        final var served = new AtomicInteger();
+        final var start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int thread = 0; thread < 8; thread++) {
+                final long offset = thread;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int attempt = 0; attempt < 1_000; attempt++) {
+                        if (limiter.acquire(request, START + offset) == 0) {
+                            served.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(limiter.limit(), served.get());
+        assertTrue(limiter.acquire(request, START + 8) > 0);
+    }
+
+    @Test
+    void new_sameSeedSameLimitAndBackoff() {
+        final var first = new ChaosRequestLimiter(new Random(7), START);
+        final var second = new ChaosRequestLimiter(new Random(7), START);
+
+        assertEquals(first.limit(), second.limit());
+        assertEquals(first.backoff(), second.backoff());
+        assertTrue(first.limit() >= 5 && first.limit() <= 9);
+        assertTrue(first.backoff().compareTo(Duration.ofSeconds(30)) >= 0
+                && first.backoff().compareTo(Duration.ofSeconds(89)) <= 0);
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class KeyedRequestLimiterTest {
+
+    private static final long START = 1_000L;
+    private static final long MILLI = 1_000_000L;
+    private static final String KEY_HEADER = "X-Client-Id";
+
+    @Test
+    void acquire_keepsABucketPerClient() {
+        final var limiter = new KeyedRequestLimiter(10, 2, KEY_HEADER, 100, START);
+
+        assertEquals(0, limiter.acquire(client("a"), START));
+        assertEquals(0, limiter.acquire(client("a"), START));
+        assertEquals(100 * MILLI, limiter.acquire(client("a"), START));
+        assertEquals(0, limiter.acquire(client("b"), START));
+    }
+
+    @Test
+    void acquire_fallsBackToTheRemoteAddress() {
+        final var limiter = new KeyedRequestLimiter(10, 1, KEY_HEADER, 100, START);
+        final var first = new MockHttpServletRequest();
+        first.setRemoteAddr("10.0.0.1");
+        final var second = new MockHttpServletRequest();
+        second.setRemoteAddr("10.0.0.2");
+
+        assertEquals(0, limiter.acquire(first, START));
+        assertTrue(limiter.acquire(first, START) > 0);
+        assertEquals(0, limiter.acquire(second, START));
+    }
+
+    @Test
+    void acquire_turnsDownNewClientsWhileNoBucketHasFilledUp() {
+        final var limiter = new KeyedRequestLimiter(1, 1, KEY_HEADER, 2, START);
+        assertEquals(0, limiter.acquire(client("a"), START));
+        assertEquals(0, limiter.acquire(client("b"), START));
+
+        assertTrue(limiter.acquire(client("c"), START) > 0);
+        assertEquals(0, limiter.acquire(client("a"), START + 1_000 * MILLI));
+        assertEquals(0, limiter.acquire(client("b"), START + 1_000 * MILLI));
+        assertTrue(limiter.acquire(client("c"), START + 1_000 * MILLI) > 0);
+    }
+
+    @Test
+    void acquire_sweepsFilledUpBucketsToMakeRoom() {
+        final var limiter = new KeyedRequestLimiter(1, 1, KEY_HEADER, 2, START);
+        assertEquals(0, limiter.acquire(client("a"), START));
+        assertEquals(0, limiter.acquire(client("b"), START));
+        final long later = START + 2_000 * MILLI;
+
+        assertEquals(0, limiter.acquire(client("c"), later));
+        assertEquals(0, limiter.acquire(client("d"), later));
+        assertTrue(limiter.acquire(client("e"), later) > 0);
+    }
+
+    private static MockHttpServletRequest client(String id) {
+        final var request = new MockHttpServletRequest();
+        request.addHeader(KEY_HEADER, id);
+        return request;
+    }
+}
@@ -0,0 +1,48 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class SlidingWindowRequestLimiterTest {
+
+    private static final long START = 1_000L;
+    private static final long MILLI = 1_000_000L;
+    private static final Duration WINDOW = Duration.ofMillis(1_600);
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    @Test
+    void acquire_turnsDownUntilTheOldestSlotLeavesTheWindow() {
+        final var limiter = new SlidingWindowRequestLimiter(3, WINDOW, START);
+
+        assertEquals(0, limiter.acquire(request, START));
+        assertEquals(0, limiter.acquire(request, START + 250 * MILLI));
+        assertEquals(0, limiter.acquire(request, START + 250 * MILLI));
+        assertEquals(1_500 * MILLI, limiter.acquire(request, START + 100 * MILLI));
+        assertEquals(0, limiter.acquire(request, START + WINDOW.toNanos()));
+        assertEquals(200 * MILLI, limiter.acquire(request, START + WINDOW.toNanos()));
+    }
+
+    @Test
+    void acquire_slotComingRoundAgainStartsFromZero() {
+        final var limiter = new SlidingWindowRequestLimiter(2, WINDOW, START);
+        assertEquals(0, limiter.acquire(request, START));
+        assertEquals(0, limiter.acquire(request, START));
+        final long nextRound = START + 2 * WINDOW.toNanos();
+
+        assertEquals(0, limiter.acquire(request, nextRound));
+        assertEquals(0, limiter.acquire(request, nextRound));
+        assertEquals(WINDOW.toNanos(), limiter.acquire(request, nextRound));
+    }
+
+    @Test
+    void new_rejectsInvalidLimitOrWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowRequestLimiter(0, WINDOW, START));
+        assertThrows(
+                IllegalArgumentException.class, () -> new SlidingWindowRequestLimiter(1, Duration.ofNanos(1), START));
+    }
+}
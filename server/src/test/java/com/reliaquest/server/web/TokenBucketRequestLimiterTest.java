@@ -0,0 +1,44 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class TokenBucketRequestLimiterTest {
+
+    private static final long START = 1_000L;
+    private static final long MILLI = 1_000_000L;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    @Test
+    void acquire_letsABurstThroughThenOneRequestPerInterval() {
+        final var limiter = new TokenBucketRequestLimiter(10, 3, START);
+
+        for (int served = 0; served < 3; served++) {
+            assertEquals(0, limiter.acquire(request, START));
+        }
+        assertEquals(100 * MILLI, limiter.acquire(request, START));
+        assertEquals(50 * MILLI, limiter.acquire(request, START + 50 * MILLI));
+        assertEquals(0, limiter.acquire(request, START + 100 * MILLI));
+        assertEquals(100 * MILLI, limiter.acquire(request, START + 100 * MILLI));
+    }
+
+    @Test
+    void acquire_idleBucketFillsUpToTheBurstOnly() {
+        final var limiter = new TokenBucketRequestLimiter(10, 2, START);
+        final long later = START + 10_000 * MILLI;
+
+        assertEquals(0, limiter.acquire(request, later));
+        assertEquals(0, limiter.acquire(request, later));
+        assertEquals(100 * MILLI, limiter.acquire(request, later));
+    }
+
+    @Test
+    void new_rejectsNonPositiveRateOrBurst() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRequestLimiter(0, 1, START));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRequestLimiter(1, 0, START));
+    }
+}